@@ -0,0 +1,43 @@
+package com.senibo.financetracker.benchmarks;
+
+import com.senibo.financetracker.models.AppRole;
+import com.senibo.financetracker.models.Role;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Realistic sample data shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "YmVuY2htYXJrLW9ubHktand0LXNlY3JldC1rZXktdGhhdC1pcy1sb25nLWVub3VnaA==";
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        User user = new User("jane.doe@example.com", "janedoe", "Jane", "Doe",
+                "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoO5i8w0hyWjYgVNVrJpP3oG7Q9q1y9x0W");
+        user.setUserId(42L);
+        user.setEnabled(true);
+        user.setCredentialsExpiryDate(LocalDate.now().plusYears(1));
+        user.setAccountExpiryDate(LocalDate.now().plusYears(1));
+        user.setSignUpMethod("email");
+        user.setRole(new Role(AppRole.ROLE_USER));
+        user.setCreatedDate(LocalDateTime.now().minusDays(30));
+        user.setUpdatedDate(LocalDateTime.now());
+        return user;
+    }
+
+    static UserAuthView authView() {
+        User user = user();
+        return new UserAuthView(
+                user.getUserId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(),
+                true, true, null, true, true, false,
+                AppRole.ROLE_USER, user.getCreatedDate(), user.getUpdatedDate());
+    }
+}
@@ -0,0 +1,55 @@
+package com.senibo.financetracker.benchmarks;
+
+import com.senibo.financetracker.security.jwt.JwtUtils;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing, and verification with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private UserDetailsImpl userDetails;
+    private JwtUtils cachingJwtUtils;
+    private String cachedToken;
+
+    // A cache of size 0 keeps nothing, so every call checks the signature
+    private JwtUtils missingJwtUtils;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() {
+        userDetails = UserDetailsImpl.build(BenchmarkFixtures.user());
+
+        cachingJwtUtils = new JwtUtils(BenchmarkFixtures.JWT_SECRET, 3_600_000, 10_000, new SimpleMeterRegistry());
+        cachedToken = cachingJwtUtils.generateToken(userDetails);
+
+        missingJwtUtils = new JwtUtils(BenchmarkFixtures.JWT_SECRET, 3_600_000, 0, new SimpleMeterRegistry());
+        uncachedToken = missingJwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String sign() {
+        return cachingJwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> verifyCached() {
+        return cachingJwtUtils.validate(cachedToken);
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> verifyUncached() {
+        return missingJwtUtils.validate(uncachedToken);
+    }
+}
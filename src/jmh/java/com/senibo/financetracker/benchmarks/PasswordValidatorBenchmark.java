@@ -0,0 +1,33 @@
+package com.senibo.financetracker.benchmarks;
+
+import com.senibo.financetracker.validation.PasswordValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the @ValidPassword check on a valid password, which is the common case.
+ * The context is only touched on failure, so null is fine here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PasswordValidatorBenchmark {
+
+    @Param({"Secur3!pw", "Correct-Horse-Battery-Staple-42!", "aVeryLongPassphraseWithTheSymbolAtTheEnd1234567890abcdefghij!"})
+    public String password;
+
+    private PasswordValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new PasswordValidator();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(password, null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.senibo.financetracker.benchmarks;
+
+import com.senibo.financetracker.dtos.responses.UserResponse;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/projection to DTO conversions done on every sign-in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+
+    private User user;
+    private UserAuthView authView;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        authView = BenchmarkFixtures.authView();
+    }
+
+    @Benchmark
+    public UserResponse userResponseFromUser() {
+        return UserResponse.fromUser(user);
+    }
+
+    @Benchmark
+    public UserResponse userResponseFromAuthView() {
+        return UserResponse.fromUser(authView);
+    }
+
+    @Benchmark
+    public UserDetailsImpl userDetailsFromUser() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl userDetailsFromAuthView() {
+        return UserDetailsImpl.build(authView);
+    }
+}
@@ -0,0 +1,204 @@
+package com.senibo.financetracker.loadtest;
+
+import com.senibo.financetracker.FinanceTrackerApplication;
+import com.senibo.financetracker.loadtest.LoadTestOptions.Operation;
+import com.senibo.financetracker.loadtest.LoadTestOptions.ThreadMode;
+import com.senibo.financetracker.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the authentication endpoints.
+ *
+ * For each thread mode it starts the application in this JVM on a random
+ * port, against its own in-memory H2 database (the test configuration, so no
+ * MySQL or SMTP server is needed), creates the sign-in accounts, then drives
+ * the configured mix of sign-up, verify-email and sign-in over real HTTP:
+ * a warm-up that is thrown away, then the measured run.
+ *
+ * Each connection is a virtual thread with its own HTTP/1.1 connection. With
+ * --rate each one sends on a fixed schedule and latency is measured from when
+ * the request was due, not when it was sent, so a stall shows up in p99
+ * instead of just slowing the senders down (coordinated omission). Without
+ * --rate connections send back to back, which finds the maximum throughput.
+ *
+ * Results go to stdout and to the output directory: one HdrHistogram
+ * percentile file per mode and operation (values in milliseconds, loadable in
+ * the HdrHistogram plotter) and summary.txt comparing the modes.
+ *
+ * BCrypt dominates these endpoints, so both client and server share the CPU
+ * here; compare modes on the same box, not absolute numbers across machines.
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify -Dloadtest.args="--duration=60"
+ */
+public final class AuthLoadTest {
+
+    private AuthLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        Files.createDirectories(options.outputDir());
+
+        List<String> summary = new ArrayList<>();
+        summary.add("%-9s %-7s %10s %8s %10s %9s %9s %9s %9s %9s".formatted(
+                "threads", "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (ThreadMode mode : options.threadModes()) {
+            summary.addAll(runMode(mode, options));
+        }
+
+        Path summaryFile = options.outputDir().resolve("summary.txt");
+        Files.write(summaryFile, summary);
+        System.out.println();
+        summary.forEach(System.out::println);
+        System.out.println("\nPercentile files and summary written to " + options.outputDir().toAbsolutePath());
+        System.exit(0);
+    }
+
+    private static List<String> runMode(ThreadMode mode, LoadTestOptions options) throws Exception {
+        String name = mode.name().toLowerCase();
+        System.out.println("\n=== " + name + " request threads ===");
+        try (ConfigurableApplicationContext context = startApplication(mode);
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            AuthWorkload workload = new AuthWorkload(client, URI.create("http://localhost:" + port),
+                    context.getBean(UserRepository.class), name.substring(0, 1));
+
+            System.out.println("Creating " + options.accounts() + " sign-in accounts...");
+            workload.createAccounts(options.accounts(), options.concurrency());
+
+            if (options.warmupSeconds() > 0) {
+                System.out.println("Warming up for " + options.warmupSeconds() + " s...");
+                drive(workload, options, options.warmupSeconds());
+                workload.latencies().values().forEach(recorder -> recorder.getIntervalHistogram());
+                workload.resetFailures();
+            }
+
+            System.out.println("Measuring for " + options.durationSeconds() + " s...");
+            drive(workload, options, options.durationSeconds());
+
+            List<String> lines = new ArrayList<>();
+            Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+            workload.latencies().forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+            for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+                Operation operation = entry.getKey();
+                Histogram histogram = entry.getValue();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                writePercentiles(options.outputDir().resolve(name + "-" + operation.name().toLowerCase() + ".hgrm"), histogram);
+                long errors = workload.failures().get(operation).values().stream().mapToLong(e -> e.sum()).sum();
+                lines.add("%-9s %-7s %10d %8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f".formatted(
+                        name, operation.name().toLowerCase(), histogram.getTotalCount(), errors,
+                        histogram.getTotalCount() / (double) options.durationSeconds(),
+                        millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                        millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                        millis(histogram.getMaxValue())));
+                if (errors > 0) {
+                    lines.add("          " + operation.name().toLowerCase() + " errors by status: " + workload.failures().get(operation));
+                }
+            }
+            Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+            if (mode == ThreadMode.VIRTUAL && pinned != null) {
+                lines.add("          virtual threads pinned: %d times, %.1f ms in total (see log for call sites)"
+                        .formatted(pinned.count(), pinned.totalTime(TimeUnit.MILLISECONDS)));
+            }
+            return lines;
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(ThreadMode mode) {
+        String name = mode.name().toLowerCase();
+        // Command-line arguments, so they win over the test application.yaml
+        return new SpringApplicationBuilder(FinanceTrackerApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + (mode == ThreadMode.VIRTUAL),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest_" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.senibo.financetracker.config=INFO",
+                // Every request comes from one address and this is not an attack
+                "--app.security.login.ip-attempts-per-minute=100000000",
+                "--app.security.login.user-attempts-per-minute=100000000",
+                "--app.mail.outbox.enabled=false",
+                "--app.recurring.enabled=false");
+    }
+
+    /**
+     * Runs every connection until the deadline and waits for them to finish
+     */
+    private static void drive(AuthWorkload workload, LoadTestOptions options, int seconds) throws InterruptedException {
+        Operation[] operations = options.weightedOperations();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalNanos = options.rate() > 0
+                ? TimeUnit.SECONDS.toNanos(1) * options.concurrency() / options.rate()
+                : 0;
+
+        try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < options.concurrency(); c++) {
+                // Spread the scheduled connections out instead of firing them all at once
+                long offset = intervalNanos * c / options.concurrency();
+                connections.submit(() -> {
+                    long due = System.nanoTime() + offset;
+                    while (due < deadline) {
+                        if (intervalNanos > 0) {
+                            long wait = due - System.nanoTime();
+                            if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        } else {
+                            due = System.nanoTime();
+                        }
+                        workload.run(operations[ThreadLocalRandom.current().nextInt(operations.length)], due);
+                        due += intervalNanos;
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static void writePercentiles(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
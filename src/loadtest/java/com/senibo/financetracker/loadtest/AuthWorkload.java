@@ -0,0 +1,179 @@
+package com.senibo.financetracker.loadtest;
+
+import com.senibo.financetracker.loadtest.LoadTestOptions.Operation;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The sign-up, verify-email and sign-in requests, sent over real HTTP to a
+ * running application, with per-operation latency histograms.
+ *
+ * Sign-ups feed a queue of unverified accounts that verify-email drains
+ * (verifying with the code the application stored; email sending is off).
+ * Sign-ins use accounts created and verified before the run, so their share
+ * of the mix doesn't depend on how many sign-ups happened first.
+ */
+final class AuthWorkload {
+
+    static final String PASSWORD = "Load-Test-Pass-42!";
+    private static final long MAX_LATENCY_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final UserRepository userRepository;
+    private final String runId;
+
+    private final AtomicLong nextUser = new AtomicLong();
+    private final ConcurrentLinkedQueue<Pending> unverified = new ConcurrentLinkedQueue<>();
+    private volatile String[] accounts = new String[0];
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> failures = new EnumMap<>(Operation.class);
+
+    AuthWorkload(HttpClient client, URI baseUri, UserRepository userRepository, String runId) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.userRepository = userRepository;
+        this.runId = runId;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+            failures.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Signs up and verifies this many accounts for sign-in, outside of any measurement
+     */
+    void createAccounts(int count, int parallelism) throws InterruptedException, ExecutionException {
+        String[] created = new String[count];
+        List<Future<?>> results = new ArrayList<>(count);
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                results.add(pool.submit(() -> {
+                    String email = newEmail();
+                    expectOk(post("/api/auth/signup", signUpBody(email)), "sign-up");
+                    expectOk(post("/api/auth/verify-email", verifyBody(new Pending(email, codeOf(email)))), "verify-email");
+                    created[index] = email;
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        accounts = created;
+    }
+
+    /**
+     * Sends one request of the given kind and records its latency, measured
+     * from intendedStartNanos so a stalled server can't hide its own delay
+     */
+    void run(Operation operation, long intendedStartNanos) throws InterruptedException {
+        if (operation == Operation.VERIFY && unverified.isEmpty()) {
+            operation = Operation.SIGNUP;
+        }
+        String email = null;
+        HttpResponse<String> response;
+        try {
+            response = switch (operation) {
+                case SIGNUP -> post("/api/auth/signup", signUpBody(email = newEmail()));
+                case VERIFY -> {
+                    Pending pending = unverified.poll();
+                    email = pending == null ? null : pending.email();
+                    yield pending == null ? null : post("/api/auth/verify-email", verifyBody(pending));
+                }
+                case SIGNIN -> {
+                    String[] known = accounts;
+                    String account = known[ThreadLocalRandom.current().nextInt(known.length)];
+                    yield post("/api/auth/signin", "{\"usernameOrEmail\":\"%s\",\"password\":\"%s\"}".formatted(account, PASSWORD));
+                }
+            };
+        } catch (IOException e) {
+            response = null;
+        }
+        if (email == null && operation == Operation.VERIFY) {
+            return; // another connection took the last unverified account
+        }
+        latencies.get(operation).recordValue(Math.min(System.nanoTime() - intendedStartNanos, MAX_LATENCY_NANOS));
+        int status = response == null ? 0 : response.statusCode();
+        if (status / 100 != 2) {
+            failures.get(operation).computeIfAbsent(status, s -> new LongAdder()).increment();
+        } else if (operation == Operation.SIGNUP) {
+            // Looked up after the latency is recorded, so it isn't part of the measurement
+            unverified.add(new Pending(email, codeOf(email)));
+        }
+    }
+
+    Map<Operation, Recorder> latencies() {
+        return latencies;
+    }
+
+    /**
+     * Failed requests by HTTP status (0 = no response) for each operation
+     */
+    Map<Operation, Map<Integer, LongAdder>> failures() {
+        return failures;
+    }
+
+    void resetFailures() {
+        failures.values().forEach(Map::clear);
+    }
+
+    private String newEmail() {
+        return "lt" + runId + nextUser.incrementAndGet() + "@example.com";
+    }
+
+    private static String signUpBody(String email) {
+        String username = email.substring(0, email.indexOf('@'));
+        return "{\"email\":\"%s\",\"username\":\"%s\",\"firstName\":\"Load\",\"lastName\":\"Test\",\"password\":\"%s\"}"
+                .formatted(email, username, PASSWORD);
+    }
+
+    private static String verifyBody(Pending pending) {
+        return "{\"email\":\"%s\",\"verificationCode\":\"%s\"}".formatted(pending.email(), pending.code());
+    }
+
+    private String codeOf(String email) {
+        return userRepository.findByEmail(email).map(User::getEmailVerificationCode).orElseThrow();
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record Pending(String email, String code) {
+    }
+
+    private static void expectOk(HttpResponse<String> response, String what) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(what + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
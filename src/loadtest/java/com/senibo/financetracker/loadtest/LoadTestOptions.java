@@ -0,0 +1,117 @@
+package com.senibo.financetracker.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of AuthLoadTest, all in --name=value form.
+ *
+ * @param threadModes     request thread modes to run, one fresh application each
+ * @param concurrency     client connections sending requests at once
+ * @param warmupSeconds   run time before measuring, so the JIT and connection pools settle
+ * @param durationSeconds measured run time
+ * @param accounts        verified accounts created up front for the sign-in share of the mix
+ * @param rate            total requests per second to aim for; 0 = each connection sends
+ *                        its next request as soon as the last one is answered
+ * @param mix             relative weight of each operation
+ * @param outputDir       where .hgrm percentile files and the summary are written
+ */
+record LoadTestOptions(
+        List<ThreadMode> threadModes,
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        int accounts,
+        int rate,
+        Map<Operation, Integer> mix,
+        Path outputDir
+) {
+
+    static final String USAGE = """
+            Options (all optional):
+              --threads=platform|virtual|both   request threads to test (default both)
+              --concurrency=64                  concurrent client connections
+              --warmup=10                       seconds before measuring
+              --duration=30                     measured seconds
+              --accounts=200                    verified accounts for sign-in
+              --rate=0                          target requests/s in total, 0 = as fast as possible
+              --mix=signup:1,verify:1,signin:8  operation weights
+              --out=target/loadtest             report directory
+            """;
+
+    enum ThreadMode { PLATFORM, VIRTUAL }
+
+    enum Operation { SIGNUP, VERIFY, SIGNIN }
+
+    static LoadTestOptions parse(String[] args) {
+        List<ThreadMode> modes = List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL);
+        int concurrency = 64;
+        int warmup = 10;
+        int duration = 30;
+        int accounts = 200;
+        int rate = 0;
+        Map<Operation, Integer> mix = parseMix("signup:1,verify:1,signin:8");
+        Path out = Path.of("target", "loadtest");
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "threads" -> modes = value.equals("both")
+                        ? List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL)
+                        : List.of(ThreadMode.valueOf(value.toUpperCase()));
+                case "concurrency" -> concurrency = positive(arg, value);
+                case "warmup" -> warmup = Integer.parseInt(value);
+                case "duration" -> duration = positive(arg, value);
+                case "accounts" -> accounts = positive(arg, value);
+                case "rate" -> rate = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return new LoadTestOptions(modes, concurrency, warmup, duration, accounts, rate, mix, out);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like signin:8, got: " + part);
+            }
+            mix.put(Operation.valueOf(kv[0].strip().toUpperCase()), Integer.parseInt(kv[1].strip()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix weights must add up to more than 0");
+        }
+        return mix;
+    }
+
+    private static int positive(String arg, String value) {
+        int n = Integer.parseInt(value);
+        if (n <= 0) {
+            throw new IllegalArgumentException(arg + " must be positive");
+        }
+        return n;
+    }
+
+    /**
+     * Operations in mix order, each repeated by its weight, for picking one at random
+     */
+    Operation[] weightedOperations() {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(new Operation[0]);
+    }
+}
@@ -0,0 +1,219 @@
+package com.senibo.financetracker.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how long a new instance takes to serve its first request.
+ *
+ * Each run starts the application in a fresh JVM on a free port and polls
+ * /actuator/health until any HTTP response comes back. The time from process
+ * start to that response is the time-to-first-request; Spring's own "Started
+ * ... in N seconds" line is reported next to it. Modes, from slowest to
+ * fastest expected:
+ *
+ *   jar      the repackaged jar as deployed today (nested-jar launcher, no AOT)
+ *   exploded the extracted jar, plain JVM
+ *   aot      the extracted jar with -Dspring.aot.enabled=true
+ *   aot-cds  as aot, plus the CDS archive from the training run
+ *
+ * The application runs against an in-memory H2 database (MySQL mode), so every
+ * run also pays for the Flyway migrations. The H2 driver is appended to the
+ * classpath, which keeps the archive usable: CDS only requires the training
+ * classpath to be a prefix of the runtime one.
+ *
+ * Run with: mvn -Pfast-startup -DskipTests verify -Dstartup.args="--runs=10"
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.senibo.financetracker.FinanceTrackerApplication";
+    private static final String JAR_LAUNCHER = "org.springframework.boot.loader.launch.JarLauncher";
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private static final String USAGE = """
+            Options:
+              --dir=target/startup               extracted application and application.jsa (required)
+              --jar=Finance_Tracker-<v>.jar      jar name inside --dir and target/ (required)
+              --runs=5                           starts per mode; the first is a warm-up for the OS file cache
+              --modes=jar,exploded,aot,aot-cds   modes to compare
+              --timeout=120                      seconds to wait for the first response
+            """;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = null;
+        String jar = null;
+        int runs = 5;
+        List<String> modes = List.of("jar", "exploded", "aot", "aot-cds");
+        int timeoutSeconds = 120;
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "dir" -> dir = Path.of(value);
+                    case "jar" -> jar = value;
+                    case "runs" -> runs = Integer.parseInt(value);
+                    case "modes" -> modes = Arrays.asList(value.split(","));
+                    case "timeout" -> timeoutSeconds = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (dir == null || jar == null || runs < 2) {
+                throw new IllegalArgumentException("--dir and --jar are required, --runs must be at least 2");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        Path logs = dir.resolve("logs");
+        Files.createDirectories(logs);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+        List<String> report = new ArrayList<>();
+        report.add("%-9s %5s %12s %12s %12s %14s".formatted(
+                "mode", "runs", "min ms", "median ms", "max ms", "spring med s"));
+        for (String mode : modes) {
+            long[] firstRequestMs = new long[runs - 1];
+            double[] springSeconds = new double[runs - 1];
+            for (int run = 0; run < runs; run++) {
+                Path log = logs.resolve(mode + "-" + run + ".log");
+                long elapsed = startOnce(command(mode, dir, jar), dir, log, client, timeoutSeconds);
+                System.out.printf("%-9s run %d: first request after %d ms%n", mode, run, elapsed);
+                if (run > 0) {
+                    firstRequestMs[run - 1] = elapsed;
+                    springSeconds[run - 1] = springStartedSeconds(log);
+                }
+            }
+            Arrays.sort(firstRequestMs);
+            Arrays.sort(springSeconds);
+            report.add("%-9s %5d %12d %12d %12d %14.3f".formatted(mode, firstRequestMs.length,
+                    firstRequestMs[0], firstRequestMs[firstRequestMs.length / 2],
+                    firstRequestMs[firstRequestMs.length - 1], springSeconds[springSeconds.length / 2]));
+        }
+
+        Path reportFile = dir.resolve("startup-benchmark.txt");
+        Files.write(reportFile, report);
+        System.out.println();
+        report.forEach(System.out::println);
+        System.out.println("\nReport written to " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * Starts one JVM and returns the milliseconds until it answered an HTTP request
+     */
+    private static long startOnce(List<String> command, Path dir, Path log, HttpClient client,
+                                  int timeoutSeconds) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.addAll(appArguments(port));
+        URI health = URI.create("http://localhost:" + port + "/actuator/health");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(full)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    // Any status counts: the health endpoint answers 503 while e.g. SMTP is unreachable
+                    client.send(HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(5)).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                } catch (IOException notListeningYet) {
+                    Thread.sleep(5);
+                }
+            }
+            throw new IllegalStateException("No response within " + timeoutSeconds + " s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> command(String mode, Path dir, String jar) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String h2 = h2Jar();
+        return switch (mode) {
+            case "jar" -> List.of(java, "-cp",
+                    dir.toAbsolutePath().getParent().resolve(jar) + File.pathSeparator + h2, JAR_LAUNCHER);
+            case "exploded" -> List.of(java, "-cp", jar + File.pathSeparator + h2, MAIN_CLASS);
+            case "aot" -> List.of(java, "-Dspring.aot.enabled=true",
+                    "-cp", jar + File.pathSeparator + h2, MAIN_CLASS);
+            case "aot-cds" -> List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=error",
+                    "-Dspring.aot.enabled=true", "-cp", jar + File.pathSeparator + h2, MAIN_CLASS);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+
+    private static List<String> appArguments(int port) {
+        return List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor},classpath:db/seed",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                // Same switch the AOT build was given, so the non-AOT modes create the same beans
+                "--spring.mail.host=localhost",
+                // Benchmark-only key, never use outside this tool
+                "--app.jwt.secret=c3RhcnR1cC1iZW5jaG1hcmstb25seS1zZWNyZXQtbm90LWZvci1yZWFsLXRva2Vucw==",
+                "--app.mail.outbox.enabled=false",
+                "--app.recurring.enabled=false");
+    }
+
+    private static double springStartedSeconds(Path log) throws IOException {
+        for (String line : Files.readAllLines(log)) {
+            Matcher matcher = STARTED.matcher(line);
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1));
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static String h2Jar() {
+        try {
+            return Path.of(Class.forName("org.h2.Driver").getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("H2 must be on the benchmark's classpath", e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.senibo.financetracker.analytics;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.senibo.financetracker.events.LedgerChangedEvent;
+import com.senibo.financetracker.events.LedgerChangedEvent.EntryChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Per-user LedgerColumns, loaded on first use and kept current by ledger writes.
+ *
+ * The cache is bounded by the total number of rows held, least recently used
+ * users evicted first. Committed ledger changes are applied to a user's
+ * columns if they are cached; otherwise there is nothing to do, the next load
+ * reads them from the database. Only this node's changes arrive that way, so
+ * columns also expire refresh-minutes after loading, however often they're
+ * used, and changes made on other nodes show up within that time.
+ *
+ * A load can race a commit: its query may or may not see the new rows. Rows
+ * are applied by id (put replaces, remove ignores unknown ids), so replaying
+ * a change the load already saw is harmless. If the columns are still
+ * loading when the change arrives, the entry is dropped and the next query
+ * loads again.
+ */
+@Component
+@Slf4j
+public class LedgerAnalyticsCache {
+
+    private static final String LOAD_SQL = """
+            SELECT id, amount, occurred_at, currency, category
+            FROM transactions
+            WHERE user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final LoadingCache<Long, LedgerColumns> columnsByUser;
+
+    public LedgerAnalyticsCache(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.analytics.max-cached-rows:5000000}") long maxCachedRows,
+                                @Value("${app.analytics.refresh-minutes:10}") long refreshMinutes,
+                                @Value("${app.analytics.load-fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        // Weight is taken at load time; rows added afterwards aren't counted until the user is reloaded
+        this.columnsByUser = Caffeine.newBuilder()
+                .maximumWeight(maxCachedRows)
+                .weigher((Long userId, LedgerColumns columns) -> Math.max(1, columns.size()))
+                .expireAfterWrite(Duration.ofMinutes(refreshMinutes))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, columnsByUser, "ledger-analytics");
+    }
+
+    public LedgerColumns columns(Long userId) {
+        return columnsByUser.get(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        for (EntryChange entry : event.entries()) {
+            LedgerColumns columns = columnsByUser.getIfPresent(entry.userId());
+            if (columns == null) {
+                // Not cached, or still loading; invalidate waits for a running load and discards it
+                columnsByUser.invalidate(entry.userId());
+                continue;
+            }
+            try {
+                if (entry.removed()) {
+                    columns.remove(entry.transactionId());
+                } else {
+                    columns.put(entry.transactionId(), entry.amount(), entry.date(), entry.currency(), entry.category());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Dropping analytics columns for user {}: {}", entry.userId(), e.getMessage());
+                columnsByUser.invalidate(entry.userId());
+            }
+        }
+    }
+
+    private LedgerColumns load(Long userId) {
+        long started = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, userId);
+        LedgerColumns columns = new LedgerColumns(rows == null ? 0 : rows.intValue());
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(LOAD_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, resultSet -> {
+            columns.put(resultSet.getLong(1),
+                    resultSet.getBigDecimal(2),
+                    resultSet.getTimestamp(3).toLocalDateTime().toLocalDate(),
+                    resultSet.getString(4),
+                    resultSet.getString(5));
+        });
+        log.debug("Loaded {} ledger rows for user {} in {} ms",
+                columns.size(), userId, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return columns;
+    }
+}
@@ -0,0 +1,434 @@
+package com.senibo.financetracker.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's ledger held as parallel primitive arrays, one per column.
+ *
+ * Row i is (ids[i], amounts[i], days[i], currencies[i], categories[i]).
+ * Amounts are longs in ten-thousandths (the ledger's 4 decimals), dates are
+ * epoch days, and currency and category are int ids into per-user
+ * dictionaries. A row costs 28 bytes plus its slot in the id index, instead
+ * of an entity with a BigDecimal, a LocalDateTime and two Strings. The ids
+ * are ints rather than shorts so that no number of distinct categories can
+ * make a user's ledger uncacheable.
+ *
+ * Queries are single loops over the arrays that add longs into other arrays,
+ * so they allocate only their result. Rows are not kept in date order;
+ * scanning every row is cheaper than keeping them sorted under back-dated
+ * writes, even for many years of history.
+ *
+ * Writes (from the ledger events) take the write lock, queries the read lock.
+ */
+public final class LedgerColumns {
+
+    public static final int SCALE = 4;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] amounts;
+    private int[] days;
+    private int[] currencies;
+    private int[] categories;
+    private int size;
+
+    private final IdIndex rowById;
+    private final Dictionary currencyNames = new Dictionary();
+    private final Dictionary categoryNames = new Dictionary();
+
+    LedgerColumns(int expectedRows) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedRows);
+        ids = new long[capacity];
+        amounts = new long[capacity];
+        days = new int[capacity];
+        currencies = new int[capacity];
+        categories = new int[capacity];
+        rowById = new IdIndex(capacity);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a row, or replaces it if the id is already present. Replacing makes
+     * it safe to replay a change the initial load had already seen.
+     */
+    void put(long id, BigDecimal amount, LocalDate date, String currency, String category) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.get(id);
+            if (row < 0) {
+                row = size++;
+                ensureCapacity(size);
+                rowById.put(id, row);
+            }
+            ids[row] = id;
+            amounts[row] = toUnits(amount);
+            days[row] = (int) date.toEpochDay();
+            currencies[row] = currencyNames.idOf(currency);
+            categories[row] = categoryNames.idOf(category);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a row by moving the last row into its place. Unknown ids are ignored.
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.remove(id);
+            if (row < 0) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                amounts[row] = amounts[last];
+                days[row] = days[last];
+                currencies[row] = currencies[last];
+                categories[row] = categories[last];
+                rowById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Totals over [from, to] in one currency, optionally for one category
+     * (null means all categories). Returns a single bucket.
+     */
+    public Aggregates total(String currency, String category, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Aggregates result = new Aggregates(1);
+            int currencyId = currencyNames.find(currency);
+            int categoryId = category == null ? -1 : categoryNames.find(category);
+            if (currencyId < 0 || (category != null && categoryId < 0)) {
+                return result;
+            }
+            int fromDay = (int) from.toEpochDay();
+            int toDay = (int) to.toEpochDay();
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < fromDay || day > toDay || currencies[i] != currencyId
+                        || (categoryId >= 0 && categories[i] != categoryId)) {
+                    continue;
+                }
+                result.add(0, amounts[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals over [from, to] in one currency, one bucket per category id;
+     * use categoryName() to turn a bucket index back into a name.
+     */
+    public Aggregates totalByCategory(String currency, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Aggregates result = new Aggregates(categoryNames.size());
+            int currencyId = currencyNames.find(currency);
+            if (currencyId < 0) {
+                return result;
+            }
+            int fromDay = (int) from.toEpochDay();
+            int toDay = (int) to.toEpochDay();
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < fromDay || day > toDay || currencies[i] != currencyId) {
+                    continue;
+                }
+                result.add(categories[i], amounts[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals in one currency per time bucket. bucketStarts holds the first
+     * epoch day of each bucket in ascending order; the last bucket ends at lastDay.
+     */
+    public Aggregates totalByBucket(String currency, int[] bucketStarts, int lastDay) {
+        lock.readLock().lock();
+        try {
+            Aggregates result = new Aggregates(bucketStarts.length);
+            int currencyId = currencyNames.find(currency);
+            if (currencyId < 0 || bucketStarts.length == 0) {
+                return result;
+            }
+            int fromDay = bucketStarts[0];
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < fromDay || day > lastDay || currencies[i] != currencyId) {
+                    continue;
+                }
+                int bucket = Arrays.binarySearch(bucketStarts, day);
+                result.add(bucket >= 0 ? bucket : -bucket - 2, amounts[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals over [from, to], optionally for one category, per (currency, day)
+     * that has rows. Lets a caller convert each currency-day at its own rate
+     * with one multiplication per cell rather than one per row.
+     *
+     * Unlike the other queries the cells are kept sparse, in a map keyed by
+     * (currency id, epoch day): a long range in many currencies is mostly
+     * empty, and the result grows with the rows in range, not with their product.
+     */
+    public List<CurrencyDay> totalByCurrencyAndDay(String category, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            int fromDay = (int) from.toEpochDay();
+            int toDay = (int) to.toEpochDay();
+            int categoryId = category == null ? -1 : categoryNames.find(category);
+            if (category != null && categoryId < 0) {
+                return List.of();
+            }
+            // cell = {inflow, outflow, count}
+            Map<Long, long[]> cells = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < fromDay || day > toDay || (categoryId >= 0 && categories[i] != categoryId)) {
+                    continue;
+                }
+                long[] cell = cells.computeIfAbsent((long) currencies[i] << 32 | (day & 0xFFFFFFFFL), key -> new long[3]);
+                cell[amounts[i] > 0 ? 0 : 1] += amounts[i];
+                cell[2]++;
+            }
+            List<CurrencyDay> result = new ArrayList<>(cells.size());
+            cells.forEach((key, cell) -> result.add(new CurrencyDay(currencyNames.nameOf((int) (key >>> 32)),
+                    LocalDate.ofEpochDay((int) (long) key), fromUnits(cell[0]), fromUnits(cell[1]), cell[2])));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String categoryName(int categoryId) {
+        lock.readLock().lock();
+        try {
+            return categoryNames.nameOf(categoryId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long toUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        days = Arrays.copyOf(days, capacity);
+        currencies = Arrays.copyOf(currencies, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+    }
+
+    /**
+     * Inflow, outflow and row count per bucket, in ten-thousandths
+     */
+    public static final class Aggregates {
+        final long[] inflow;
+        final long[] outflow;
+        final long[] count;
+
+        Aggregates(int buckets) {
+            inflow = new long[buckets];
+            outflow = new long[buckets];
+            count = new long[buckets];
+        }
+
+        void add(int bucket, long amount) {
+            if (amount > 0) {
+                inflow[bucket] += amount;
+            } else {
+                outflow[bucket] += amount;
+            }
+            count[bucket]++;
+        }
+
+        public int buckets() {
+            return count.length;
+        }
+
+        public BigDecimal inflow(int bucket) {
+            return fromUnits(inflow[bucket]);
+        }
+
+        public BigDecimal outflow(int bucket) {
+            return fromUnits(outflow[bucket]);
+        }
+
+        public long inflowUnits(int bucket) {
+            return inflow[bucket];
+        }
+
+        public long outflowUnits(int bucket) {
+            return outflow[bucket];
+        }
+
+        public long count(int bucket) {
+            return count[bucket];
+        }
+    }
+
+    public record CurrencyDay(String currency, LocalDate day, BigDecimal inflow, BigDecimal outflow, long count) {
+    }
+
+    /**
+     * Strings to dense int ids and back
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        int idOf(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int next = names.size();
+            names.add(name);
+            ids.put(name, next);
+            return next;
+        }
+
+        int find(String name) {
+            Integer id = ids.get(name);
+            return id != null ? id : -1;
+        }
+
+        String nameOf(int id) {
+            return names.get(id);
+        }
+
+        int size() {
+            return names.size();
+        }
+    }
+
+    /**
+     * Open-addressing map from transaction id to row, so updates and deletes
+     * find their row without boxing or scanning. Id 0 marks an empty slot;
+     * database ids start at 1.
+     */
+    private static final class IdIndex {
+        private long[] keys;
+        private int[] rows;
+        private int count;
+
+        IdIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            rows = new int[capacity];
+        }
+
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = slot(id, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int row) {
+            if ((count + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                count++;
+            }
+            keys[slot] = id;
+            rows[slot] = row;
+        }
+
+        int remove(long id) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != id) {
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int row = rows[slot];
+            count--;
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int home = slot(keys[next], mask);
+                boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+                if (movable) {
+                    keys[hole] = keys[next];
+                    rows[hole] = rows[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = 0;
+            return row;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new long[oldKeys.length * 2];
+            rows = new int[oldKeys.length * 2];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldRows[i]);
+                }
+            }
+        }
+
+        private static int slot(long id, int mask) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
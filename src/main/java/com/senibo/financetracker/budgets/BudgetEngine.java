@@ -0,0 +1,312 @@
+package com.senibo.financetracker.budgets;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.events.BudgetChangedEvent;
+import com.senibo.financetracker.events.LedgerChangedEvent;
+import com.senibo.financetracker.events.LedgerChangedEvent.SpendChange;
+import com.senibo.financetracker.exceptions.ConstraintViolations;
+import com.senibo.financetracker.models.Budget;
+import com.senibo.financetracker.models.BudgetAlert;
+import com.senibo.financetracker.models.RollupPeriod;
+import com.senibo.financetracker.repositories.BudgetAlertRepository;
+import com.senibo.financetracker.repositories.BudgetRepository;
+import com.senibo.financetracker.repositories.LedgerRollupRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.utils.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks this month's spend per budget in memory and sends threshold alerts.
+ *
+ * Running totals live in a map keyed by budget id, holding the spend as a
+ * long number of ten-thousandths, so a ledger write is one atomic add: the
+ * ledger is never re-summed. Totals are loaded lazily from the month's
+ * ledger_rollups row the first time a budget is touched, so nothing has to be
+ * rebuilt at startup. Budgets per user are cached the same way.
+ *
+ * Totals only see ledger changes committed on this node, so they are used to
+ * notice that a threshold may have been reached, nothing else. Spend shown to
+ * users is read from ledger_rollups, which every node writes (currentSpend).
+ * A total older than refresh-seconds is reloaded from the rollups on its next
+ * change, which bounds how long writes made on other nodes (or by the
+ * recurring scheduler) go unseen. A threshold is alerted on once the total has
+ * reached it, whichever change got it there; the spend is re-read from
+ * ledger_rollups first, so a drifted total can never cause a wrong alert, and
+ * budget_alerts' unique key makes each crossing notify once across nodes.
+ *
+ * Only the current month is tracked; back-dated transactions don't alert.
+ */
+@Component
+@Slf4j
+public class BudgetEngine {
+
+    private static final int SCALE = 4;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final LedgerRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate alertTransaction;
+    private final int[] thresholds;
+    private final long refreshNanos;
+
+    private final LoadingCache<Long, Map<String, BudgetLimit>> budgetsByUser;
+    private final ConcurrentHashMap<Long, RunningTotal> totals = new ConcurrentHashMap<>();
+
+    public BudgetEngine(BudgetRepository budgetRepository,
+                        BudgetAlertRepository budgetAlertRepository,
+                        LedgerRollupRepository rollupRepository,
+                        UserRepository userRepository,
+                        EmailService emailService,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.budgets.alert-thresholds:80,100}") int[] thresholds,
+                        @Value("${app.budgets.cache-size:10000}") long cacheSize,
+                        @Value("${app.budgets.refresh-seconds:60}") long refreshSeconds) {
+        this.budgetRepository = budgetRepository;
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        // Listeners run after the ledger transaction committed, so alerts need their own
+        this.alertTransaction = new TransactionTemplate(transactionManager);
+        this.alertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.thresholds = Arrays.stream(thresholds).sorted().toArray();
+        this.refreshNanos = Duration.ofSeconds(refreshSeconds).toNanos();
+        // Budgets edited through another node are picked up within refresh-seconds too
+        this.budgetsByUser = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .recordStats()
+                .build(this::loadBudgets);
+        CaffeineCacheMetrics.monitor(meterRegistry, budgetsByUser, "budgets");
+    }
+
+    /**
+     * This month's spend for a budget, as a positive amount, from ledger_rollups
+     */
+    public BigDecimal currentSpend(Budget budget) {
+        YearMonth month = YearMonth.now();
+        long spent = loadSpend(BudgetLimit.of(budget), month);
+        resync(budget.getId(), month, spent);
+        return fromUnits(spent);
+    }
+
+    /**
+     * currentSpend for several of a user's budgets with one rollup query, by budget id
+     */
+    public Map<Long, BigDecimal> currentSpend(Long userId, List<Budget> budgets) {
+        YearMonth month = YearMonth.now();
+        LocalDate monthStart = month.atDay(1);
+        Map<String, BigDecimal> outflows = rollupRepository
+                .findCategoryTotals(userId, RollupPeriod.MONTH, monthStart, monthStart).stream()
+                .collect(Collectors.toMap(t -> key(t.category(), t.currency()), CategoryTotal::outflow));
+
+        Map<Long, BigDecimal> spend = new HashMap<>();
+        for (Budget budget : budgets) {
+            BigDecimal outflow = outflows.getOrDefault(key(budget.getCategory(), budget.getCurrency()), BigDecimal.ZERO);
+            long spent = toUnits(outflow.negate());
+            resync(budget.getId(), month, spent);
+            spend.put(budget.getId(), fromUnits(spent));
+        }
+        return spend;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        YearMonth month = YearMonth.now();
+        LocalDate monthStart = month.atDay(1);
+        for (SpendChange change : event.changes()) {
+            if (!change.month().equals(monthStart)) {
+                continue;
+            }
+            BudgetLimit budget = budgetsByUser.get(change.userId()).get(key(change.category(), change.currency()));
+            if (budget == null) {
+                continue;
+            }
+            try {
+                record(budget, month, toUnits(change.outflowDelta().negate()));
+            } catch (RuntimeException e) {
+                // The ledger change is already committed; never fail the request over an alert
+                log.error("Budget {} update failed: {}", budget.id(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        budgetsByUser.invalidate(event.userId());
+        totals.remove(event.budgetId());
+    }
+
+    private void record(BudgetLimit budget, YearMonth month, long spendDelta) {
+        RunningTotal total = totals.get(budget.id());
+        long after;
+        if (total == null || !total.month.equals(month) || total.isOlderThan(refreshNanos)) {
+            // First touch this month, or the total may be missing other nodes' writes:
+            // the rollup row already includes this change
+            total = reload(budget, month);
+            after = total.spent.get();
+        } else {
+            after = total.spent.addAndGet(spendDelta);
+        }
+
+        for (int i = 0; i < thresholds.length; i++) {
+            if (after >= budget.limitUnits() * thresholds[i] / 100 && !total.isHandled(i)) {
+                alert(budget, month, total);
+                return;
+            }
+        }
+    }
+
+    private RunningTotal reload(BudgetLimit budget, YearMonth month) {
+        long spent = loadSpend(budget, month);
+        // Keep what was already alerted this month, only the amount is refreshed
+        return totals.compute(budget.id(), (id, current) -> new RunningTotal(month, spent,
+                current != null && current.month.equals(month) ? current.handled.get() : 0));
+    }
+
+    private void resync(Long budgetId, YearMonth month, long spent) {
+        RunningTotal total = totals.get(budgetId);
+        if (total != null && total.month.equals(month)) {
+            total.resync(spent);
+        }
+    }
+
+    /**
+     * Re-checks the spend against ledger_rollups, then records every threshold
+     * reached so far and emails about the highest new one. Reached thresholds
+     * are marked handled on the total whether this node or another one sent
+     * the alert, so they aren't checked again this month.
+     */
+    private void alert(BudgetLimit budget, YearMonth month, RunningTotal total) {
+        long verified = loadSpend(budget, month);
+        total.resync(verified);
+
+        LocalDate monthStart = month.atDay(1);
+        try {
+            alertTransaction.executeWithoutResult(status -> {
+                Set<Integer> sent = new HashSet<>(budgetAlertRepository.findSentThresholds(budget.id(), monthStart));
+                int highestNew = 0;
+                for (int threshold : thresholds) {
+                    if (verified >= budget.limitUnits() * threshold / 100 && !sent.contains(threshold)) {
+                        budgetAlertRepository.save(new BudgetAlert(budget.id(), monthStart, threshold));
+                        highestNew = threshold;
+                    }
+                }
+                if (highestNew == 0) {
+                    return;
+                }
+                budgetAlertRepository.flush(); // hit the unique key now, before queueing the email
+                String email = userRepository.findById(budget.userId()).orElseThrow().getEmail();
+                emailService.queueBudgetAlert(email, budget.category(), budget.currency(), month,
+                        fromUnits(budget.limitUnits()), fromUnits(verified), highestNew);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.violates(e, BudgetAlert.UK_CROSSING)) {
+                throw e;
+            }
+            log.debug("Budget {} alert for {} already sent by another node", budget.id(), month);
+        }
+        for (int i = 0; i < thresholds.length; i++) {
+            if (verified >= budget.limitUnits() * thresholds[i] / 100) {
+                total.markHandled(i);
+            }
+        }
+    }
+
+    private long loadSpend(BudgetLimit budget, YearMonth month) {
+        BigDecimal outflow = rollupRepository.findMonthlyOutflow(
+                budget.userId(), budget.category(), budget.currency(), month.atDay(1));
+        return toUnits(outflow.negate());
+    }
+
+    private Map<String, BudgetLimit> loadBudgets(Long userId) {
+        return budgetRepository.findByUserUserIdOrderByCategory(userId).stream()
+                .map(BudgetLimit::of)
+                .collect(Collectors.toUnmodifiableMap(b -> key(b.category(), b.currency()), b -> b));
+    }
+
+    private static String key(String category, String currency) {
+        return category + '\u0000' + currency;
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * What the engine needs to know about a budget, detached from JPA
+     */
+    record BudgetLimit(Long id, Long userId, String category, String currency, long limitUnits) {
+        static BudgetLimit of(Budget budget) {
+            return new BudgetLimit(budget.getId(), budget.getUser().getUserId(), budget.getCategory(),
+                    budget.getCurrency(), toUnits(budget.getMonthlyLimit()));
+        }
+    }
+
+    private static final class RunningTotal {
+        final YearMonth month;
+        final AtomicLong spent;
+        // Bit i set: thresholds[i] has been alerted this month, by any node
+        final AtomicInteger handled;
+        volatile long loadedAt;
+
+        RunningTotal(YearMonth month, long spent, int handled) {
+            this.month = month;
+            this.spent = new AtomicLong(spent);
+            this.handled = new AtomicInteger(handled);
+            this.loadedAt = System.nanoTime();
+        }
+
+        boolean isOlderThan(long nanos) {
+            return System.nanoTime() - loadedAt > nanos;
+        }
+
+        void resync(long spent) {
+            this.spent.set(spent);
+            this.loadedAt = System.nanoTime();
+        }
+
+        boolean isHandled(int threshold) {
+            return (handled.get() & (1 << threshold)) != 0;
+        }
+
+        void markHandled(int threshold) {
+            handled.getAndUpdate(mask -> mask | 1 << threshold);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.senibo.financetracker.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of any of a set of patterns
+ * in one left-to-right pass over the text, however many patterns there are.
+ *
+ * Built once, then read-only and safe to share between threads. Each node's
+ * outgoing edges are a sorted char[] searched by binary search, which keeps
+ * the automaton compact for the sparse alphabets of real pattern sets.
+ */
+final class AhoCorasick {
+
+    /**
+     * Receives each match; returning false stops the scan
+     */
+    @FunctionalInterface
+    interface MatchHandler {
+        boolean onMatch(int patternIndex);
+    }
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Index of the pattern ending at each node, or -1
+    private final int[] patternAt;
+    // Nearest node on the failure chain that ends a pattern, or -1
+    private final int[] outputLink;
+
+    private AhoCorasick(char[][] edgeChars, int[][] edgeTargets, int[] failure, int[] patternAt, int[] outputLink) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * @param patterns distinct, non-empty patterns; a match reports the pattern's index in this list
+     */
+    static AhoCorasick build(List<String> patterns) {
+        // 1. Trie
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        ends.add(-1);
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = edges.get(node).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new TreeMap<>());
+                    ends.add(-1);
+                    edges.get(node).put(c, next);
+                }
+                node = next;
+            }
+            ends.set(node, p);
+        }
+
+        int nodes = edges.size();
+        char[][] edgeChars = new char[nodes][];
+        int[][] edgeTargets = new int[nodes][];
+        int[] patternAt = new int[nodes];
+        for (int n = 0; n < nodes; n++) {
+            TreeMap<Character, Integer> out = edges.get(n);
+            edgeChars[n] = new char[out.size()];
+            edgeTargets[n] = new int[out.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : out.entrySet()) {
+                edgeChars[n][e] = edge.getKey();
+                edgeTargets[n][e] = edge.getValue();
+                e++;
+            }
+            patternAt[n] = ends.get(n);
+        }
+
+        // 2. Failure and output links, breadth first so parents are done before children
+        int[] failure = new int[nodes];
+        int[] outputLink = new int[nodes];
+        Arrays.fill(outputLink, -1);
+        AhoCorasick automaton = new AhoCorasick(edgeChars, edgeTargets, failure, patternAt, outputLink);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = 0; e < edgeChars[node].length; e++) {
+                char c = edgeChars[node][e];
+                int child = edgeTargets[node][e];
+                int fallback = failure[node];
+                while (fallback != 0 && automaton.edge(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = automaton.edge(fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                int f = failure[child];
+                outputLink[child] = patternAt[f] >= 0 ? f : outputLink[f];
+                queue.add(child);
+            }
+        }
+        return automaton;
+    }
+
+    void scan(CharSequence text, MatchHandler handler) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = edge(node, c);
+            while (next < 0 && node != 0) {
+                node = failure[node];
+                next = edge(node, c);
+            }
+            node = Math.max(next, 0);
+            for (int match = patternAt[node] >= 0 ? node : outputLink[node]; match >= 0; match = outputLink[match]) {
+                if (!handler.onMatch(patternAt[match])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int edge(int node, char c) {
+        int e = Arrays.binarySearch(edgeChars[node], c);
+        return e >= 0 ? edgeTargets[node][e] : -1;
+    }
+}
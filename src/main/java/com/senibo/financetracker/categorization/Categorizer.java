@@ -0,0 +1,30 @@
+package com.senibo.financetracker.categorization;
+
+import com.senibo.financetracker.search.SearchTokenizer;
+
+/**
+ * The rules that apply to one user: their own first, then the global ones.
+ * Immutable; get a fresh one from CategoryRuleEngine to see rule changes.
+ */
+public final class Categorizer {
+
+    private final CompiledRules userRules;
+    private final CompiledRules globalRules;
+
+    Categorizer(CompiledRules userRules, CompiledRules globalRules) {
+        this.userRules = userRules;
+        this.globalRules = globalRules;
+    }
+
+    /**
+     * Category for a transaction description, or null if no rule matches
+     */
+    public String categorize(String description) {
+        if (description == null || (userRules.size() == 0 && globalRules.size() == 0)) {
+            return null;
+        }
+        String text = CompiledRules.pad(SearchTokenizer.words(description));
+        String category = userRules.match(text);
+        return category != null ? category : globalRules.match(text);
+    }
+}
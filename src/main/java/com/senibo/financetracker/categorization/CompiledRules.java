@@ -0,0 +1,83 @@
+package com.senibo.financetracker.categorization;
+
+import com.senibo.financetracker.models.CategoryRule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One owner's rules compiled into a single AhoCorasick automaton.
+ *
+ * Patterns are matched as whole words: both the pattern and the text are
+ * normalized to single-space-separated words and padded with a space at each
+ * end, so " uber " matches "uber eats" but not "uberti".
+ *
+ * When several rules match, the winner is fixed at compile time: higher
+ * priority, then the longer pattern, then the older rule. Patterns are added
+ * to the automaton in that order, so the winner is simply the match with the
+ * lowest pattern index.
+ */
+final class CompiledRules {
+
+    static final CompiledRules EMPTY = new CompiledRules(null, new String[0]);
+
+    private static final Comparator<CategoryRule> PRECEDENCE = Comparator
+            .comparingInt(CategoryRule::getPriority).reversed()
+            .thenComparing(Comparator.comparingInt((CategoryRule rule) -> rule.getPattern().length()).reversed())
+            .thenComparing(CategoryRule::getId);
+
+    private final AhoCorasick automaton;
+    private final String[] categories;
+
+    private CompiledRules(AhoCorasick automaton, String[] categories) {
+        this.automaton = automaton;
+        this.categories = categories;
+    }
+
+    static CompiledRules compile(List<CategoryRule> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        List<CategoryRule> ordered = new ArrayList<>(rules);
+        ordered.sort(PRECEDENCE);
+
+        List<String> patterns = new ArrayList<>(ordered.size());
+        List<String> categories = new ArrayList<>(ordered.size());
+        Set<String> seen = new HashSet<>();
+        for (CategoryRule rule : ordered) {
+            String pattern = pad(rule.getPattern());
+            // The same pattern twice: the first one in precedence order wins, drop the other
+            if (pattern.length() > 2 && seen.add(pattern)) {
+                patterns.add(pattern);
+                categories.add(rule.getCategory());
+            }
+        }
+        return new CompiledRules(AhoCorasick.build(patterns), categories.toArray(new String[0]));
+    }
+
+    int size() {
+        return categories.length;
+    }
+
+    /**
+     * Category of the winning rule for already padded, normalized text, or null
+     */
+    String match(String paddedWords) {
+        if (automaton == null) {
+            return null;
+        }
+        int[] best = {Integer.MAX_VALUE};
+        automaton.scan(paddedWords, pattern -> {
+            best[0] = Math.min(best[0], pattern);
+            return best[0] != 0; // nothing can beat the first pattern
+        });
+        return best[0] == Integer.MAX_VALUE ? null : categories[best[0]];
+    }
+
+    static String pad(String words) {
+        return " " + words + " ";
+    }
+}
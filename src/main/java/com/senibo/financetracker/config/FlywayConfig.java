@@ -0,0 +1,36 @@
+package com.senibo.financetracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Decides whether this instance applies pending migrations while it boots.
+ *
+ * By default every instance migrates, which is what a single node wants. When
+ * new instances are started to scale out, the schema is already current, so
+ * they can skip the migration round trips (app.flyway.migrate-on-startup=false)
+ * and leave migrating to the deploy step. The CDS training run of the
+ * fast-startup build skips it too, since it never talks to the database.
+ *
+ * This is a runtime property rather than spring.flyway.enabled on purpose:
+ * an AOT-processed build fixes auto-configuration conditions at build time.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping schema migration on startup (app.flyway.migrate-on-startup=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.senibo.financetracker.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * JSON serialization settings for the HTTP API.
+ *
+ * Blackbird replaces Jackson's reflective getter and constructor calls with
+ * lambdas generated at runtime (LambdaMetafactory), which the JIT can inline.
+ * Spring Boot adds every Module bean to its ObjectMapper, so all response
+ * DTOs (ApiResponse, SignInResponse, UserResponse, ApiError...) use it.
+ *
+ * Message-only responses skip Jackson altogether, see PreEncodedApiResponses.
+ */
+@Configuration
+public class JsonConfig implements WebMvcConfigurer {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring Data puts a read-only Jackson converter first, so look for the one that writes
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && jackson.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON)) {
+                PreEncodedApiResponses responses =
+                        PreEncodedApiResponses.create(jackson.getObjectMapper(), ApiMessages.ALL);
+                converters.add(i, new PreEncodedApiResponseConverter(responses, jackson));
+                return;
+            }
+        }
+    }
+}
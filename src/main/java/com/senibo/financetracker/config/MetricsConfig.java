@@ -0,0 +1,56 @@
+package com.senibo.financetracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Common metric tags and @Timed support.
+ *
+ * Every meter is tagged with application, instance and version, so dashboards
+ * can compare nodes and releases side by side. The version comes from the
+ * build-info generated by spring-boot-maven-plugin.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags(
+            @Value("${spring.application.name:Finance_Tracker}") String application,
+            @Value("${app.metrics.instance:}") String instance,
+            ObjectProvider<BuildProperties> buildProperties) {
+        String version = buildProperties.getIfAvailable() != null
+                ? buildProperties.getIfAvailable().getVersion()
+                : "unknown";
+        String instanceTag = instance.isBlank() ? hostName() : instance;
+
+        return registry -> registry.config().commonTags(
+                "application", application,
+                "instance", instanceTag,
+                "version", version);
+    }
+
+    /**
+     * Enables @Timed on Spring beans (e.g. AuthServiceImpl)
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.senibo.financetracker.config;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes ApiResponse bodies, from pre-encoded bytes when the body is one of
+ * the fixed messages and through the regular Jackson converter otherwise.
+ *
+ * Registered ahead of Jackson (see JsonConfig), so it sees every ApiResponse
+ * returned by a controller or exception handler. Pre-encoded bodies also get
+ * an exact Content-Length instead of chunked encoding.
+ */
+class PreEncodedApiResponseConverter implements HttpMessageConverter<ApiResponse<?>> {
+
+    private final PreEncodedApiResponses responses;
+    private final MappingJackson2HttpMessageConverter jackson;
+
+    PreEncodedApiResponseConverter(PreEncodedApiResponses responses, MappingJackson2HttpMessageConverter jackson) {
+        this.responses = responses;
+        this.jackson = jackson;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ApiResponse.class == clazz && jackson.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return jackson.getSupportedMediaTypes();
+    }
+
+    @Override
+    public ApiResponse<?> read(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is only written", inputMessage);
+    }
+
+    @Override
+    public void write(ApiResponse<?> body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        long length = responses.contentLength(body);
+        if (length < 0) {
+            jackson.write(body, contentType, outputMessage);
+            return;
+        }
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(contentType == null || !contentType.isConcrete()
+                    ? MediaType.APPLICATION_JSON
+                    : contentType);
+        }
+        headers.setContentLength(length);
+        responses.write(body, outputMessage.getBody());
+    }
+}
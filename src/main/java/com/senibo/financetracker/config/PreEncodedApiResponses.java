@@ -0,0 +1,185 @@
+package com.senibo.financetracker.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The JSON of message-only success responses, encoded once.
+ *
+ * A body like {"success":true,"timestamp":"...","message":"Budget deleted"}
+ * only differs between requests in its timestamp. Each known message is
+ * serialized once through the application's ObjectMapper with a sample
+ * timestamp, and the bytes before and after that timestamp are kept. Writing
+ * a response is then two array copies around the timestamp digits, formatted
+ * straight into bytes: no serializer lookup, no String building.
+ *
+ * The templates come from the real ObjectMapper, so field order, NON_NULL
+ * handling and escaping always match what Jackson would write. If the mapper
+ * doesn't write dates as ISO strings (WRITE_DATES_AS_TIMESTAMPS), nothing is
+ * pre-encoded and every response goes through Jackson as before.
+ */
+public final class PreEncodedApiResponses {
+
+    // Sample timestamp with every field distinct, so it can be found in the encoded JSON unambiguously
+    private static final LocalDateTime SAMPLE = LocalDateTime.of(1987, 6, 5, 4, 3, 2, 123_456_789);
+    private static final int MAX_TIMESTAMP_LENGTH = 29; // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+
+    private record Template(byte[] prefix, byte[] suffix) {
+    }
+
+    private final Map<String, Template> templates;
+
+    private PreEncodedApiResponses(Map<String, Template> templates) {
+        this.templates = templates;
+    }
+
+    public static PreEncodedApiResponses create(ObjectMapper objectMapper, Collection<String> messages) {
+        Map<String, Template> templates = new HashMap<>();
+        try {
+            byte[] sample = ('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(SAMPLE) + '"')
+                    .getBytes(StandardCharsets.US_ASCII);
+            if (!Arrays.equals(objectMapper.writeValueAsBytes(SAMPLE), sample)) {
+                return new PreEncodedApiResponses(Map.of());
+            }
+            for (String message : messages) {
+                byte[] json = objectMapper.writeValueAsBytes(
+                        new ApiResponse<>(true, SAMPLE, null, message, null));
+                int at = indexOf(json, sample);
+                if (at < 0) {
+                    continue;
+                }
+                // Keep the quotes in the prefix and suffix, only the digits are spliced in
+                templates.put(message, new Template(
+                        Arrays.copyOfRange(json, 0, at + 1),
+                        Arrays.copyOfRange(json, at + sample.length - 1, json.length)));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not pre-encode API responses", e);
+        }
+        return new PreEncodedApiResponses(Map.copyOf(templates));
+    }
+
+    /**
+     * Whether body can be written by this class, i.e. it is a success with one of the known messages and no data
+     */
+    public boolean supports(ApiResponse<?> body) {
+        return template(body) != null;
+    }
+
+    /**
+     * Exact length in bytes of body's JSON, or -1 if it isn't pre-encoded
+     */
+    public long contentLength(ApiResponse<?> body) {
+        Template template = template(body);
+        if (template == null) {
+            return -1;
+        }
+        return template.prefix().length + timestampLength(body.timestamp()) + template.suffix().length;
+    }
+
+    /**
+     * Writes body's JSON to out.
+     *
+     * @return false, writing nothing, if body isn't pre-encoded
+     */
+    public boolean write(ApiResponse<?> body, OutputStream out) throws IOException {
+        Template template = template(body);
+        if (template == null) {
+            return false;
+        }
+        byte[] timestamp = new byte[MAX_TIMESTAMP_LENGTH];
+        int length = formatTimestamp(body.timestamp(), timestamp);
+        out.write(template.prefix());
+        out.write(timestamp, 0, length);
+        out.write(template.suffix());
+        return true;
+    }
+
+    private Template template(ApiResponse<?> body) {
+        if (!body.success() || body.data() != null || body.error() != null
+                || body.message() == null || body.timestamp() == null) {
+            return null;
+        }
+        Template template = templates.get(body.message());
+        // Years outside 0000-9999 get a sign in ISO format; leave those to Jackson
+        if (template == null || body.timestamp().getYear() < 0 || body.timestamp().getYear() > 9999) {
+            return null;
+        }
+        return template;
+    }
+
+    /**
+     * Same output as DateTimeFormatter.ISO_LOCAL_DATE_TIME for years 0-9999:
+     * seconds always present, fraction only when non-zero, without trailing zeros.
+     */
+    static int formatTimestamp(LocalDateTime time, byte[] out) {
+        int i = 0;
+        i = digits(time.getYear(), 4, out, i);
+        out[i++] = '-';
+        i = digits(time.getMonthValue(), 2, out, i);
+        out[i++] = '-';
+        i = digits(time.getDayOfMonth(), 2, out, i);
+        out[i++] = 'T';
+        i = digits(time.getHour(), 2, out, i);
+        out[i++] = ':';
+        i = digits(time.getMinute(), 2, out, i);
+        out[i++] = ':';
+        i = digits(time.getSecond(), 2, out, i);
+        int nano = time.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            out[i++] = '.';
+            i = digits(nano, width, out, i);
+        }
+        return i;
+    }
+
+    private static int timestampLength(LocalDateTime time) {
+        int nano = time.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        int width = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            width--;
+        }
+        return 20 + width;
+    }
+
+    private static int digits(int value, int width, byte[] out, int at) {
+        for (int i = at + width - 1; i >= at; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return at + width;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
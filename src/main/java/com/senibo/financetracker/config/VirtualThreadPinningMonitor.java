@@ -0,0 +1,98 @@
+package com.senibo.financetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread.
+ *
+ * A virtual thread that blocks inside a synchronized block (or native code)
+ * can't unmount, so it holds one of the few carrier threads until it is done.
+ * A handful of those in a hot path, e.g. a JDBC driver that does socket reads
+ * under a monitor, and the virtual-thread mode ends up slower than the
+ * platform pool it replaced.
+ *
+ * This listens for the JDK's own jdk.VirtualThreadPinned events through an
+ * in-process JFR stream. Every pin longer than the threshold is recorded in
+ * the jvm.threads.virtual.pinned timer; the first pin from each distinct call
+ * site is also logged with its stack, so the offending lock can be found.
+ *
+ * On by default whenever spring.threads.virtual.enabled is.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_REMEMBERED_SITES = 1000;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning-monitor.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                                       @Value("${app.threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            stack.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        String site = stack.toString();
+        if (loggedSites.size() < MAX_REMEMBERED_SITES && loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms on thread {}{}",
+                    event.getDuration().toMillis(), event.getThread() == null ? "?" : event.getThread().getJavaName(), site);
+        }
+    }
+}
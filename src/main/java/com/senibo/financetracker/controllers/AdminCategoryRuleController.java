@@ -0,0 +1,53 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.requests.CategoryRuleRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.CategoryRuleResponse;
+import com.senibo.financetracker.services.CategoryRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Global categorization rules, applied for every user after their own rules
+ */
+@RestController
+@RequestMapping("/api/admin/category-rules")
+@Validated
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCategoryRuleController {
+    private final CategoryRuleService categoryRuleService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CategoryRuleResponse>>> getRules() {
+        return ResponseEntity.ok(ApiResponse.success(categoryRuleService.getRules(null), "Global category rules retrieved"));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<CategoryRuleResponse>> createRule(@Valid @RequestBody CategoryRuleRequest request) {
+        CategoryRuleResponse created = categoryRuleService.createRule(null, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(created, "Global category rule created"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<CategoryRuleResponse>> updateRule(@PathVariable Long id,
+                                                                        @Valid @RequestBody CategoryRuleRequest request) {
+        return ResponseEntity.ok(
+                ApiResponse.success(categoryRuleService.updateRule(null, id, request), "Global category rule updated")
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRule(@PathVariable Long id) {
+        categoryRuleService.deleteRule(null, id);
+        return ResponseEntity.ok(ApiResponse.success(ApiMessages.GLOBAL_CATEGORY_RULE_DELETED));
+    }
+}
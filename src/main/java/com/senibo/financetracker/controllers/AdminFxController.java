@@ -0,0 +1,35 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.FxTableResponse;
+import com.senibo.financetracker.fx.FxRateTable;
+import com.senibo.financetracker.fx.FxRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/fx")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminFxController {
+    private final FxRates fxRates;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<FxTableResponse>> getTable() {
+        return ResponseEntity.ok(ApiResponse.success(toResponse(fxRates.table()), "FX rate table retrieved"));
+    }
+
+    /**
+     * Starts using the rate file as it is now, without waiting for the next modification check
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponse<FxTableResponse>> reload() {
+        return ResponseEntity.ok(ApiResponse.success(toResponse(fxRates.reload()), "FX rates reloaded"));
+    }
+
+    private static FxTableResponse toResponse(FxRateTable table) {
+        return new FxTableResponse(table.base(), table.firstDate(), table.lastDate(), table.currencies());
+    }
+}
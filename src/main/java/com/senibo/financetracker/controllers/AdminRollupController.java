@@ -0,0 +1,28 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.RollupRebuildResponse;
+import com.senibo.financetracker.rollups.RollupRebuildJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/rollups")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRollupController {
+    private final RollupRebuildJob rollupRebuildJob;
+
+    /**
+     * Recomputes every user's dashboard rollups from the ledger
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<RollupRebuildResponse>> rebuild() {
+        RollupRebuildResponse result = rollupRebuildJob.rebuildAll();
+        return ResponseEntity.ok(
+                ApiResponse.success(result, "Rebuilt rollups for " + result.users() + " users")
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.requests.BulkSignUpRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse;
+import com.senibo.financetracker.services.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@Validated
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+    private final UserService userService;
+
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<BulkSignUpResponse>> importUsers(@Valid @RequestBody BulkSignUpRequest request) {
+        BulkSignUpResponse result = userService.importUsers(request);
+        String message = "Imported " + result.created() + " of " + result.requested() + " users";
+        if (!result.complete()) {
+            message += "; server busy, " + result.notProcessed().size() + " not processed, resubmit them later";
+        }
+        return ResponseEntity.ok(ApiResponse.success(result, message));
+    }
+}
@@ -0,0 +1,104 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.analytics.TimeBucket;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.dtos.responses.ConvertedSummary;
+import com.senibo.financetracker.dtos.responses.SpendingSummary;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.AnalyticsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reports over the whole ledger at any granularity. All figures are in one
+ * currency; amounts in other currencies are left out, except by
+ * /converted-summary, which converts them at historical rates.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Validated
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Totals and averages, optionally for one category. Defaults to the last 12 months.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<SpendingSummary>> getSummary(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD") String currency,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        SpendingSummary summary = analyticsService.getSummary(user.userId(), currency, category,
+                from != null ? from : defaultFrom(end), end);
+        return ResponseEntity.ok(ApiResponse.success(summary, "Summary retrieved"));
+    }
+
+    /**
+     * Totals with every transaction converted into one currency at the rate
+     * of its date. Defaults to the last 12 months.
+     */
+    @GetMapping("/converted-summary")
+    public ResponseEntity<ApiResponse<ConvertedSummary>> getConvertedSummary(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD") String currency,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        ConvertedSummary summary = analyticsService.getConvertedSummary(user.userId(), currency, category,
+                from != null ? from : defaultFrom(end), end);
+        return ResponseEntity.ok(ApiResponse.success(summary, "Converted summary retrieved"));
+    }
+
+    /**
+     * The categories with the biggest spend. Defaults to the last 12 months.
+     */
+    @GetMapping("/top-categories")
+    public ResponseEntity<ApiResponse<List<CategoryTotal>>> getTopCategories(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD") String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        List<CategoryTotal> top = analyticsService.getTopCategories(user.userId(), currency,
+                from != null ? from : defaultFrom(end), end, limit);
+        return ResponseEntity.ok(ApiResponse.success(top, "Top categories retrieved"));
+    }
+
+    /**
+     * Totals per day, week, month, quarter or year. Defaults to months over the last 12 months.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<ApiResponse<List<BalanceBucket>>> getTimeSeries(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD") String currency,
+            @RequestParam(defaultValue = "MONTH") TimeBucket bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        List<BalanceBucket> series = analyticsService.getTimeSeries(user.userId(), currency, bucket,
+                from != null ? from : defaultFrom(end), end);
+        return ResponseEntity.ok(ApiResponse.success(series, "Time series retrieved"));
+    }
+
+    private static LocalDate defaultFrom(LocalDate to) {
+        return to.minusYears(1).plusDays(1);
+    }
+}
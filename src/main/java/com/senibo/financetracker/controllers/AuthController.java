@@ -3,9 +3,11 @@ package com.senibo.financetracker.controllers;
 import com.senibo.financetracker.dtos.requests.EmailVerificationRequest;
 import com.senibo.financetracker.dtos.requests.SignInRequest;
 import com.senibo.financetracker.dtos.requests.SignUpRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
 import com.senibo.financetracker.dtos.responses.ApiResponse;
 import com.senibo.financetracker.dtos.responses.SignInResponse;
 import com.senibo.financetracker.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +26,7 @@ public class AuthController {
         // With global exception handler, this becomes much simpler!
         authService.registerUser(signUpRequest);
         return ResponseEntity.ok(
-                ApiResponse.success("User registered successfully! Please check your email for verification code.")
+                ApiResponse.success(ApiMessages.USER_REGISTERED)
         );
     }
 
@@ -33,14 +35,15 @@ public class AuthController {
     public ResponseEntity<ApiResponse<Void>> verifyEmail(@Valid @RequestBody EmailVerificationRequest request) {
         authService.verifyEmail(request);
         return ResponseEntity.ok(
-                ApiResponse.success("Email verified successfully! You can now sign in.")
+                ApiResponse.success(ApiMessages.EMAIL_VERIFIED)
         );
     }
 
 
     @PostMapping("/signin")
-    public ResponseEntity<ApiResponse<SignInResponse>> authenticateUser(@Valid @RequestBody SignInRequest signInRequest) {
-        SignInResponse signInResponse = authService.authenticateUser(signInRequest);
+    public ResponseEntity<ApiResponse<SignInResponse>> authenticateUser(@Valid @RequestBody SignInRequest signInRequest,
+                                                                        HttpServletRequest request) {
+        SignInResponse signInResponse = authService.authenticateUser(signInRequest, request.getRemoteAddr());
         return ResponseEntity.ok(
                 ApiResponse.success(signInResponse, "Sign in successful")
         );
@@ -51,7 +54,7 @@ public class AuthController {
     public ResponseEntity<ApiResponse<Void>> resendVerificationCode(@RequestParam String email) {
         authService.resendVerificationCode(email);
         return ResponseEntity.ok(
-                ApiResponse.success("Verification code sent successfully!")
+                ApiResponse.success(ApiMessages.VERIFICATION_CODE_SENT)
         );
     }
 
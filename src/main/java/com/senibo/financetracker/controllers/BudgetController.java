@@ -0,0 +1,53 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.requests.BudgetRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.BudgetResponse;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@Validated
+@RequiredArgsConstructor
+public class BudgetController {
+    private final BudgetService budgetService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<BudgetResponse>>> getBudgets(@AuthenticationPrincipal TokenClaims user) {
+        return ResponseEntity.ok(ApiResponse.success(budgetService.getBudgets(user.userId()), "Budgets retrieved"));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BudgetResponse>> createBudget(@AuthenticationPrincipal TokenClaims user,
+                                                                    @Valid @RequestBody BudgetRequest request) {
+        BudgetResponse created = budgetService.createBudget(user.userId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(created, "Budget created"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<BudgetResponse>> updateBudget(@AuthenticationPrincipal TokenClaims user,
+                                                                    @PathVariable Long id,
+                                                                    @Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.ok(
+                ApiResponse.success(budgetService.updateBudget(user.userId(), id, request), "Budget updated")
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteBudget(@AuthenticationPrincipal TokenClaims user,
+                                                          @PathVariable Long id) {
+        budgetService.deleteBudget(user.userId(), id);
+        return ResponseEntity.ok(ApiResponse.success(ApiMessages.BUDGET_DELETED));
+    }
+}
@@ -0,0 +1,57 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.requests.CategoryRuleRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.CategoryRuleResponse;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.CategoryRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The signed-in user's own categorization rules. They are applied to new and
+ * imported transactions that have no category, before the global rules.
+ */
+@RestController
+@RequestMapping("/api/category-rules")
+@Validated
+@RequiredArgsConstructor
+public class CategoryRuleController {
+    private final CategoryRuleService categoryRuleService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CategoryRuleResponse>>> getRules(@AuthenticationPrincipal TokenClaims user) {
+        return ResponseEntity.ok(ApiResponse.success(categoryRuleService.getRules(user.userId()), "Category rules retrieved"));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<CategoryRuleResponse>> createRule(@AuthenticationPrincipal TokenClaims user,
+                                                                        @Valid @RequestBody CategoryRuleRequest request) {
+        CategoryRuleResponse created = categoryRuleService.createRule(user.userId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(created, "Category rule created"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<CategoryRuleResponse>> updateRule(@AuthenticationPrincipal TokenClaims user,
+                                                                        @PathVariable Long id,
+                                                                        @Valid @RequestBody CategoryRuleRequest request) {
+        return ResponseEntity.ok(
+                ApiResponse.success(categoryRuleService.updateRule(user.userId(), id, request), "Category rule updated")
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRule(@AuthenticationPrincipal TokenClaims user,
+                                                        @PathVariable Long id) {
+        categoryRuleService.deleteRule(user.userId(), id);
+        return ResponseEntity.ok(ApiResponse.success(ApiMessages.CATEGORY_RULE_DELETED));
+    }
+}
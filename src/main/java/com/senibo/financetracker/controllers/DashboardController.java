@@ -0,0 +1,56 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.models.RollupPeriod;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@Validated
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    /**
+     * Totals per day or month. Defaults to the months of the current year.
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<ApiResponse<List<BalanceBucket>>> getBalance(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam(defaultValue = "MONTH") RollupPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate today = LocalDate.now();
+        List<BalanceBucket> balance = dashboardService.getBalance(user.userId(), period,
+                from != null ? from : today.withDayOfYear(1),
+                to != null ? to : today);
+        return ResponseEntity.ok(ApiResponse.success(balance, "Balance retrieved"));
+    }
+
+    /**
+     * Totals per category, biggest spend first. Defaults to the current year so far.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse<List<CategoryTotal>>> getCategoryTotals(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate today = LocalDate.now();
+        List<CategoryTotal> totals = dashboardService.getCategoryTotals(user.userId(),
+                from != null ? from : today.withDayOfYear(1),
+                to != null ? to : today);
+        return ResponseEntity.ok(ApiResponse.success(totals, "Category totals retrieved"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.senibo.financetracker.controllers;
+
+import com.senibo.financetracker.dtos.requests.RecurringRuleRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.RecurringRuleResponse;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.RecurringRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring")
+@Validated
+@RequiredArgsConstructor
+public class RecurringRuleController {
+    private final RecurringRuleService recurringRuleService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RecurringRuleResponse>>> getRules(@AuthenticationPrincipal TokenClaims user) {
+        return ResponseEntity.ok(ApiResponse.success(recurringRuleService.getRules(user.userId()),
+                "Recurring transactions retrieved"));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<RecurringRuleResponse>> createRule(@AuthenticationPrincipal TokenClaims user,
+                                                                         @Valid @RequestBody RecurringRuleRequest request) {
+        RecurringRuleResponse created = recurringRuleService.createRule(user.userId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(created, "Recurring transaction created"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<RecurringRuleResponse>> updateRule(@AuthenticationPrincipal TokenClaims user,
+                                                                         @PathVariable Long id,
+                                                                         @Valid @RequestBody RecurringRuleRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(recurringRuleService.updateRule(user.userId(), id, request),
+                "Recurring transaction updated"));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRule(@AuthenticationPrincipal TokenClaims user,
+                                                        @PathVariable Long id) {
+        recurringRuleService.deleteRule(user.userId(), id);
+        return ResponseEntity.ok(ApiResponse.success(ApiMessages.RECURRING_RULE_DELETED));
+    }
+}
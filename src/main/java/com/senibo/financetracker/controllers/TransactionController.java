@@ -0,0 +1,179 @@
+package com.senibo.financetracker.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.CursorPage;
+import com.senibo.financetracker.dtos.responses.ImportProgress;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.exports.ExportFormat;
+import com.senibo.financetracker.imports.StatementFormat;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.senibo.financetracker.services.TransactionExportService;
+import com.senibo.financetracker.services.TransactionImportService;
+import com.senibo.financetracker.services.TransactionService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The signed-in user's ledger. The owner always comes from the access token,
+ * never from the request, so users can only ever see their own rows.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@Validated
+@RequiredArgsConstructor
+public class TransactionController {
+    private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> getHistory(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<TransactionResponse> page = transactionService.getHistory(user.userId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page, "Transactions retrieved"));
+    }
+
+    /**
+     * Transactions whose description or category has words starting with
+     * every word of q, most recently added first. "cof star" finds
+     * "Starbucks coffee".
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<TransactionResponse>>> searchTransactions(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam @Size(max = 200, message = "Query must not exceed 200 characters") String q,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<TransactionResponse> matches = transactionService.searchTransactions(user.userId(), q, limit);
+        return ResponseEntity.ok(ApiResponse.success(matches, "Search results retrieved"));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(@AuthenticationPrincipal TokenClaims user,
+                                                                           @PathVariable Long id) {
+        return ResponseEntity.ok(
+                ApiResponse.success(transactionService.getTransaction(user.userId(), id), "Transaction retrieved")
+        );
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<TransactionResponse>> createTransaction(@AuthenticationPrincipal TokenClaims user,
+                                                                              @Valid @RequestBody TransactionRequest request) {
+        TransactionResponse created = transactionService.createTransaction(user.userId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(created, "Transaction created"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<TransactionResponse>> updateTransaction(@AuthenticationPrincipal TokenClaims user,
+                                                                              @PathVariable Long id,
+                                                                              @Valid @RequestBody TransactionRequest request) {
+        return ResponseEntity.ok(
+                ApiResponse.success(transactionService.updateTransaction(user.userId(), id, request), "Transaction updated")
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteTransaction(@AuthenticationPrincipal TokenClaims user,
+                                                               @PathVariable Long id) {
+        transactionService.deleteTransaction(user.userId(), id);
+        return ResponseEntity.ok(ApiResponse.success(ApiMessages.TRANSACTION_DELETED));
+    }
+
+    /**
+     * Imports a CSV or OFX bank statement.
+     *
+     * The response is newline-delimited JSON: one ImportProgress line per saved
+     * batch, then a final line with done = true and any rejected rows. The file
+     * is parsed as it is read, so large statements use constant memory.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importStatement(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "USD")
+            @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD") String currency) {
+        // Resolve before streaming starts, so an unknown format is still a normal 400
+        StatementFormat statementFormat = StatementFormat.resolve(format, file.getOriginalFilename());
+        Long userId = user.userId();
+
+        StreamingResponseBody body = out -> {
+            try (InputStream statement = file.getInputStream()) {
+                ImportProgress result = transactionImportService.importStatement(
+                        userId, statement, statementFormat, currency, progress -> writeLine(out, progress));
+                writeLine(out, result);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Downloads the whole ledger as CSV or NDJSON, optionally gzipped.
+     *
+     * Rows are read a page at a time and written to the response, so heap
+     * use stays flat however many transactions the user has, and a slow
+     * download doesn't hold a database connection.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @AuthenticationPrincipal TokenClaims user,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        Long userId = user.userId();
+        String filename = "transactions-" + LocalDate.now() + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 1 << 16);
+                transactionExportService.exportTransactions(userId, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                transactionExportService.exportTransactions(userId, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, ImportProgress progress) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(progress));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.senibo.financetracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured DataSource with a primary pool plus
+ * replica pools when app.datasource.routing.enabled is set.
+ *
+ * The primary is configured as before (spring.datasource.*, with Hikari
+ * settings under spring.datasource.hikari). Each entry of
+ * app.datasource.replicas has its own url, username, password and hikari
+ * block, so replica pools can be sized separately from the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * One entry of app.datasource.replicas
+     */
+    public record ReplicaProperties(String name, String url, String username, String password) {
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPools replicaPools(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        List<ReplicaProperties> replicas = binder.bind("app.datasource.replicas", Bindable.listOf(ReplicaProperties.class))
+                .orElseThrow(() -> new IllegalStateException("Routing is enabled but app.datasource.replicas is empty"));
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaProperties replica = replicas.get(i);
+            String name = replica.name() != null ? replica.name() : "replica-" + i;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username() != null ? replica.username() : properties.determineUsername());
+            pool.setPassword(replica.password() != null ? replica.password() : properties.determinePassword());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            binder.bind("app.datasource.replicas[" + i + "].hikari", Bindable.ofInstance(pool));
+            // Not beans, so Spring Boot's pool metrics don't see them; register hikaricp.* here instead
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            if (pools.put(name, pool) != null || ReadWriteRoutingDataSource.PRIMARY.equals(name)) {
+                throw new IllegalStateException("Duplicate datasource name: " + name);
+            }
+        }
+        return new ReplicaPools(pools);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPools replicaPools,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${app.datasource.routing.lag-query:}") String lagQuery,
+                                               @Value("${app.datasource.routing.max-lag-seconds:5}") long maxLagSeconds,
+                                               @Value("${app.datasource.routing.lag-check-interval-ms:2000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replicaPools.dataSources(), lagQuery, maxLagSeconds,
+                Duration.ofMillis(checkIntervalMs), meterRegistry);
+    }
+
+    /**
+     * What JPA, JdbcTemplate and the transaction manager see
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPools replicaPools,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWrites readYourWrites,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaPools.dataSources(), replicaLagMonitor, readYourWrites, meterRegistry));
+    }
+}
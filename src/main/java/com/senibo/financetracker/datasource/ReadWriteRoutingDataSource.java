@@ -0,0 +1,71 @@
+package com.senibo.financetracker.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a replica and everything else to the primary.
+ *
+ * A read goes to the primary instead when no replica is within the allowed
+ * lag (ReplicaLagMonitor) or when the reader must see their own recent
+ * writes (ReadYourWrites). Work outside any transaction, e.g. plain
+ * JdbcTemplate calls, also goes to the primary.
+ *
+ * The routing decision needs the transaction's read-only flag, which Spring
+ * only sets after the transaction manager has asked for a connection, so
+ * this must sit behind a LazyConnectionDataSourceProxy (see
+ * DataSourceRoutingConfig): the proxy defers the real getConnection() to the
+ * first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Map<String, Counter> routedTo = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWrites readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        targets.keySet().forEach(name -> routedTo.put((String) name, Counter.builder("datasource.routed")
+                .description("Connections handed out, by pool")
+                .tag("pool", (String) name)
+                .register(meterRegistry)));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = route();
+        routedTo.get(target).increment();
+        return target;
+    }
+
+    private String route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.markCurrentUserWriting();
+            return PRIMARY;
+        }
+        if (readYourWrites.primaryRequired()) {
+            return PRIMARY;
+        }
+        String replica = lagMonitor.pickReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+}
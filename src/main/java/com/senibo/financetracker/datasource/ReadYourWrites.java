@@ -0,0 +1,123 @@
+package com.senibo.financetracker.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a user's reads on the primary for a short while after they wrote.
+ *
+ * Replicas apply the primary's changes a little late, so a user who just
+ * verified their email and immediately signs in could be read from a replica
+ * that still says "not verified". Writers are remembered for sticky-seconds
+ * (longer than the largest replica lag that routing tolerates), and while a
+ * subject is remembered ReadWriteRoutingDataSource sends its reads to the
+ * primary.
+ *
+ * A subject is the signed-in user's id, recorded automatically whenever their
+ * request takes a read-write connection, or a login name (email or username)
+ * recorded explicitly by flows that run before sign-in. Those flows wrap
+ * their lookups (which must be read-only transactions to reach a replica at
+ * all, see UserRepository) in readFor(login, ...).
+ *
+ * Writers are remembered per node, in memory. A request served by another
+ * node than the write still reads a replica at most max-lag-seconds behind,
+ * so a login created through another node moments ago can look unknown
+ * until it has replicated. An empty result is deliberately not retried on
+ * the primary: unknown logins are what credential stuffing sends, and
+ * retrying them would put that whole load on the primary as well.
+ * Deployments that need strict read-your-writes across nodes should route a
+ * client's requests to the same node (sticky sessions on /api/auth).
+ *
+ * Does nothing unless app.datasource.routing.enabled is set.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Cache<Object, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${app.datasource.routing.enabled:false}") boolean enabled,
+                          @Value("${app.datasource.routing.sticky-seconds:10}") long stickySeconds,
+                          @Value("${app.datasource.routing.sticky-max-subjects:100000}") long maxSubjects) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxSubjects)
+                .expireAfterWrite(Duration.ofSeconds(stickySeconds))
+                .build();
+    }
+
+    /**
+     * Remembers that these subjects (user ids or login names) just wrote
+     */
+    public void markWritten(Object... subjects) {
+        if (!enabled) {
+            return;
+        }
+        for (Object subject : subjects) {
+            if (subject != null) {
+                recentWriters.put(subject, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Runs a lookup by login name, on the primary if that login wrote recently
+     * (signed up, verified, was locked or unlocked) on this node
+     */
+    public <T> T readFor(Object subject, Supplier<T> lookup) {
+        if (!enabled || subject == null || FORCE_PRIMARY.get() != null) {
+            return lookup.get();
+        }
+        if (recentWriters.getIfPresent(subject) != null) {
+            return onPrimary(lookup);
+        }
+        return lookup.get();
+    }
+
+    private static <T> T onPrimary(Supplier<T> lookup) {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return lookup.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    /**
+     * Called when a read-write connection is taken: the signed-in user, if any, is writing
+     */
+    void markCurrentUserWriting() {
+        if (enabled) {
+            markWritten(currentUserId());
+        }
+    }
+
+    /**
+     * Whether the current read must see this thread's user's latest writes
+     */
+    boolean primaryRequired() {
+        if (FORCE_PRIMARY.get() != null) {
+            return true;
+        }
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenClaims claims) {
+            return claims.userId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.senibo.financetracker.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Checks how far behind each replica is and hands out the ones that are close enough.
+ *
+ * Every check-interval each replica runs the lag query on its own pool. A
+ * replica is usable while its last check succeeded with a lag of at most
+ * maxLag; one that is too far behind, has stopped replicating or can't be
+ * reached is skipped until a later check says otherwise. Reads are spread
+ * over the usable replicas round-robin, and go to the primary when none are.
+ *
+ * The default lag query is MySQL's SHOW REPLICA STATUS (Seconds_Behind_Source).
+ * Any query whose first column is the lag in seconds works instead, e.g. one
+ * reading a heartbeat table.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String SHOW_REPLICA_STATUS = "SHOW REPLICA STATUS";
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final boolean replicaStatusQuery;
+    private final long maxLagSeconds;
+    private final Duration checkInterval;
+    private final Map<String, Double> lastLag = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Not synchronized: checks do JDBC I/O on a virtual thread
+    private final ReentrantLock checkLock = new ReentrantLock();
+
+    private volatile List<String> usable = List.of();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, String lagQuery, long maxLagSeconds,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.replicaStatusQuery = lagQuery == null || lagQuery.isBlank();
+        this.lagQuery = replicaStatusQuery ? SHOW_REPLICA_STATUS : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkInterval = checkInterval;
+        replicas.keySet().forEach(name -> {
+            lastLag.put(name, Double.NaN);
+            Gauge.builder("datasource.replica.lag", lastLag, lags -> lags.getOrDefault(name, Double.NaN))
+                    .description("Seconds the replica is behind the primary (NaN = unknown or not replicating)")
+                    .baseUnit("seconds")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Checks every replica once, then keeps checking in the background
+     */
+    public void start() {
+        checkNow();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("replica-lag-", 0).factory());
+        scheduler.scheduleWithFixedDelay(this::checkSafely,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * A replica to read from, or null if none is usable
+     */
+    public String pickReplica() {
+        List<String> candidates = usable;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    public void checkNow() {
+        checkLock.lock();
+        try {
+            checkReplicas();
+        } finally {
+            checkLock.unlock();
+        }
+    }
+
+    private void checkReplicas() {
+        List<String> ok = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            Double lag = null;
+            try {
+                lag = queryLag(dataSource);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Replica {} lag check failed: {}", name, e.getMessage());
+            }
+            boolean wasUsable = usable.contains(name);
+            boolean isUsable = lag != null && lag <= maxLagSeconds;
+            if (isUsable) {
+                ok.add(name);
+            }
+            if (wasUsable && !isUsable) {
+                log.warn("Replica {} taken out of rotation (lag {} s, max {} s)", name, lag, maxLagSeconds);
+            } else if (!wasUsable && isUsable) {
+                log.info("Replica {} in rotation (lag {} s)", name, lag);
+            }
+            lastLag.put(name, lag == null ? Double.NaN : lag);
+        });
+        usable = List.copyOf(ok);
+    }
+
+    private void checkSafely() {
+        try {
+            checkNow();
+        } catch (RuntimeException e) {
+            log.error("Replica lag check round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lag in seconds, or null if the replica isn't replicating
+     */
+    private Double queryLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Object lag = replicaStatusQuery
+                        ? resultSet.getObject("Seconds_Behind_Source")
+                        : resultSet.getObject(1);
+                return lag == null ? null : Double.valueOf(lag.toString());
+            }
+        }
+    }
+}
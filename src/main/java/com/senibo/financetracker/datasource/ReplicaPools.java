@@ -0,0 +1,29 @@
+package com.senibo.financetracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The replica connection pools by name, closed together on shutdown.
+ * Not a Map bean, so it can't be confused with Spring's map of all DataSource beans.
+ */
+public final class ReplicaPools implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools;
+
+    public ReplicaPools(Map<String, HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
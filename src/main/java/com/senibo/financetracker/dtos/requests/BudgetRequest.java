@@ -0,0 +1,20 @@
+package com.senibo.financetracker.dtos.requests;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+
+public record BudgetRequest(
+        @NotBlank(message = "Category is required")
+        @Size(max = 50, message = "Category must not exceed 50 characters")
+        String category,
+
+        @NotBlank(message = "Currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD")
+        String currency,
+
+        @NotNull(message = "Monthly limit is required")
+        @Positive(message = "Monthly limit must be positive")
+        @Digits(integer = 15, fraction = 4, message = "Monthly limit must have at most 15 digits and 4 decimals")
+        BigDecimal monthlyLimit
+) {}
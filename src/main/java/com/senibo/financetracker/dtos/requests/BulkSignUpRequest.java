@@ -0,0 +1,20 @@
+package com.senibo.financetracker.dtos.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Every password is BCrypt-hashed inside the request, at roughly 100 ms of
+ * CPU each. 500 users keeps a request to about 25 s on a two-core server,
+ * inside common proxy and client timeouts; larger imports are sent in parts.
+ */
+public record BulkSignUpRequest(
+        @NotEmpty(message = "At least one user is required")
+        @Size(max = BulkSignUpRequest.MAX_USERS, message = "At most 500 users can be imported per request")
+        List<@Valid SignUpRequest> users
+) {
+    public static final int MAX_USERS = 500;
+}
@@ -0,0 +1,22 @@
+package com.senibo.financetracker.dtos.requests;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * Body for creating or changing a categorization rule. Transactions whose
+ * description contains pattern as whole words (case and accents ignored) get
+ * category. When several rules match, the highest priority wins.
+ */
+public record CategoryRuleRequest(
+        @NotBlank(message = "Pattern is required")
+        @Size(max = 100, message = "Pattern must not exceed 100 characters")
+        String pattern,
+
+        @NotBlank(message = "Category is required")
+        @Size(max = 50, message = "Category must not exceed 50 characters")
+        String category,
+
+        @Min(value = -1000, message = "Priority must be between -1000 and 1000")
+        @Max(value = 1000, message = "Priority must be between -1000 and 1000")
+        Integer priority
+) {}
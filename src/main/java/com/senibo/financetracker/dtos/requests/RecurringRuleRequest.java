@@ -0,0 +1,39 @@
+package com.senibo.financetracker.dtos.requests;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Body for creating or changing a recurring transaction.
+ *
+ * schedule uses RRULE syntax, e.g. "FREQ=MONTHLY;INTERVAL=1" or
+ * "FREQ=WEEKLY;INTERVAL=2;COUNT=10". The first transaction posts at startAt.
+ * active = false pauses the rule; occurrences missed while paused are skipped.
+ */
+public record RecurringRuleRequest(
+        @NotNull(message = "Amount is required")
+        @Digits(integer = 15, fraction = 4, message = "Amount must have at most 15 digits and 4 decimals")
+        BigDecimal amount,
+
+        @NotBlank(message = "Currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD")
+        String currency,
+
+        @NotBlank(message = "Category is required")
+        @Size(max = 50, message = "Category must not exceed 50 characters")
+        String category,
+
+        @Size(max = 255, message = "Description must not exceed 255 characters")
+        String description,
+
+        @NotBlank(message = "Schedule is required")
+        @Size(max = 200, message = "Schedule must not exceed 200 characters")
+        String schedule,
+
+        @NotNull(message = "Start is required")
+        LocalDateTime startAt,
+
+        Boolean active
+) {}
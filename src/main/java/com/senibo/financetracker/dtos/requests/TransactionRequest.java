@@ -0,0 +1,29 @@
+package com.senibo.financetracker.dtos.requests;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Body for creating or replacing a transaction. Negative amounts are expenses.
+ * Without a category, the user's categorization rules pick one.
+ */
+public record TransactionRequest(
+        @NotNull(message = "Amount is required")
+        @Digits(integer = 15, fraction = 4, message = "Amount must have at most 15 digits and 4 decimals")
+        BigDecimal amount,
+
+        @NotBlank(message = "Currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code, e.g. USD")
+        String currency,
+
+        @Size(max = 50, message = "Category must not exceed 50 characters")
+        String category,
+
+        @NotNull(message = "Date is required")
+        LocalDateTime occurredAt,
+
+        @Size(max = 255, message = "Description must not exceed 255 characters")
+        String description
+) {}
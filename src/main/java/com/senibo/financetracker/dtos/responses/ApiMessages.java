@@ -0,0 +1,37 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.util.List;
+
+/**
+ * Fixed messages of the responses that carry no data, e.g. "Transaction deleted".
+ *
+ * Their JSON never changes apart from the timestamp, so PreEncodedApiResponses
+ * encodes each one once at startup instead of running Jackson on every request.
+ * Only add constants here: a message built from request data belongs in a
+ * regular ApiResponse.success(data, message).
+ */
+public final class ApiMessages {
+
+    public static final String USER_REGISTERED =
+            "User registered successfully! Please check your email for verification code.";
+    public static final String EMAIL_VERIFIED = "Email verified successfully! You can now sign in.";
+    public static final String VERIFICATION_CODE_SENT = "Verification code sent successfully!";
+    public static final String TRANSACTION_DELETED = "Transaction deleted";
+    public static final String BUDGET_DELETED = "Budget deleted";
+    public static final String RECURRING_RULE_DELETED = "Recurring transaction deleted";
+    public static final String CATEGORY_RULE_DELETED = "Category rule deleted";
+    public static final String GLOBAL_CATEGORY_RULE_DELETED = "Global category rule deleted";
+
+    public static final List<String> ALL = List.of(
+            USER_REGISTERED,
+            EMAIL_VERIFIED,
+            VERIFICATION_CODE_SENT,
+            TRANSACTION_DELETED,
+            BUDGET_DELETED,
+            RECURRING_RULE_DELETED,
+            CATEGORY_RULE_DELETED,
+            GLOBAL_CATEGORY_RULE_DELETED);
+
+    private ApiMessages() {
+    }
+}
@@ -99,10 +99,20 @@ public record ApiResponse<T>(
          */
         public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
         public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+        public static final String TRANSACTION_NOT_FOUND = "TRANSACTION_NOT_FOUND";
+        public static final String BUDGET_NOT_FOUND = "BUDGET_NOT_FOUND";
+        public static final String RECURRING_RULE_NOT_FOUND = "RECURRING_RULE_NOT_FOUND";
+        public static final String CATEGORY_RULE_NOT_FOUND = "CATEGORY_RULE_NOT_FOUND";
+        public static final String DUPLICATE_BUDGET = "DUPLICATE_BUDGET";
+        public static final String DUPLICATE_CATEGORY_RULE = "DUPLICATE_CATEGORY_RULE";
         public static final String DUPLICATE_USERNAME = "DUPLICATE_USERNAME";
         public static final String DUPLICATE_EMAIL = "DUPLICATE_EMAIL";
         public static final String INVALID_CREDENTIALS = "INVALID_CREDENTIALS";
         public static final String ACCOUNT_LOCKED = "ACCOUNT_LOCKED";
+        public static final String TOO_MANY_ATTEMPTS = "TOO_MANY_ATTEMPTS";
+        public static final String SERVICE_BUSY = "SERVICE_BUSY";
+        public static final String FX_NOT_CONFIGURED = "FX_NOT_CONFIGURED";
+        public static final String FX_UNAVAILABLE = "FX_UNAVAILABLE";
         public static final String INTERNAL_ERROR = "INTERNAL_ERROR";
     }
 }
@@ -0,0 +1,24 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ledger totals for one time bucket (day, week, month...), in one currency
+ */
+public record BalanceBucket(
+        LocalDate periodStart,
+        String currency,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        long count
+) {
+
+    /**
+     * Used by the JPQL constructor expression in LedgerRollupRepository
+     */
+    public BalanceBucket(LocalDate periodStart, String currency, BigDecimal inflow, BigDecimal outflow, Long count) {
+        this(periodStart, currency, inflow, outflow, inflow.add(outflow), count);
+    }
+}
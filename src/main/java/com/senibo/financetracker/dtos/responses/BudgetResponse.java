@@ -0,0 +1,35 @@
+package com.senibo.financetracker.dtos.responses;
+
+import com.senibo.financetracker.models.Budget;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+
+/**
+ * A budget with how much of it is used this month
+ */
+public record BudgetResponse(
+        Long id,
+        String category,
+        String currency,
+        BigDecimal monthlyLimit,
+        YearMonth month,
+        BigDecimal spent,
+        BigDecimal percentUsed
+) {
+
+    public static BudgetResponse fromBudget(Budget budget, BigDecimal spent) {
+        BigDecimal percentUsed = spent.multiply(BigDecimal.valueOf(100))
+                .divide(budget.getMonthlyLimit(), 1, RoundingMode.HALF_UP);
+        return new BudgetResponse(
+                budget.getId(),
+                budget.getCategory(),
+                budget.getCurrency(),
+                budget.getMonthlyLimit(),
+                YearMonth.now(),
+                spent,
+                percentUsed
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.util.List;
+
+/**
+ * Result of a bulk user import.
+ *
+ * Duplicates don't fail the whole import - they are skipped and reported back
+ * so the caller can fix and resubmit just those rows.
+ *
+ * When the password hashing pool is saturated the import stops early instead
+ * of failing: rows already created stay created, and every row that was not
+ * attempted is listed in notProcessed (code SERVICE_BUSY) for a later retry.
+ */
+public record BulkSignUpResponse(
+        int requested,
+        int created,
+        List<SkippedUser> skipped,
+        List<SkippedUser> notProcessed
+) {
+
+    public boolean complete() {
+        return notProcessed.isEmpty();
+    }
+
+    public record SkippedUser(
+            String email,
+            String username,
+            String code          // DUPLICATE_EMAIL, DUPLICATE_USERNAME or SERVICE_BUSY
+    ) {}
+}
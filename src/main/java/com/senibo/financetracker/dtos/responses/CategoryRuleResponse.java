@@ -0,0 +1,25 @@
+package com.senibo.financetracker.dtos.responses;
+
+import com.senibo.financetracker.models.CategoryRule;
+
+/**
+ * A categorization rule; global is true for rules that apply to every user
+ */
+public record CategoryRuleResponse(
+        Long id,
+        String pattern,
+        String category,
+        int priority,
+        boolean global
+) {
+
+    public static CategoryRuleResponse fromRule(CategoryRule rule) {
+        return new CategoryRuleResponse(
+                rule.getId(),
+                rule.getPattern(),
+                rule.getCategory(),
+                rule.getPriority(),
+                rule.getUser() == null
+        );
+    }
+}
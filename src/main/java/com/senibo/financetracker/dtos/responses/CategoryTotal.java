@@ -0,0 +1,23 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.math.BigDecimal;
+
+/**
+ * Ledger totals for one category over a date range, in one currency
+ */
+public record CategoryTotal(
+        String category,
+        String currency,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        long count
+) {
+
+    /**
+     * Used by the JPQL constructor expression in LedgerRollupRepository
+     */
+    public CategoryTotal(String category, String currency, BigDecimal inflow, BigDecimal outflow, Long count) {
+        this(category, currency, inflow, outflow, inflow.add(outflow), count);
+    }
+}
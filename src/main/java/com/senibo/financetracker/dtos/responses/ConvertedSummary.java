@@ -0,0 +1,25 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ledger totals over a date range with every currency converted into one,
+ * each transaction at the rate of its own date
+ *
+ * @param unconvertedCount transactions left out because there was no rate for their currency and date
+ * @param missingRates     the currencies those transactions were in
+ */
+public record ConvertedSummary(
+        String currency,
+        String category,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        long count,
+        long unconvertedCount,
+        List<String> missingRates
+) {}
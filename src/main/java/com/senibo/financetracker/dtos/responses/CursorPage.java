@@ -0,0 +1,14 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * nextCursor is null on the last page; otherwise pass it back as the
+ * "cursor" parameter to get the next page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {}
@@ -0,0 +1,14 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The FX rate table currently in use
+ */
+public record FxTableResponse(
+        String base,
+        LocalDate firstDate,
+        LocalDate lastDate,
+        List<String> currencies
+) {}
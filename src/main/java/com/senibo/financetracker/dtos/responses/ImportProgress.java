@@ -0,0 +1,28 @@
+package com.senibo.financetracker.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Progress of a statement import, streamed to the client after every batch.
+ *
+ * The last update has done = true and lists the first rejected rows; message
+ * is set if the import stopped early. Rows from batches reported before that
+ * are already saved.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportProgress(
+        long rowsRead,
+        long imported,
+        long rejected,
+        boolean done,
+        String message,
+        List<RejectedRow> errors
+) {
+
+    /**
+     * @param position line number (CSV) or transaction number (OFX)
+     */
+    public record RejectedRow(long position, String message) {}
+}
@@ -0,0 +1,36 @@
+package com.senibo.financetracker.dtos.responses;
+
+import com.senibo.financetracker.models.RecurringRule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A recurring transaction. nextRunAt is null when the rule is paused or has ended.
+ */
+public record RecurringRuleResponse(
+        Long id,
+        BigDecimal amount,
+        String currency,
+        String category,
+        String description,
+        String schedule,
+        LocalDateTime startAt,
+        LocalDateTime nextRunAt,
+        boolean active
+) {
+
+    public static RecurringRuleResponse fromRule(RecurringRule rule) {
+        return new RecurringRuleResponse(
+                rule.getId(),
+                rule.getAmount(),
+                rule.getCurrency(),
+                rule.getCategory(),
+                rule.getDescription(),
+                rule.getSchedule().toString(),
+                rule.getStartAt(),
+                rule.getNextRunAt(),
+                rule.isActive()
+        );
+    }
+}
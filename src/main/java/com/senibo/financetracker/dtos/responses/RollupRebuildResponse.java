@@ -0,0 +1,8 @@
+package com.senibo.financetracker.dtos.responses;
+
+public record RollupRebuildResponse(
+        int users,
+        int chunks,
+        long dayBuckets,
+        long durationMs
+) {}
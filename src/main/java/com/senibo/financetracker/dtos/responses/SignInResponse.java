@@ -16,9 +16,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 public record SignInResponse(
         String message,
         UserResponse user,      // Now THIS is where UserResponse makes sense
-        String token,          // Will be null for now, populated when you add JWT
+        String token,          // Signed JWT access token
         String refreshToken,   // Future-proofing for when you implement refresh tokens
-        Long expiresIn        // Token expiration time in seconds (future use)
+        Long expiresIn        // Token expiration time in seconds
 ) {
     /**
      * Factory method for current simple authentication (without JWT)
@@ -36,7 +36,7 @@ public record SignInResponse(
     }
 
     /**
-     * Factory method for full JWT implementation with refresh tokens (future use)
+     * Factory method for JWT sign-in (refreshToken may be null until refresh tokens exist)
      */
     public static SignInResponse successWithTokens(UserResponse user, String token, String refreshToken, Long expiresIn) {
         return new SignInResponse(
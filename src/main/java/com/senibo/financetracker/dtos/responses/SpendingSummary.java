@@ -0,0 +1,23 @@
+package com.senibo.financetracker.dtos.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ledger totals and averages over a date range, in one currency
+ *
+ * @param averageAmount       mean of all transactions (net / count)
+ * @param averageDailyOutflow outflow spread over every day in the range
+ */
+public record SpendingSummary(
+        String currency,
+        String category,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        long count,
+        BigDecimal averageAmount,
+        BigDecimal averageDailyOutflow
+) {}
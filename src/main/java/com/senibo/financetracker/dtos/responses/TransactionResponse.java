@@ -0,0 +1,31 @@
+package com.senibo.financetracker.dtos.responses;
+
+import com.senibo.financetracker.models.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransactionResponse(
+        Long id,
+        BigDecimal amount,
+        String currency,
+        String category,
+        LocalDateTime occurredAt,
+        String description,
+        LocalDateTime createdDate,
+        LocalDateTime updatedDate
+) {
+
+    public static TransactionResponse fromTransaction(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getCategory(),
+                transaction.getOccurredAt(),
+                transaction.getDescription(),
+                transaction.getCreatedDate(),
+                transaction.getUpdatedDate()
+        );
+    }
+}
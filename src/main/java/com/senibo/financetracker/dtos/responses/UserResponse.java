@@ -2,6 +2,7 @@ package com.senibo.financetracker.dtos.responses;
 
 import com.senibo.financetracker.models.AppRole;
 import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
 
 import java.time.LocalDateTime;
 
@@ -45,6 +46,23 @@ public record UserResponse(
         );
     }
 
+    /**
+     * Same conversion from the lean sign-in projection, so sign-in doesn't
+     * need to load the full entity just to build the response.
+     */
+    public static UserResponse fromUser(UserAuthView user) {
+        return new UserResponse(
+                user.email(),
+                user.username(),
+                user.firstName(),
+                user.lastName(),
+                user.roleName(),
+                user.twoFactorEnabled(),
+                user.createdDate(),
+                user.updatedDate()
+        );
+    }
+
     /**
      * You might want a version without sensitive timing information
      * for public profiles or search results
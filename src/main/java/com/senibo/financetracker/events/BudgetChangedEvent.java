@@ -0,0 +1,8 @@
+package com.senibo.financetracker.events;
+
+/**
+ * Published whenever a budget is created, updated or deleted, so the budget
+ * engine can drop what it holds in memory for that user.
+ */
+public record BudgetChangedEvent(Long userId, Long budgetId) {
+}
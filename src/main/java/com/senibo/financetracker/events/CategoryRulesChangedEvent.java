@@ -0,0 +1,10 @@
+package com.senibo.financetracker.events;
+
+/**
+ * Published whenever a categorization rule is created, updated or deleted, so
+ * the compiled matcher for its owner is rebuilt.
+ *
+ * @param userId owner of the rule, or null for a global rule
+ */
+public record CategoryRulesChangedEvent(Long userId) {
+}
@@ -0,0 +1,28 @@
+package com.senibo.financetracker.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by LedgerRollupWriter for every ledger write (create, update,
+ * delete, import batch), with the change in spending per user, category,
+ * currency and month, and the individual rows that were added or removed.
+ */
+public record LedgerChangedEvent(List<SpendChange> changes, List<EntryChange> entries) {
+
+    /**
+     * @param month       first day of the month
+     * @param outflowDelta change in the month's outflow; negative means more was spent
+     */
+    public record SpendChange(Long userId, String category, String currency, LocalDate month, BigDecimal outflowDelta) {
+    }
+
+    /**
+     * One transaction row as it was added or removed. An update is a removal
+     * of the old state followed by an addition of the new one.
+     */
+    public record EntryChange(boolean removed, Long transactionId, Long userId, LocalDate date,
+                              String currency, String category, BigDecimal amount, String description) {
+    }
+}
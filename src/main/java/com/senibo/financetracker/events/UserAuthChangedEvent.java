@@ -0,0 +1,9 @@
+package com.senibo.financetracker.events;
+
+/**
+ * Published whenever something sign-in checks changes on a user: verification,
+ * password, lockout or role. Cached copies of their UserAuthView are dropped
+ * once the change commits.
+ */
+public record UserAuthChangedEvent(Long userId, String username, String email) {
+}
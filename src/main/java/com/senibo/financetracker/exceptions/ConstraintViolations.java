@@ -0,0 +1,70 @@
+package com.senibo.financetracker.exceptions;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.models.Budget;
+import com.senibo.financetracker.models.CategoryRule;
+import com.senibo.financetracker.models.User;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Maps unique-key violations to API error codes by the name of the violated constraint.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * @return DUPLICATE_EMAIL, DUPLICATE_USERNAME, DUPLICATE_BUDGET, DUPLICATE_CATEGORY_RULE,
+     *         or null if the exception is not a violation of one of those unique constraints
+     */
+    public static String duplicateCodeFor(Throwable ex) {
+        String constraint = violatedConstraint(ex);
+        if (constraint == null) {
+            return null;
+        }
+        if (constraint.contains(User.UK_EMAIL)) {
+            return ApiError.DUPLICATE_EMAIL;
+        }
+        if (constraint.contains(User.UK_USERNAME)) {
+            return ApiError.DUPLICATE_USERNAME;
+        }
+        if (constraint.contains(Budget.UK_CATEGORY)) {
+            return ApiError.DUPLICATE_BUDGET;
+        }
+        if (constraint.contains(CategoryRule.UK_PATTERN)) {
+            return ApiError.DUPLICATE_CATEGORY_RULE;
+        }
+        return null;
+    }
+
+    /**
+     * Whether the exception is a violation of this particular constraint
+     */
+    public static boolean violates(Throwable ex, String constraintName) {
+        String constraint = violatedConstraint(ex);
+        return constraint != null && constraint.contains(constraintName);
+    }
+
+    /**
+     * Through JPA, Hibernate has already extracted the constraint name for the dialect.
+     * Through plain JDBC only the driver message is available, which names the
+     * constraint too ("for key 'users.uk_users_email'" on MySQL). Either way the
+     * name may be qualified or upper-cased, hence the lower-casing and contains().
+     */
+    private static String violatedConstraint(Throwable ex) {
+        String sqlMessage = null;
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+            if (sqlMessage == null && cause instanceof SQLException sql && sql.getMessage() != null) {
+                sqlMessage = sql.getMessage().toLowerCase(Locale.ROOT);
+            }
+        }
+        return sqlMessage;
+    }
+}
@@ -0,0 +1,23 @@
+package com.senibo.financetracker.exceptions;
+
+/**
+ * Thrown when the FX rate table can't be (re)loaded.
+ *
+ * The code says whether the server has no rate file configured
+ * (FX_NOT_CONFIGURED, a 409: nothing to reload) or the file couldn't be read
+ * (FX_UNAVAILABLE, a 503: the old table stays in use). The message never
+ * names the file; FxRates logs the path and cause.
+ */
+public class FxRatesUnavailableException extends RuntimeException {
+
+    private final String code;
+
+    public FxRatesUnavailableException(String code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
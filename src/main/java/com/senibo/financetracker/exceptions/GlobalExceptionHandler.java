@@ -3,8 +3,11 @@ package com.senibo.financetracker.exceptions;
 
 import com.senibo.financetracker.dtos.responses.ApiResponse;
 import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,8 +18,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     /**
      * Handles validation errors from @Valid annotations on request DTOs
      */
@@ -34,6 +40,8 @@ public class GlobalExceptionHandler {
                 validationErrors
         );
 
+        countError(error, HttpStatus.BAD_REQUEST);
+
         return ResponseEntity.badRequest().body(ApiResponse.error(error));
     }
 
@@ -57,11 +65,16 @@ public class GlobalExceptionHandler {
                 validationErrors
         );
 
+        countError(error, HttpStatus.BAD_REQUEST);
+
         return ResponseEntity.badRequest().body(ApiResponse.error(error));
     }
 
     /**
      * Handles database constraint violations (unique constraints, etc.)
+     *
+     * Decided by the name of the violated constraint (see ConstraintViolations)
+     * rather than by guessing from words like "email" in the error message.
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiResponse<Void>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
@@ -69,16 +82,23 @@ public class GlobalExceptionHandler {
         String message = "Data integrity violation";
         String code = ApiError.VALIDATION_ERROR;
 
-        // Check for common constraint violations
-        if (ex.getMessage().contains("email")) {
+        String duplicateCode = ConstraintViolations.duplicateCodeFor(ex);
+        if (ApiError.DUPLICATE_EMAIL.equals(duplicateCode)) {
             message = "Email address already exists";
             code = ApiError.DUPLICATE_EMAIL;
-        } else if (ex.getMessage().contains("username")) {
+        } else if (ApiError.DUPLICATE_USERNAME.equals(duplicateCode)) {
             message = "Username already exists";
             code = ApiError.DUPLICATE_USERNAME;
+        } else if (ApiError.DUPLICATE_BUDGET.equals(duplicateCode)) {
+            message = "A budget for this category and currency already exists";
+            code = ApiError.DUPLICATE_BUDGET;
+        } else if (ApiError.DUPLICATE_CATEGORY_RULE.equals(duplicateCode)) {
+            message = "A rule with this pattern already exists";
+            code = ApiError.DUPLICATE_CATEGORY_RULE;
         }
 
         ApiError error = new ApiError(code, message);
+        countError(error, HttpStatus.BAD_REQUEST);
         return ResponseEntity.badRequest().body(ApiResponse.error(error));
     }
 
@@ -88,6 +108,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
         ApiError error = new ApiError(ApiError.VALIDATION_ERROR, ex.getMessage());
+        countError(error, HttpStatus.BAD_REQUEST);
         return ResponseEntity.badRequest().body(ApiResponse.error(error));
     }
 
@@ -97,9 +118,67 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalState(IllegalStateException ex) {
         ApiError error = new ApiError(ApiError.ACCOUNT_LOCKED, ex.getMessage());
+        countError(error, HttpStatus.BAD_REQUEST);
         return ResponseEntity.badRequest().body(ApiResponse.error(error));
     }
 
+    /**
+     * Handles lookups of records that don't exist or aren't the caller's
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(ResourceNotFoundException ex) {
+        ApiError error = new ApiError(ex.getCode(), ex.getMessage());
+        countError(error, HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(error));
+    }
+
+    /**
+     * Handles login attempts over the rate limit
+     */
+    @ExceptionHandler(TooManyAttemptsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyAttempts(TooManyAttemptsException ex) {
+        ApiError error = new ApiError(ApiError.TOO_MANY_ATTEMPTS, ex.getMessage());
+        countError(error, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(error));
+    }
+
+    /**
+     * Handles saturation of bounded resources (e.g. the password hashing pool)
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusy(ServiceBusyException ex) {
+        ApiError error = new ApiError(ApiError.SERVICE_BUSY, ex.getMessage());
+        countError(error, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(error));
+    }
+
+    /**
+     * Handles an FX rate reload that can't happen (409) or failed to read the file (503)
+     */
+    @ExceptionHandler(FxRatesUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleFxRatesUnavailable(FxRatesUnavailableException ex) {
+        HttpStatus status = ApiError.FX_NOT_CONFIGURED.equals(ex.getCode())
+                ? HttpStatus.CONFLICT
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        ApiError error = new ApiError(ex.getCode(), ex.getMessage());
+        countError(error, status);
+        return ResponseEntity.status(status).body(ApiResponse.error(error));
+    }
+
+    /**
+     * Handles failures of server-side operations; the message is safe to show, the cause is logged where thrown
+     */
+    @ExceptionHandler(OperationFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOperationFailed(OperationFailedException ex) {
+        ApiError error = new ApiError(ApiError.INTERNAL_ERROR, ex.getMessage());
+        countError(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(error));
+    }
+
     /**
      * Catches any other unexpected exceptions
      */
@@ -110,7 +189,18 @@ public class GlobalExceptionHandler {
                 "An unexpected error occurred",
                 ex.getMessage()
         );
+        countError(error, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error(error));
     }
+
+    /**
+     * Counts every error response by code and status ("api.errors"), so a spike
+     * in e.g. INVALID_CREDENTIALS or SERVICE_BUSY shows up on the dashboards.
+     */
+    private void countError(ApiError error, HttpStatus status) {
+        meterRegistry.counter("api.errors",
+                "code", error.code(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
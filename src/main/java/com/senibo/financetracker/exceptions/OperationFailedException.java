@@ -0,0 +1,16 @@
+package com.senibo.financetracker.exceptions;
+
+/**
+ * Thrown when a server-side operation (e.g. an admin rollup rebuild) fails
+ * for reasons the caller can't fix.
+ *
+ * The message is shown to the caller as is, so it must not carry driver or
+ * SQL text; log the cause where it is caught instead. GlobalExceptionHandler
+ * turns this into a 500 with code INTERNAL_ERROR.
+ */
+public class OperationFailedException extends RuntimeException {
+
+    public OperationFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.senibo.financetracker.exceptions;
+
+/**
+ * Thrown when a requested record does not exist, or belongs to another user.
+ *
+ * Both cases answer 404 so nobody can probe which ids exist.
+ * GlobalExceptionHandler turns this into a 404 with the given error code.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    private final String code;
+
+    public ResourceNotFoundException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,22 @@
+package com.senibo.financetracker.exceptions;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing pool) is saturated.
+ *
+ * Rejecting immediately keeps a burst of expensive requests from queueing up
+ * behind each other and starving every other endpoint. GlobalExceptionHandler
+ * turns this into a 503 with a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.senibo.financetracker.exceptions;
+
+/**
+ * Thrown when a client exceeds the login rate limit.
+ * GlobalExceptionHandler turns this into a 429 with a Retry-After header.
+ */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
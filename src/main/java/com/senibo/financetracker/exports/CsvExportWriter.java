@@ -0,0 +1,82 @@
+package com.senibo.financetracker.exports;
+
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV. The column names match what CsvStatementParser reads, so an
+ * export can be imported again as-is.
+ *
+ * Category and description are user input, and spreadsheets run a cell that
+ * starts with =, +, -, @, tab or CR as a formula. Such fields are written
+ * quoted with a leading ' so they open as text; CsvStatementParser drops
+ * the ' again on import.
+ */
+class CsvExportWriter implements TransactionExportWriter {
+
+    private static final String HEADER = "id,date,amount,currency,category,description";
+
+    private final BufferedWriter writer;
+
+    CsvExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(TransactionResponse transaction) throws IOException {
+        writer.write(String.valueOf(transaction.id()));
+        writer.write(',');
+        writer.write(transaction.occurredAt().toString());
+        writer.write(',');
+        writer.write(transaction.amount().toPlainString());
+        writer.write(',');
+        writer.write(transaction.currency());
+        writer.write(',');
+        writeField(transaction.category());
+        writer.write(',');
+        writeField(transaction.description());
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean formula = startsLikeFormula(value);
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char c = value.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
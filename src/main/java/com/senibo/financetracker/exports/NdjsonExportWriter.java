@@ -0,0 +1,39 @@
+package com.senibo.financetracker.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, same shape as the transactions API.
+ *
+ * A single JsonGenerator is reused for every row, so nothing is built per row
+ * beyond the row itself.
+ */
+class NdjsonExportWriter implements TransactionExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Leave the response stream open for the caller
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setCodec(objectMapper);
+        // Jackson separates root values with a space by default; rows end with '\n' instead
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(TransactionResponse transaction) throws IOException {
+        generator.writeObject(transaction);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
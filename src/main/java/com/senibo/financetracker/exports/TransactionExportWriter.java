@@ -0,0 +1,17 @@
+package com.senibo.financetracker.exports;
+
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported transactions straight to an output stream, one at a time.
+ *
+ * close() flushes whatever is buffered but leaves the underlying stream
+ * open; the caller owns it.
+ */
+public interface TransactionExportWriter extends Closeable {
+
+    void write(TransactionResponse transaction) throws IOException;
+}
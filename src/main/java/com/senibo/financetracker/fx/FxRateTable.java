@@ -0,0 +1,170 @@
+package com.senibo.financetracker.fx;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historical daily FX rates, memory-mapped from the file FxRateTableCompiler writes.
+ *
+ * The file is a matrix with one row per currency and one column per day, each
+ * cell the price of one unit of the base currency in that currency as a long
+ * in units of 10^-10 (0 = no rate yet). A lookup is a hash map hit for the
+ * currency's row and one read at row * days + (day - firstDay), so converting
+ * a report costs no I/O beyond the pages it touches and no heap beyond the
+ * currency codes.
+ *
+ * Dates after the last day in the file use the last day's rates, so
+ * transactions made since the file was last refreshed still convert.
+ *
+ * Layout (big-endian): magic, version, first epoch day, day count, currency
+ * count (ints), the currency codes (3 ASCII bytes each, base first), padding
+ * to a multiple of 8, then the matrix.
+ */
+public final class FxRateTable {
+
+    static final int MAGIC = 0x46585254; // "FXRT"
+    static final int VERSION = 1;
+    static final int SCALE = 10;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final MappedByteBuffer data;
+    private final String base;
+    private final int firstDay;
+    private final int dayCount;
+    private final Map<String, Integer> rowByCurrency;
+    private final List<String> currencies;
+    private final int matrixOffset;
+
+    private FxRateTable(MappedByteBuffer data, List<String> currencies, int firstDay, int dayCount) {
+        this.data = data;
+        this.currencies = Collections.unmodifiableList(currencies);
+        this.base = currencies.isEmpty() ? null : currencies.get(0);
+        this.firstDay = firstDay;
+        this.dayCount = dayCount;
+        this.rowByCurrency = new HashMap<>();
+        for (int i = 0; i < currencies.size(); i++) {
+            rowByCurrency.put(currencies.get(i), i);
+        }
+        this.matrixOffset = matrixOffset(currencies.size());
+    }
+
+    /**
+     * A table with no rates, used when no rate file is configured
+     */
+    public static FxRateTable empty() {
+        return new FxRateTable(null, new ArrayList<>(), 0, 0);
+    }
+
+    public static FxRateTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("FX rate table " + file + " is too large to map");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                throw new IOException("Not an FX rate table (version " + VERSION + "): " + file);
+            }
+            int firstDay = data.getInt(8);
+            int dayCount = data.getInt(12);
+            int currencyCount = data.getInt(16);
+            checkSize(currencyCount, dayCount);
+            if (size != matrixOffset(currencyCount) + (long) currencyCount * dayCount * Long.BYTES) {
+                throw new IOException("Corrupt FX rate table " + file + ": size does not match its header");
+            }
+            List<String> currencies = new ArrayList<>(currencyCount);
+            byte[] code = new byte[3];
+            for (int i = 0; i < currencyCount; i++) {
+                data.get(HEADER_BYTES + i * 3, code);
+                currencies.add(new String(code, StandardCharsets.US_ASCII));
+            }
+            // The mapping stays valid after the channel is closed
+            return new FxRateTable(data, currencies, firstDay, dayCount);
+        }
+    }
+
+    public String base() {
+        return base;
+    }
+
+    public List<String> currencies() {
+        return currencies;
+    }
+
+    public LocalDate firstDate() {
+        return dayCount == 0 ? null : LocalDate.ofEpochDay(firstDay);
+    }
+
+    public LocalDate lastDate() {
+        return dayCount == 0 ? null : LocalDate.ofEpochDay(firstDay + dayCount - 1L);
+    }
+
+    public boolean isEmpty() {
+        return dayCount == 0;
+    }
+
+    /**
+     * Price of one unit of the base currency in this currency on this date,
+     * or null if the table has no rate for it.
+     */
+    public BigDecimal rate(String currency, LocalDate date) {
+        long units = rateUnits(currency, date.toEpochDay());
+        return units == 0 ? null : BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * What one unit of "from" is worth in "to" on this epoch day, or null if
+     * either rate is missing.
+     */
+    public BigDecimal factor(String from, String to, long epochDay) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        long fromUnits = rateUnits(from, epochDay);
+        long toUnits = rateUnits(to, epochDay);
+        if (fromUnits == 0 || toUnits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(toUnits).divide(BigDecimal.valueOf(fromUnits), PRECISION);
+    }
+
+    private long rateUnits(String currency, long epochDay) {
+        Integer row = rowByCurrency.get(currency);
+        if (row == null || epochDay < firstDay) {
+            return 0;
+        }
+        long column = Math.min(epochDay - firstDay, dayCount - 1L);
+        return data.getLong(matrixOffset + (int) (((long) row * dayCount + column) * Long.BYTES));
+    }
+
+    static long toUnits(BigDecimal rate) {
+        return rate.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static int matrixOffset(int currencyCount) {
+        int end = HEADER_BYTES + currencyCount * 3;
+        return (end + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+    }
+
+    static void checkSize(int currencyCount, int dayCount) throws IOException {
+        if (currencyCount <= 0 || currencyCount > Short.MAX_VALUE || dayCount <= 0
+                || matrixOffset(currencyCount) + (long) currencyCount * dayCount * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IOException("FX rate table must have 1 to " + Integer.MAX_VALUE
+                    + " bytes of rates, got " + currencyCount + " currencies x " + dayCount + " days");
+        }
+    }
+}
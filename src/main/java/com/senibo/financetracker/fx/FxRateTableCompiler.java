@@ -0,0 +1,140 @@
+package com.senibo.financetracker.fx;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Converts a CSV of daily reference rates into the binary table read by FxRateTable.
+ *
+ * Input lines look like "2024-05-02,USD,1.0702" and give the price of one unit
+ * of the base currency in that currency (the way the ECB publishes its euro
+ * reference rates). Lines may come in any order; a header line and blank
+ * lines are skipped. The base currency itself always has rate 1.
+ *
+ * Days without a quote (weekends, holidays) take the last earlier quote of
+ * the same currency, so the table has a rate for every day from a currency's
+ * first quote to the last date in the file.
+ *
+ * The output is written to a temporary file and then renamed over the target,
+ * so a running application never maps a half-written table.
+ *
+ * Usage: java -cp app.jar com.senibo.financetracker.fx.FxRateTableCompiler EUR eurofxref-hist.csv fx-rates.bin
+ */
+public final class FxRateTableCompiler {
+
+    private FxRateTableCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: FxRateTableCompiler <base currency> <rates.csv> <output.bin>");
+            System.exit(1);
+        }
+        int currencies = compile(args[0], Path.of(args[1]), Path.of(args[2]));
+        System.out.println("Wrote rates for " + currencies + " currencies to " + args[2]);
+    }
+
+    /**
+     * @return the number of currencies in the table, including the base currency
+     */
+    public static int compile(String base, Path input, Path output) throws IOException {
+        checkCode(base);
+        Map<String, TreeMap<Integer, Long>> quotes = new TreeMap<>();
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || (lineNumber == 1 && !Character.isDigit(line.charAt(0)))) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IOException("Line " + lineNumber + ": expected date,currency,rate");
+                }
+                int day;
+                long rate;
+                try {
+                    day = (int) LocalDate.parse(fields[0].strip()).toEpochDay();
+                    rate = FxRateTable.toUnits(new BigDecimal(fields[2].strip()));
+                } catch (DateTimeParseException | ArithmeticException | NumberFormatException e) {
+                    throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (rate <= 0) {
+                    throw new IOException("Line " + lineNumber + ": rate must be positive");
+                }
+                String currency = fields[1].strip();
+                checkCode(currency);
+                quotes.computeIfAbsent(currency, c -> new TreeMap<>()).put(day, rate);
+                firstDay = Math.min(firstDay, day);
+                lastDay = Math.max(lastDay, day);
+            }
+        }
+        if (quotes.isEmpty()) {
+            throw new IOException("No rates in " + input);
+        }
+        quotes.remove(base);
+        String[] codes = new String[quotes.size() + 1];
+        codes[0] = base;
+        int next = 1;
+        for (String code : quotes.keySet()) {
+            codes[next++] = code;
+        }
+        int dayCount = lastDay - firstDay + 1;
+        FxRateTable.checkSize(codes.length, dayCount);
+
+        Path temp = Files.createTempFile(output.toAbsolutePath().getParent(), output.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(FxRateTable.MAGIC);
+                out.writeInt(FxRateTable.VERSION);
+                out.writeInt(firstDay);
+                out.writeInt(dayCount);
+                out.writeInt(codes.length);
+                for (String code : codes) {
+                    out.write(code.getBytes(StandardCharsets.US_ASCII));
+                }
+                for (int pad = FxRateTable.matrixOffset(codes.length) - out.size(); pad > 0; pad--) {
+                    out.writeByte(0);
+                }
+                // The base currency is worth exactly one of itself on every day
+                long one = FxRateTable.toUnits(BigDecimal.ONE);
+                for (int d = 0; d < dayCount; d++) {
+                    out.writeLong(one);
+                }
+                for (int c = 1; c < codes.length; c++) {
+                    TreeMap<Integer, Long> series = quotes.get(codes[c]);
+                    for (int d = 0; d < dayCount; d++) {
+                        Map.Entry<Integer, Long> latest = series.floorEntry(firstDay + d);
+                        out.writeLong(latest == null ? 0 : latest.getValue());
+                    }
+                }
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return codes.length;
+    }
+
+    private static void checkCode(String currency) throws IOException {
+        if (!currency.matches("[A-Z]{3}")) {
+            throw new IOException("Not a 3-letter ISO currency code: " + currency);
+        }
+    }
+}
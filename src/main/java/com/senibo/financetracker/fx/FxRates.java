@@ -0,0 +1,122 @@
+package com.senibo.financetracker.fx;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.exceptions.FxRatesUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The current FxRateTable, swapped for a new one when the rate file changes.
+ *
+ * The file's modification time is checked every reload-check-seconds, and an
+ * admin can force a reload. A reload maps the new file before publishing it,
+ * so readers always see a complete table; queries still holding the old one
+ * finish on it, and its mapping is released once nothing references it. If
+ * the new file can't be read the old table stays in use.
+ *
+ * Replace the file by renaming a new one over it (FxRateTableCompiler does),
+ * never by rewriting it in place: a mapped file that shrinks under a reader
+ * crashes the reader.
+ */
+@Component
+@Slf4j
+public class FxRates {
+
+    private final Path rateFile;
+    private final long reloadCheckSeconds;
+
+    // Not synchronized: the reload check runs on a virtual thread and does file I/O while holding the lock
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile FxRateTable table = FxRateTable.empty();
+    private FileTime loadedModifiedTime;
+    private ScheduledExecutorService scheduler;
+
+    public FxRates(@Value("${app.fx.rate-file:}") String rateFile,
+                   @Value("${app.fx.reload-check-seconds:60}") long reloadCheckSeconds) {
+        this.rateFile = rateFile.isBlank() ? null : Path.of(rateFile);
+        this.reloadCheckSeconds = reloadCheckSeconds;
+    }
+
+    @PostConstruct
+    void start() {
+        if (rateFile == null) {
+            log.info("No FX rate file configured, currency conversion is off");
+            return;
+        }
+        try {
+            reload();
+        } catch (FxRatesUnavailableException e) {
+            // Start anyway (reload() logged why); converted reports say which rates are missing until a good file appears
+        }
+        if (reloadCheckSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("fx-rates-", 0).factory());
+            scheduler.scheduleWithFixedDelay(this::reloadIfChanged, reloadCheckSeconds, reloadCheckSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public FxRateTable table() {
+        return table;
+    }
+
+    /**
+     * Maps the rate file again and starts using it
+     *
+     * @throws FxRatesUnavailableException FX_NOT_CONFIGURED if no rate file is configured,
+     *         FX_UNAVAILABLE if the file can't be read; the old table stays in use
+     */
+    public FxRateTable reload() {
+        if (rateFile == null) {
+            throw new FxRatesUnavailableException(ApiError.FX_NOT_CONFIGURED, "No FX rate file is configured", null);
+        }
+        reloadLock.lock();
+        try {
+            FileTime modified = Files.getLastModifiedTime(rateFile);
+            FxRateTable loaded = FxRateTable.open(rateFile);
+            table = loaded;
+            loadedModifiedTime = modified;
+            log.info("Loaded FX rates for {} currencies from {} to {} (base {})",
+                    loaded.currencies().size(), loaded.firstDate(), loaded.lastDate(), loaded.base());
+            return loaded;
+        } catch (IOException e) {
+            log.error("Could not load FX rates from {}: {}", rateFile, e.toString());
+            throw new FxRatesUnavailableException(ApiError.FX_UNAVAILABLE,
+                    "Could not load the FX rate file, the previous rates stay in use", e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadIfChanged() {
+        reloadLock.lock();
+        try {
+            if (!Files.getLastModifiedTime(rateFile).equals(loadedModifiedTime)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("FX rate reload check failed: {}", e.getMessage());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.senibo.financetracker.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses CSV statements with a header row.
+ *
+ * Columns are found by header name, in any order: date and amount are
+ * required; currency, category and description are optional. Dates are ISO
+ * (2025-01-31 or 2025-01-31T09:30:00). Quoted fields may contain commas,
+ * doubled quotes and line breaks, up to StatementValues.MAX_FIELD_CHARS
+ * characters per field. A ' in front of a category or description that
+ * starts with =, +, -, @, tab or CR is dropped: CsvExportWriter adds it so
+ * spreadsheets show such fields as text.
+ *
+ * Keeps the current line number as state, so use one instance per file.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private long line = 1;
+
+    @Override
+    public long parse(Reader reader, String defaultCurrency, StatementRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+        List<String> fields = new ArrayList<>();
+        line = 1;
+        long rows = 0;
+
+        if (!readRecord(in, fields)) {
+            throw new InvalidStatementException("Statement is empty");
+        }
+        Columns columns = Columns.fromHeader(fields);
+
+        long recordLine = line;
+        while (readRecord(in, fields)) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                recordLine = line;
+                continue; // blank line
+            }
+            rows++;
+            try {
+                handler.onRow(new StatementRow(
+                        StatementValues.isoDateTime(columns.get(fields, columns.date)),
+                        StatementValues.amount(columns.get(fields, columns.amount)),
+                        StatementValues.currency(columns.get(fields, columns.currency), defaultCurrency),
+                        StatementValues.category(unescapeFormula(columns.get(fields, columns.category))),
+                        StatementValues.description(unescapeFormula(columns.get(fields, columns.description)))));
+            } catch (IllegalArgumentException e) {
+                handler.onError(recordLine, e.getMessage());
+            }
+            recordLine = line;
+        }
+        return rows;
+    }
+
+    private static String unescapeFormula(String value) {
+        if (value == null || value.length() < 2 || value.charAt(0) != '\'') {
+            return value;
+        }
+        char c = value.charAt(1);
+        boolean formula = c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+        return formula ? value.substring(1) : value;
+    }
+
+    /**
+     * Reads one record (which can span lines inside quotes) into fields.
+     *
+     * @return false at end of input
+     */
+    private boolean readRecord(BufferedReader in, List<String> fields) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        append(field, '"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (field.length() >= StatementValues.MAX_FIELD_CHARS) {
+            throw new InvalidStatementException("Field longer than " + StatementValues.MAX_FIELD_CHARS
+                    + " characters at line " + line + ", is a closing quote missing?");
+        }
+        field.append((char) c);
+    }
+
+    private record Columns(int date, int amount, int currency, int category, int description) {
+
+        static Columns fromHeader(List<String> header) {
+            int date = -1, amount = -1, currency = -1, category = -1, description = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "") // byte order mark written by Excel
+                        .strip().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+                switch (name) {
+                    case "date", "occurredat", "transactiondate", "posteddate" -> date = i;
+                    case "amount" -> amount = i;
+                    case "currency" -> currency = i;
+                    case "category" -> category = i;
+                    case "description", "memo", "details", "name" -> {
+                        if (description < 0) {
+                            description = i;
+                        }
+                    }
+                    default -> {
+                        // extra columns are ignored
+                    }
+                }
+            }
+            if (date < 0 || amount < 0) {
+                throw new InvalidStatementException("CSV header must have 'date' and 'amount' columns");
+            }
+            return new Columns(date, amount, currency, category, description);
+        }
+
+        String get(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
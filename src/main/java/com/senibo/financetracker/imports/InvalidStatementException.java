@@ -0,0 +1,13 @@
+package com.senibo.financetracker.imports;
+
+/**
+ * A statement that cannot be read as a whole (empty file, missing columns,
+ * runaway field). Unlike other failures during an import, its message is
+ * written for the user and is returned to them as is.
+ */
+public class InvalidStatementException extends IllegalArgumentException {
+
+    public InvalidStatementException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,138 @@
+package com.senibo.financetracker.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses OFX/QFX statements, both the SGML (1.x) and XML (2.x) flavours.
+ *
+ * Works as a streaming tokenizer over "&lt;TAG&gt;value" pairs: SGML OFX leaves
+ * leaf elements unclosed, so the value is simply the text up to the next tag.
+ * Only the fields of the current &lt;STMTTRN&gt; are held in memory.
+ *
+ * OFX has no categories, so rows get "Uncategorized"; the description is
+ * NAME and MEMO joined.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    @Override
+    public long parse(Reader reader, String defaultCurrency, StatementRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+        String statementCurrency = defaultCurrency;
+        Map<String, String> transaction = null;
+        long transactions = 0;
+
+        StringBuilder tag = new StringBuilder();
+        StringBuilder text = new StringBuilder();
+        String openTag = null;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c != '<') {
+                if (openTag != null) {
+                    append(text, c);
+                }
+                continue;
+            }
+
+            // End of the previous element's value
+            if (openTag != null) {
+                String value = decode(text.toString().strip());
+                if (openTag.equals("CURDEF") && !value.isEmpty()) {
+                    statementCurrency = value;
+                } else if (transaction != null && !value.isEmpty()) {
+                    transaction.put(openTag, value);
+                }
+                openTag = null;
+                text.setLength(0);
+            }
+
+            tag.setLength(0);
+            while ((c = in.read()) != -1 && c != '>') {
+                append(tag, c);
+            }
+            String name = tag.toString().strip().toUpperCase(Locale.ROOT);
+            if (name.startsWith("?") || name.startsWith("!")) {
+                continue; // XML declaration, processing instruction or comment
+            }
+
+            if (name.equals("STMTTRN")) {
+                transaction = new HashMap<>();
+            } else if (name.equals("/STMTTRN")) {
+                if (transaction != null) {
+                    transactions++;
+                    emit(transactions, transaction, statementCurrency, handler);
+                }
+                transaction = null;
+            } else if (!name.startsWith("/")) {
+                openTag = name;
+            }
+        }
+        return transactions;
+    }
+
+    private static void append(StringBuilder buffer, int c) {
+        if (buffer.length() >= StatementValues.MAX_FIELD_CHARS) {
+            throw new InvalidStatementException("OFX element longer than " + StatementValues.MAX_FIELD_CHARS + " characters");
+        }
+        buffer.append((char) c);
+    }
+
+    private void emit(long position, Map<String, String> fields, String currency, StatementRowHandler handler) {
+        try {
+            String name = fields.get("NAME");
+            String memo = fields.get("MEMO");
+            String description = name == null ? memo : memo == null || memo.equals(name) ? name : name + " - " + memo;
+            handler.onRow(new StatementRow(
+                    dateTime(fields.get("DTPOSTED")),
+                    StatementValues.amount(fields.get("TRNAMT")),
+                    // A <CURRENCY> aggregate on the transaction overrides the statement's CURDEF
+                    StatementValues.currency(fields.get("CURSYM"), currency),
+                    StatementValues.DEFAULT_CATEGORY,
+                    StatementValues.description(description)));
+        } catch (IllegalArgumentException e) {
+            handler.onError(position, e.getMessage());
+        }
+    }
+
+    /**
+     * OFX dates are "YYYYMMDD[HHMMSS[.XXX]][[offset:TZ]]". The timezone is
+     * dropped, matching how the rest of the app stores local date-times.
+     */
+    static LocalDateTime dateTime(String value) {
+        if (value == null || value.length() < 8) {
+            throw new IllegalArgumentException("missing or invalid DTPOSTED '" + value + "'");
+        }
+        try {
+            LocalDate date = LocalDate.of(
+                    Integer.parseInt(value, 0, 4, 10),
+                    Integer.parseInt(value, 4, 6, 10),
+                    Integer.parseInt(value, 6, 8, 10));
+            LocalTime time = LocalTime.MIDNIGHT;
+            if (value.length() >= 14 && Character.isDigit(value.charAt(8))) {
+                time = LocalTime.of(
+                        Integer.parseInt(value, 8, 10, 10),
+                        Integer.parseInt(value, 10, 12, 10),
+                        Integer.parseInt(value, 12, 14, 10));
+            }
+            return date.atTime(time);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("invalid DTPOSTED '" + value + "'");
+        }
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,34 @@
+package com.senibo.financetracker.imports;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV,
+    OFX;
+
+    /**
+     * Picks the format from an explicit name ("csv", "ofx") or, failing that,
+     * from the file extension. QFX files are OFX with a different extension.
+     *
+     * @throws IllegalArgumentException if neither identifies a supported format
+     */
+    public static StatementFormat resolve(String format, String filename) {
+        String name = format;
+        if (name == null || name.isBlank()) {
+            int dot = filename != null ? filename.lastIndexOf('.') : -1;
+            name = dot >= 0 ? filename.substring(dot + 1) : "";
+        }
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "ofx", "qfx" -> OFX;
+            default -> throw new IllegalArgumentException("Unsupported statement format, expected CSV or OFX");
+        };
+    }
+
+    public StatementParser parser() {
+        return switch (this) {
+            case CSV -> new CsvStatementParser();
+            case OFX -> new OfxStatementParser();
+        };
+    }
+}
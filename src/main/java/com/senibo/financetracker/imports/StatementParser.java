@@ -0,0 +1,19 @@
+package com.senibo.financetracker.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a bank statement incrementally and pushes each row to the handler.
+ *
+ * Parsers never hold more than the current row, so memory use does not grow
+ * with the size of the file.
+ */
+public interface StatementParser {
+
+    /**
+     * @param defaultCurrency used for rows whose statement doesn't name a currency
+     * @return number of rows read, valid or not (the CSV header doesn't count)
+     */
+    long parse(Reader reader, String defaultCurrency, StatementRowHandler handler) throws IOException;
+}
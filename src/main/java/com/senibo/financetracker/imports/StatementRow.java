@@ -0,0 +1,15 @@
+package com.senibo.financetracker.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One parsed line of a bank statement, ready to become a Transaction.
+ */
+public record StatementRow(
+        LocalDateTime occurredAt,
+        BigDecimal amount,
+        String currency,
+        String category,
+        String description
+) {}
@@ -0,0 +1,16 @@
+package com.senibo.financetracker.imports;
+
+/**
+ * Receives rows from a StatementParser as they are parsed.
+ */
+public interface StatementRowHandler {
+
+    void onRow(StatementRow row);
+
+    /**
+     * A row that could not be parsed. Parsing continues with the next row.
+     *
+     * @param position line number (CSV) or transaction number (OFX)
+     */
+    void onError(long position, String message);
+}
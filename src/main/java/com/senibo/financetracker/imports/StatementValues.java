@@ -0,0 +1,99 @@
+package com.senibo.financetracker.imports;
+
+import com.senibo.financetracker.models.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Validation shared by the statement parsers. Limits mirror TransactionRequest
+ * and the transactions table, so anything accepted here can be inserted.
+ */
+final class StatementValues {
+
+    static final String DEFAULT_CATEGORY = Transaction.UNCATEGORIZED;
+
+    // Longest raw field the parsers buffer; an unterminated quote would otherwise read the whole file
+    static final int MAX_FIELD_CHARS = 10_000;
+
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int MAX_FRACTION_DIGITS = 4;
+    private static final int MAX_CATEGORY_LENGTH = 50;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    // 1,234.50: commas only as thousands separators, and only next to a '.' decimal point
+    private static final Pattern GROUPED_AMOUNT = Pattern.compile("[+-]?\\d{1,3}(,\\d{3})+\\.\\d+");
+
+    private StatementValues() {
+    }
+
+    /**
+     * The decimal point must be '.'. A comma is accepted only as a thousands
+     * separator in an amount that also has a decimal point: "12,50" or
+     * "1,234" could mean either, and guessing wrong changes the amount a
+     * hundred- or thousandfold, so they are rejected.
+     *
+     * @throws IllegalArgumentException with a message fit to show the user
+     */
+    static BigDecimal amount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing amount");
+        }
+        String number = value.strip();
+        if (number.indexOf(',') >= 0) {
+            if (!GROUPED_AMOUNT.matcher(number).matches()) {
+                throw new IllegalArgumentException("ambiguous amount '" + value + "', use '.' as the decimal point");
+            }
+            number = number.replace(",", "");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount '" + value + "'");
+        }
+        if (amount.scale() > MAX_FRACTION_DIGITS || amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("amount out of range '" + value + "'");
+        }
+        return amount;
+    }
+
+    static LocalDateTime isoDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing date");
+        }
+        String date = value.strip();
+        try {
+            return date.length() <= 10 ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + value + "', expected yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss");
+        }
+    }
+
+    static String currency(String value, String defaultCurrency) {
+        if (value == null || value.isBlank()) {
+            return defaultCurrency;
+        }
+        String currency = value.strip().toUpperCase(Locale.ROOT);
+        if (currency.length() != 3 || !currency.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+            throw new IllegalArgumentException("invalid currency '" + value + "'");
+        }
+        return currency;
+    }
+
+    static String category(String value) {
+        return value == null || value.isBlank() ? DEFAULT_CATEGORY : truncate(value.strip(), MAX_CATEGORY_LENGTH);
+    }
+
+    static String description(String value) {
+        return value == null || value.isBlank() ? null : truncate(value.strip(), MAX_DESCRIPTION_LENGTH);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
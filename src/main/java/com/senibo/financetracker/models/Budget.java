@@ -0,0 +1,74 @@
+package com.senibo.financetracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A monthly spending limit for one category, in one currency.
+ */
+@Entity
+@Table(name = "budgets",
+        uniqueConstraints = @UniqueConstraint(name = Budget.UK_CATEGORY,
+                columnNames = {"user_id", "category", "currency"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class Budget {
+    // Named so a duplicate maps to DUPLICATE_BUDGET, see ConstraintViolations
+    public static final String UK_CATEGORY = "uk_budgets_user_category";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private User user;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal monthlyLimit;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    public Budget(User user, String category, String currency, BigDecimal monthlyLimit) {
+        this.user = user;
+        this.category = category;
+        this.currency = currency;
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Budget)) return false;
+        return id != null && id.equals(((Budget) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
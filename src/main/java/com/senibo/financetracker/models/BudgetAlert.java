@@ -0,0 +1,54 @@
+package com.senibo.financetracker.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Records that a budget threshold was crossed in a given month.
+ *
+ * The unique key makes each crossing notify once, even across restarts or
+ * when two nodes see the same crossing at the same moment.
+ */
+@Entity
+@Table(name = "budget_alerts",
+        uniqueConstraints = @UniqueConstraint(name = BudgetAlert.UK_CROSSING,
+                columnNames = {"budget_id", "alert_month", "threshold_percent"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class BudgetAlert {
+    // Named so BudgetEngine can tell a crossing alerted elsewhere from a real failure
+    public static final String UK_CROSSING = "uk_budget_alerts_crossing";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    // First day of the month ("month" is a reserved word in some databases)
+    @Column(name = "alert_month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "threshold_percent", nullable = false)
+    private int thresholdPercent;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    public BudgetAlert(Long budgetId, LocalDate month, int thresholdPercent) {
+        this.budgetId = budgetId;
+        this.month = month;
+        this.thresholdPercent = thresholdPercent;
+    }
+}
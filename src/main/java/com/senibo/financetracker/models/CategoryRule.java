@@ -0,0 +1,78 @@
+package com.senibo.financetracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Puts transactions whose description contains a phrase into a category.
+ *
+ * A rule with no user is global and applies to everyone; a user's own rules
+ * always win over global ones. The pattern is stored normalized (see
+ * SearchTokenizer.words), so "Café Nero" and "CAFE  NERO" are the same rule.
+ */
+@Entity
+@Table(name = "category_rules",
+        uniqueConstraints = @UniqueConstraint(name = CategoryRule.UK_PATTERN, columnNames = {"user_id", "pattern"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class CategoryRule {
+    // Named so a duplicate maps to DUPLICATE_CATEGORY_RULE, see ConstraintViolations
+    public static final String UK_PATTERN = "uk_category_rules_user_pattern";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null for global rules
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private User user;
+
+    @Column(nullable = false, length = 100)
+    private String pattern;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    // Higher wins when several rules match
+    @Column(nullable = false)
+    private int priority;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    public CategoryRule(User user, String pattern, String category, int priority) {
+        this.user = user;
+        this.pattern = pattern;
+        this.category = category;
+        this.priority = priority;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CategoryRule)) return false;
+        return id != null && id.equals(((CategoryRule) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,80 @@
+package com.senibo.financetracker.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A queued outgoing email.
+ *
+ * Rows are written in the same transaction as the business change that
+ * triggers them (e.g. creating a user), so an email is queued if and only if
+ * that change commits. EmailOutboxDispatcher delivers them in the background.
+ */
+@Entity
+@Table(name = "email_outbox",
+        indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxType type = EmailOutboxType.VERIFICATION;
+
+    // Only for VERIFICATION emails
+    @Column(length = 20)
+    private String verificationCode;
+
+    // Only for emails rendered when queued
+    @Column(length = 200)
+    private String subject;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    private LocalDateTime sentDate;
+
+    public EmailOutbox(String recipient, String verificationCode) {
+        this.recipient = recipient;
+        this.verificationCode = verificationCode;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public EmailOutbox(EmailOutboxType type, String recipient, String subject, String body) {
+        this.type = type;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
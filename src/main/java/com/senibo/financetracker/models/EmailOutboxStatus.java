@@ -0,0 +1,7 @@
+package com.senibo.financetracker.models;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
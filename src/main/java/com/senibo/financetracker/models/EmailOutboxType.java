@@ -0,0 +1,8 @@
+package com.senibo.financetracker.models;
+
+public enum EmailOutboxType {
+    // Rendered when sent, from verificationCode
+    VERIFICATION,
+    // Rendered when queued, into subject and body
+    BUDGET_ALERT
+}
@@ -0,0 +1,63 @@
+package com.senibo.financetracker.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated ledger totals: one row per user, period (day or month),
+ * currency and category.
+ *
+ * Rows are kept up to date by LedgerRollupWriter in the same transaction as
+ * every ledger change, so dashboards read a few buckets instead of scanning
+ * transactions. Money in and money out are summed separately, so "spend"
+ * isn't hidden by refunds. RollupRebuildJob can recompute them from scratch.
+ */
+@Entity
+@Table(name = "ledger_rollups",
+        uniqueConstraints = @UniqueConstraint(name = LedgerRollup.UK_BUCKET,
+                columnNames = {"user_id", "granularity", "period_start", "currency", "category"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class LedgerRollup {
+    // Upserts rely on this key, see LedgerRollupWriter
+    public static final String UK_BUCKET = "uk_ledger_rollups_bucket";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private RollupPeriod granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    // Sum of positive amounts
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal inflow = BigDecimal.ZERO;
+
+    // Sum of negative amounts (so it is zero or negative)
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal outflow = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long txnCount;
+}
@@ -0,0 +1,24 @@
+package com.senibo.financetracker.models;
+
+import java.time.LocalDateTime;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /**
+     * The start moved forward by the given number of periods. Always counted
+     * from the start, so a rule starting on the 31st posts on the last day of
+     * shorter months and goes back to the 31st afterwards.
+     */
+    public LocalDateTime plus(LocalDateTime start, long periods) {
+        return switch (this) {
+            case DAILY -> start.plusDays(periods);
+            case WEEKLY -> start.plusWeeks(periods);
+            case MONTHLY -> start.plusMonths(periods);
+            case YEARLY -> start.plusYears(periods);
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.senibo.financetracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.senibo.financetracker.recurring.RecurrenceSchedule;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction that posts itself on a schedule (salary, rent, subscriptions).
+ *
+ * nextRunAt is when occurrence number nextOccurrence is due, or null when the
+ * rule is paused or its schedule has ended. The scheduler only ever reads
+ * rules through the (shard, next_run_at) index, so rules that aren't due cost
+ * nothing, however many there are.
+ *
+ * shard is derived from the user id. Workers claim one shard's due rules at
+ * a time, so a user's rules are always posted by the same worker in a round.
+ */
+@Entity
+@Table(name = "recurring_rules",
+        indexes = @Index(name = RecurringRule.IDX_DUE, columnList = "shard, nextRunAt"))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class RecurringRule {
+    public static final String IDX_DUE = "idx_recurring_rules_due";
+    public static final int SHARDS = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private User user;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(length = 255)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    // "interval" is a reserved word in MySQL
+    @Column(name = "repeat_interval", nullable = false)
+    private int repeatInterval;
+
+    @Column(name = "max_occurrences")
+    private Integer maxOccurrences;
+
+    private LocalDate untilDate;
+
+    @Column(nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(nullable = false)
+    private int nextOccurrence;
+
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    public RecurringRule(User user, BigDecimal amount, String currency, String category,
+                         String description, RecurrenceSchedule schedule, LocalDateTime startAt) {
+        this.user = user;
+        this.shard = shardOf(user.getUserId());
+        this.amount = amount;
+        this.currency = currency;
+        this.category = category;
+        this.description = description;
+        this.frequency = schedule.frequency();
+        this.repeatInterval = schedule.interval();
+        this.maxOccurrences = schedule.count();
+        this.untilDate = schedule.until();
+        this.startAt = startAt;
+        this.nextOccurrence = 0;
+        this.nextRunAt = schedule.occurrence(startAt, 0);
+    }
+
+    public static int shardOf(Long userId) {
+        return (int) Math.floorMod(userId, (long) SHARDS);
+    }
+
+    public RecurrenceSchedule getSchedule() {
+        return new RecurrenceSchedule(frequency, repeatInterval, maxOccurrences, untilDate);
+    }
+
+    /**
+     * Moves on to the next occurrence; nextRunAt becomes null if there is none
+     */
+    public void advance() {
+        nextOccurrence++;
+        nextRunAt = getSchedule().occurrence(startAt, nextOccurrence);
+    }
+
+    /**
+     * Skips occurrences before the given time, e.g. the ones missed while paused
+     */
+    public void skipTo(LocalDateTime from) {
+        RecurrenceSchedule schedule = getSchedule();
+        LocalDateTime at = schedule.occurrence(startAt, nextOccurrence);
+        while (at != null && at.isBefore(from)) {
+            nextOccurrence++;
+            at = schedule.occurrence(startAt, nextOccurrence);
+        }
+        nextRunAt = at;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecurringRule)) return false;
+        return id != null && id.equals(((RecurringRule) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
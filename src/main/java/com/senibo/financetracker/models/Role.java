@@ -9,7 +9,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "roles")
+@Table(name = "roles",
+        uniqueConstraints = @UniqueConstraint(name = "uk_roles_role_name", columnNames = "role_name"))
 @NoArgsConstructor
 @Data
 public class Role {
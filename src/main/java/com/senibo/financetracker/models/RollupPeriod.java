@@ -0,0 +1,15 @@
+package com.senibo.financetracker.models;
+
+import java.time.LocalDate;
+
+public enum RollupPeriod {
+    DAY,
+    MONTH;
+
+    /**
+     * First day of the bucket this date falls in
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return this == DAY ? date : date.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.senibo.financetracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a user's ledger.
+ *
+ * The amount is signed: money in is positive, money out is negative.
+ *
+ * The (user_id, occurred_at, id) index matches the history query exactly
+ * (filter by owner, newest first, id as tie-breaker), so every page of
+ * history is an index range scan that starts where the previous page ended.
+ */
+@Entity
+@Table(name = "transactions",
+        indexes = @Index(name = Transaction.IDX_USER_HISTORY, columnList = "user_id, occurredAt, id"),
+        uniqueConstraints = @UniqueConstraint(name = Transaction.UK_RECURRING_OCCURRENCE,
+                columnNames = {"recurring_rule_id", "occurrence_index"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class Transaction {
+    public static final String IDX_USER_HISTORY = "idx_transactions_user_occurred_id";
+    public static final String UK_RECURRING_OCCURRENCE = "uk_transactions_recurring_occurrence";
+    // Category of rows that came without one and matched no categorization rule
+    public static final String UNCATEGORIZED = "Uncategorized";
+
+    // Sequence ids (unlike User's IDENTITY) let Hibernate batch inserts: with the
+    // pooled optimizer one sequence call hands out a whole block of ids, so a
+    // batch of new rows goes to the database as a single JDBC batch.
+    // On MySQL, which has no sequences, Hibernate keeps the counter in a table.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 500)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private User user;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    // ISO 4217 code, e.g. "USD"
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(length = 255)
+    private String description;
+
+    // Set on rows posted by a RecurringRule. The unique key on the pair means an
+    // occurrence can only ever be posted once, whatever happens to the scheduler.
+    @Column(name = "recurring_rule_id")
+    private Long recurringRuleId;
+
+    @Column(name = "occurrence_index")
+    private Integer occurrenceIndex;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    public Transaction(User user, BigDecimal amount, String currency, String category,
+                       LocalDateTime occurredAt, String description) {
+        this.user = user;
+        this.amount = amount;
+        this.currency = currency;
+        this.category = category;
+        this.occurredAt = occurredAt;
+        this.description = description;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Transaction)) return false;
+        return id != null && id.equals(((Transaction) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -19,24 +19,32 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = {
+                @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+                @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username")
+        })
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
 public class User {
+    // Named so duplicate-key errors can be mapped by constraint, see GlobalExceptionHandler
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_USERNAME = "uk_users_username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long userId;
 
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @Email(message = "Please provide a valid email address") // Add custom message
     @Size(max = 50)
     private String email;
 
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @Size(min = 4, max = 30)
     private String username;
 
@@ -53,6 +61,8 @@ public class User {
     private String lastName;
 
     private boolean accountNonLocked = true;
+    // Set when the account was locked automatically after failed logins; null means locked by hand
+    private LocalDateTime lockedUntil;
     private boolean accountNonExpired = true;
     private boolean credentialsNonExpired = true;
     private boolean enabled = true;
@@ -0,0 +1,30 @@
+package com.senibo.financetracker.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a User with just what sign-in needs: the credential
+ * check, the account flags and the fields returned in UserResponse.
+ *
+ * Loaded with a single JPQL constructor query, so Hibernate does not build a
+ * managed entity (no dirty checking, no snapshot, no verification code or 2FA
+ * secret pulled into memory).
+ */
+public record UserAuthView(
+        Long userId,
+        String username,
+        String email,
+        String password,
+        String firstName,
+        String lastName,
+        boolean enabled,
+        boolean accountNonLocked,
+        LocalDateTime lockedUntil,
+        boolean accountNonExpired,
+        boolean credentialsNonExpired,
+        boolean twoFactorEnabled,
+        AppRole roleName,
+        LocalDateTime createdDate,
+        LocalDateTime updatedDate
+) {
+}
@@ -0,0 +1,106 @@
+package com.senibo.financetracker.recurring;
+
+import com.senibo.financetracker.models.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * A repeat rule in a subset of iCalendar RRULE syntax (RFC 5545):
+ * FREQ (DAILY, WEEKLY, MONTHLY or YEARLY), INTERVAL, COUNT and UNTIL, e.g.
+ * "FREQ=MONTHLY;INTERVAL=1;COUNT=12" or "FREQ=WEEKLY;INTERVAL=2;UNTIL=20261231".
+ *
+ * Occurrences are numbered from 0 (the start itself), and occurrence n is
+ * always computed from the start, never from occurrence n - 1.
+ *
+ * @param count maximum number of occurrences, or null for no limit
+ * @param until last day an occurrence may fall on, or null for no limit
+ */
+public record RecurrenceSchedule(RecurrenceFrequency frequency, int interval, Integer count, LocalDate until) {
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public RecurrenceSchedule {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Schedule must have a FREQ");
+        }
+        if (interval < 1 || interval > 1000) {
+            throw new IllegalArgumentException("INTERVAL must be between 1 and 1000");
+        }
+        if (count != null && count < 1) {
+            throw new IllegalArgumentException("COUNT must be at least 1");
+        }
+    }
+
+    public static RecurrenceSchedule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Schedule is required");
+        }
+        String text = rule.strip();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+
+        RecurrenceFrequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDate until = null;
+        for (String part : text.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid schedule part '" + part + "'");
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim();
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = RecurrenceFrequency.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    // Only the date is used; a time part (20261231T235959Z) is accepted and ignored
+                    case "UNTIL" -> until = LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+                    default -> throw new IllegalArgumentException("Unsupported schedule part " + name
+                            + ", supported: FREQ, INTERVAL, COUNT, UNTIL");
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": '" + value + "'");
+            }
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL can't be used together");
+        }
+        return new RecurrenceSchedule(frequency, interval, count, until);
+    }
+
+    /**
+     * When occurrence number index falls, or null if the schedule has ended by then
+     */
+    public LocalDateTime occurrence(LocalDateTime start, int index) {
+        if (count != null && index >= count) {
+            return null;
+        }
+        LocalDateTime at = frequency.plus(start, (long) index * interval);
+        if (until != null && at.toLocalDate().isAfter(until)) {
+            return null;
+        }
+        return at;
+    }
+
+    /**
+     * Canonical RRULE text, e.g. "FREQ=MONTHLY;INTERVAL=1;COUNT=12"
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+}
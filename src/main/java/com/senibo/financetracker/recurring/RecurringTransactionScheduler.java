@@ -0,0 +1,189 @@
+package com.senibo.financetracker.recurring;
+
+import com.senibo.financetracker.models.RecurringRule;
+import com.senibo.financetracker.models.Transaction;
+import com.senibo.financetracker.repositories.RecurringRuleRepository;
+import com.senibo.financetracker.rollups.LedgerRollupWriter;
+import com.senibo.financetracker.rollups.RollupDeltas;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts the transactions of due RecurringRules.
+ *
+ * Each round works through the shards on virtual threads, a few at a time
+ * (each holds a database connection). Per shard it repeatedly locks a batch
+ * of due rules, posts every occurrence that is due (up to max-catch-up per
+ * rule and batch), advances the rules and commits, all in one database
+ * transaction. Nodes start their rounds at a random shard, so several nodes
+ * mostly work different shards, and SKIP LOCKED keeps them apart when they
+ * meet.
+ *
+ * A crash rolls back the postings together with the rule advance, so the
+ * next round posts them again exactly once. The unique key on
+ * (recurring_rule_id, occurrence_index) in transactions backs this up: an
+ * occurrence can't be posted twice even if a rule is somehow processed twice.
+ */
+@Component
+@Slf4j
+public class RecurringTransactionScheduler {
+
+    private final RecurringRuleRepository ruleRepository;
+    private final EntityManager entityManager;
+    private final LedgerRollupWriter rollupWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxCatchUp;
+
+    private ScheduledExecutorService scheduler;
+
+    public RecurringTransactionScheduler(RecurringRuleRepository ruleRepository,
+                                         EntityManager entityManager,
+                                         LedgerRollupWriter rollupWriter,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.recurring.enabled:true}") boolean enabled,
+                                         @Value("${app.recurring.poll-interval-ms:60000}") long pollIntervalMs,
+                                         @Value("${app.recurring.batch-size:200}") int batchSize,
+                                         @Value("${app.recurring.parallelism:4}") int parallelism,
+                                         @Value("${app.recurring.max-catch-up:100}") int maxCatchUp) {
+        this.ruleRepository = ruleRepository;
+        this.entityManager = entityManager;
+        this.rollupWriter = rollupWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Recurring transaction scheduler is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("recurring-", 0).factory());
+        scheduler.scheduleWithFixedDelay(this::runSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            postDueTransactions();
+        } catch (RuntimeException e) {
+            log.error("Recurring transaction round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Posts everything that is due now, in every shard.
+     *
+     * @return number of transactions posted
+     */
+    public int postDueTransactions() {
+        LocalDateTime now = LocalDateTime.now();
+        int firstShard = ThreadLocalRandom.current().nextInt(RecurringRule.SHARDS);
+        Semaphore connections = new Semaphore(parallelism);
+
+        List<Future<Integer>> results = new ArrayList<>(RecurringRule.SHARDS);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < RecurringRule.SHARDS; i++) {
+                int shard = (firstShard + i) % RecurringRule.SHARDS;
+                results.add(workers.submit(() -> {
+                    connections.acquire();
+                    try {
+                        return drainShard(shard, now);
+                    } finally {
+                        connections.release();
+                    }
+                }));
+            }
+        }
+
+        int posted = 0;
+        for (Future<Integer> result : results) {
+            try {
+                posted += result.get();
+            } catch (ExecutionException e) {
+                log.error("Recurring transactions for a shard failed: {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (posted > 0) {
+            log.info("Posted {} recurring transactions", posted);
+        }
+        return posted;
+    }
+
+    private int drainShard(int shard, LocalDateTime now) {
+        int posted = 0;
+        while (true) {
+            BatchResult batch = transactionTemplate.execute(status -> postBatch(shard, now));
+            posted += batch.posted();
+            if (batch.claimed() < batchSize) {
+                return posted;
+            }
+        }
+    }
+
+    private BatchResult postBatch(int shard, LocalDateTime now) {
+        List<RecurringRule> due = ruleRepository.lockDue(shard, now, PageRequest.of(0, batchSize));
+        RollupDeltas deltas = new RollupDeltas();
+        int posted = 0;
+        for (RecurringRule rule : due) {
+            for (int i = 0; i < maxCatchUp && rule.getNextRunAt() != null && !rule.getNextRunAt().isAfter(now); i++) {
+                Transaction transaction = new Transaction(rule.getUser(), rule.getAmount(), rule.getCurrency(),
+                        rule.getCategory(), rule.getNextRunAt(), rule.getDescription());
+                transaction.setRecurringRuleId(rule.getId());
+                transaction.setOccurrenceIndex(rule.getNextOccurrence());
+                entityManager.persist(transaction);
+                deltas.add(transaction);
+                rule.advance();
+                posted++;
+            }
+        }
+        rollupWriter.apply(deltas);
+        meterRegistry.counter("recurring.transactions.posted").increment(posted);
+        return new BatchResult(due.size(), posted);
+    }
+
+    private record BatchResult(int claimed, int posted) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.models.BudgetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    @Query("SELECT a.thresholdPercent FROM BudgetAlert a WHERE a.budgetId = :budgetId AND a.month = :month")
+    List<Integer> findSentThresholds(@Param("budgetId") Long budgetId, @Param("month") LocalDate month);
+
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.budgetId = :budgetId")
+    void deleteByBudgetId(@Param("budgetId") Long budgetId);
+}
@@ -0,0 +1,15 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.models.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    List<Budget> findByUserUserIdOrderByCategory(Long userId);
+
+    Optional<Budget> findByIdAndUserUserId(Long id, Long userId);
+}
@@ -0,0 +1,19 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.models.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+    List<CategoryRule> findByUserUserIdOrderById(Long userId);
+
+    List<CategoryRule> findByUserIsNullOrderById();
+
+    Optional<CategoryRule> findByIdAndUserUserId(Long id, Long userId);
+
+    Optional<CategoryRule> findByIdAndUserIsNull(Long id);
+}
@@ -0,0 +1,66 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.models.LedgerRollup;
+import com.senibo.financetracker.models.RollupPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard reads. Both queries are range scans on the unique bucket key
+ * (user_id, granularity, period_start, ...), touching one row per bucket.
+ */
+@Repository
+public interface LedgerRollupRepository extends JpaRepository<LedgerRollup, Long> {
+
+    @Query("""
+            SELECT new com.senibo.financetracker.dtos.responses.BalanceBucket(
+                r.periodStart, r.currency, SUM(r.inflow), SUM(r.outflow), SUM(r.txnCount))
+            FROM LedgerRollup r
+            WHERE r.userId = :userId AND r.granularity = :granularity
+              AND r.periodStart BETWEEN :from AND :to
+            GROUP BY r.periodStart, r.currency
+            HAVING SUM(r.txnCount) > 0
+            ORDER BY r.periodStart, r.currency
+            """)
+    List<BalanceBucket> findBalance(@Param("userId") Long userId,
+                                    @Param("granularity") RollupPeriod granularity,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT new com.senibo.financetracker.dtos.responses.CategoryTotal(
+                r.category, r.currency, SUM(r.inflow), SUM(r.outflow), SUM(r.txnCount))
+            FROM LedgerRollup r
+            WHERE r.userId = :userId AND r.granularity = :granularity
+              AND r.periodStart BETWEEN :from AND :to
+            GROUP BY r.category, r.currency
+            HAVING SUM(r.txnCount) > 0
+            ORDER BY SUM(r.outflow), r.category
+            """)
+    List<CategoryTotal> findCategoryTotals(@Param("userId") Long userId,
+                                           @Param("granularity") RollupPeriod granularity,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    /**
+     * A single month bucket's outflow (zero or negative), read by the budget engine
+     */
+    @Query("""
+            SELECT COALESCE(SUM(r.outflow), 0)
+            FROM LedgerRollup r
+            WHERE r.userId = :userId AND r.granularity = com.senibo.financetracker.models.RollupPeriod.MONTH
+              AND r.periodStart = :month AND r.category = :category AND r.currency = :currency
+            """)
+    BigDecimal findMonthlyOutflow(@Param("userId") Long userId,
+                                  @Param("category") String category,
+                                  @Param("currency") String currency,
+                                  @Param("month") LocalDate month);
+}
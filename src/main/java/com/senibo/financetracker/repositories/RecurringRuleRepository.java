@@ -0,0 +1,36 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.models.RecurringRule;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    List<RecurringRule> findByUserUserIdOrderById(Long userId);
+
+    Optional<RecurringRule> findByIdAndUserUserId(Long id, Long userId);
+
+    /**
+     * Locks the next batch of due rules in one shard, through the (shard,
+     * next_run_at) index. Rows another node holds are skipped (lock timeout
+     * -2 = SKIP LOCKED), so nodes working the same shard never block each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM RecurringRule r WHERE r.shard = :shard AND r.nextRunAt <= :now ORDER BY r.nextRunAt")
+    List<RecurringRule> lockDue(@Param("shard") int shard,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package com.senibo.financetracker.repositories;
+
+import com.senibo.financetracker.models.Transaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    Optional<Transaction> findByIdAndUserUserId(Long id, Long userId);
+
+    /**
+     * findByIdAndUserUserId with the row locked (SELECT ... FOR UPDATE) until commit
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id AND t.user.userId = :userId")
+    Optional<Transaction> lockByIdAndUserUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    List<Transaction> findByUserUserIdAndIdIn(Long userId, List<Long> ids);
+
+    /**
+     * First page of history, newest first
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.user.userId = :userId
+            ORDER BY t.occurredAt DESC, t.id DESC
+            """)
+    List<Transaction> findHistory(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Every later page: seeks past the last row of the previous page instead of
+     * using OFFSET, so page 1000 reads as few index entries as page 1.
+     *
+     * The condition is spelled out instead of written as a row comparison
+     * "(occurredAt, id) < (:a, :b)", because MySQL only turns the spelled-out
+     * form into an index range reliably.
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.user.userId = :userId
+              AND (t.occurredAt < :occurredAt OR (t.occurredAt = :occurredAt AND t.id < :id))
+            ORDER BY t.occurredAt DESC, t.id DESC
+            """)
+    List<Transaction> findHistoryAfter(@Param("userId") Long userId,
+                                       @Param("occurredAt") LocalDateTime occurredAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+}
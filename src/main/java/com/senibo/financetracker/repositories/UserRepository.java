@@ -1,12 +1,25 @@
 package com.senibo.financetracker.repositories;
 
 import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * The finders below run in read-only transactions of their own when called
+ * outside one, so with routing enabled they are served by a replica; sign-in
+ * and the other pre-sign-in lookups are exactly such calls. Inherited
+ * JpaRepository methods keep their own transaction settings (save is read-write).
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
@@ -17,5 +30,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
+    /**
+     * Single query used by sign-in: resolves username or email and joins the role name.
+     * Inner join on purpose: an account without a role cannot be granted an authority,
+     * so it is treated like an unknown login.
+     */
+    @Query("""
+            SELECT new com.senibo.financetracker.models.UserAuthView(
+                u.userId, u.username, u.email, u.password, u.firstName, u.lastName,
+                u.enabled, u.accountNonLocked, u.lockedUntil, u.accountNonExpired, u.credentialsNonExpired,
+                u.isTwoFactorEnabled, r.roleName, u.createdDate, u.updatedDate)
+            FROM User u JOIN u.role r
+            WHERE u.username = :login OR u.email = :login
+            """)
+    Optional<UserAuthView> findAuthViewByUsernameOrEmail(@Param("login") String login);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 
 }
@@ -0,0 +1,94 @@
+package com.senibo.financetracker.rollups;
+
+import com.senibo.financetracker.events.LedgerChangedEvent;
+import com.senibo.financetracker.events.LedgerChangedEvent.EntryChange;
+import com.senibo.financetracker.events.LedgerChangedEvent.SpendChange;
+import com.senibo.financetracker.rollups.RollupDeltas.Delta;
+import com.senibo.financetracker.rollups.RollupDeltas.Key;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies RollupDeltas to ledger_rollups with one batched upsert.
+ *
+ * Upserting adds to the stored totals in the database instead of reading,
+ * changing and saving them, so concurrent writers never overwrite each other.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerRollupWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO ledger_rollups (user_id, granularity, period_start, currency, category, inflow, outflow, txn_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                inflow = inflow + VALUES(inflow),
+                outflow = outflow + VALUES(outflow),
+                txn_count = txn_count + VALUES(txn_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Must run inside the transaction that changes the ledger, so the rollups
+     * commit or roll back together with it.
+     *
+     * Also publishes a LedgerChangedEvent, so listeners such as the budget
+     * engine and the analytics cache see every ledger write without each service having to notify them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(RollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        upsert(deltas);
+        List<SpendChange> spendChanges = deltas.spendChanges();
+        List<EntryChange> entryChanges = deltas.entryChanges();
+        if (!spendChanges.isEmpty() || !entryChanges.isEmpty()) {
+            eventPublisher.publishEvent(new LedgerChangedEvent(spendChanges, entryChanges));
+        }
+    }
+
+    /**
+     * Writes the rollups without publishing anything; used by the rebuild,
+     * which recounts existing rows rather than changing the ledger
+     */
+    void upsert(RollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Key, Delta>> entries = deltas.sortedEntries();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Key key = entries.get(i).getKey();
+                Delta delta = entries.get(i).getValue();
+                ps.setLong(1, key.userId());
+                ps.setString(2, key.period().name());
+                ps.setDate(3, Date.valueOf(key.periodStart()));
+                ps.setString(4, key.currency());
+                ps.setString(5, key.category());
+                ps.setBigDecimal(6, delta.inflow);
+                ps.setBigDecimal(7, delta.outflow);
+                ps.setLong(8, delta.count);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+}
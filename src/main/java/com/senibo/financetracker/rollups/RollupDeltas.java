@@ -0,0 +1,125 @@
+package com.senibo.financetracker.rollups;
+
+import com.senibo.financetracker.events.LedgerChangedEvent.EntryChange;
+import com.senibo.financetracker.events.LedgerChangedEvent.SpendChange;
+import com.senibo.financetracker.models.RollupPeriod;
+import com.senibo.financetracker.models.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes to ledger_rollups collected in memory before they are written.
+ *
+ * Every ledger change touches a DAY and a MONTH bucket. Changes to the same
+ * bucket are merged here first, so a batch of 500 imported rows costs one
+ * upsert per bucket, not one per row.
+ */
+public class RollupDeltas {
+
+    private final Map<Key, Delta> deltas = new HashMap<>();
+    private final List<EntryChange> entries = new ArrayList<>();
+
+    /**
+     * Counts a new (or the new state of an updated) transaction
+     */
+    public RollupDeltas add(Transaction transaction) {
+        return apply(transaction, 1);
+    }
+
+    /**
+     * Uncounts a deleted (or the old state of an updated) transaction
+     */
+    public RollupDeltas remove(Transaction transaction) {
+        return apply(transaction, -1);
+    }
+
+    /**
+     * Adds already-aggregated totals to one bucket and its enclosing buckets
+     */
+    public void add(Long userId, LocalDate date, String currency, String category,
+                    BigDecimal inflow, BigDecimal outflow, long count) {
+        for (RollupPeriod period : RollupPeriod.values()) {
+            Key key = new Key(userId, period, period.bucketStart(date), currency, category);
+            deltas.computeIfAbsent(key, k -> new Delta()).add(inflow, outflow, count);
+        }
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * Month buckets whose outflow changed, for LedgerChangedEvent
+     */
+    List<SpendChange> spendChanges() {
+        List<SpendChange> changes = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (key.period() == RollupPeriod.MONTH && delta.outflow.signum() != 0) {
+                changes.add(new SpendChange(key.userId(), key.category(), key.currency(), key.periodStart(), delta.outflow));
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * The rows behind the changes, in the order they were added or removed.
+     * Snapshotted when recorded, so later changes to the entity don't leak in.
+     */
+    List<EntryChange> entryChanges() {
+        return entries;
+    }
+
+    /**
+     * The merged changes in key order. Writing in a fixed order means two
+     * transactions touching the same buckets can't deadlock each other.
+     */
+    List<Map.Entry<Key, Delta>> sortedEntries() {
+        List<Map.Entry<Key, Delta>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(Map.Entry.comparingByKey(Key.ORDER));
+        return entries;
+    }
+
+    private RollupDeltas apply(Transaction transaction, int sign) {
+        BigDecimal amount = sign > 0 ? transaction.getAmount() : transaction.getAmount().negate();
+        boolean income = transaction.getAmount().signum() > 0;
+        Long userId = transaction.getUser().getUserId();
+        LocalDate date = transaction.getOccurredAt().toLocalDate();
+        entries.add(new EntryChange(sign < 0, transaction.getId(), userId, date,
+                transaction.getCurrency(), transaction.getCategory(), transaction.getAmount(),
+                transaction.getDescription()));
+        add(userId,
+                date,
+                transaction.getCurrency(),
+                transaction.getCategory(),
+                income ? amount : BigDecimal.ZERO,
+                income ? BigDecimal.ZERO : amount,
+                sign);
+        return this;
+    }
+
+    record Key(Long userId, RollupPeriod period, LocalDate periodStart, String currency, String category) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::userId)
+                .thenComparing(Key::period)
+                .thenComparing(Key::periodStart)
+                .thenComparing(Key::currency)
+                .thenComparing(Key::category);
+    }
+
+    static final class Delta {
+        BigDecimal inflow = BigDecimal.ZERO;
+        BigDecimal outflow = BigDecimal.ZERO;
+        long count;
+
+        void add(BigDecimal inflow, BigDecimal outflow, long count) {
+            this.inflow = this.inflow.add(inflow);
+            this.outflow = this.outflow.add(outflow);
+            this.count += count;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.senibo.financetracker.rollups;
+
+import com.senibo.financetracker.dtos.responses.RollupRebuildResponse;
+import com.senibo.financetracker.exceptions.OperationFailedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes ledger_rollups from the transactions table.
+ *
+ * Users are split into chunks of consecutive ids, and chunks are rebuilt in
+ * parallel, each in its own transaction. The database groups each chunk by
+ * day; months are then folded from those day totals in memory, so the ledger
+ * is read once.
+ *
+ * Each chunk deletes its rollups before reading the ledger. The delete locks
+ * those rows, so a ledger write that lands mid-rebuild waits for the chunk to
+ * commit and then adds its change on top, rather than being lost or counted twice.
+ */
+@Component
+@Slf4j
+public class RollupRebuildJob {
+
+    private static final String DELETE_SQL = "DELETE FROM ledger_rollups WHERE user_id BETWEEN ? AND ?";
+    private static final String DAY_TOTALS_SQL = """
+            SELECT user_id, CAST(occurred_at AS DATE) AS txn_date, currency, category,
+                   SUM(CASE WHEN amount > 0 THEN amount ELSE 0 END) AS inflow,
+                   SUM(CASE WHEN amount > 0 THEN 0 ELSE amount END) AS outflow,
+                   COUNT(*) AS txn_count
+            FROM transactions
+            WHERE user_id BETWEEN ? AND ?
+            GROUP BY user_id, CAST(occurred_at AS DATE), currency, category
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerRollupWriter rollupWriter;
+    private final int usersPerChunk;
+    private final ExecutorService executor;
+
+    public RollupRebuildJob(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            LedgerRollupWriter rollupWriter,
+                            @Value("${app.rollups.rebuild.users-per-chunk:200}") int usersPerChunk,
+                            @Value("${app.rollups.rebuild.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupWriter = rollupWriter;
+        this.usersPerChunk = usersPerChunk;
+        // Each worker holds a database connection, keep this below the pool size
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("rollup-rebuild-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public RollupRebuildResponse rebuildAll() {
+        long started = System.nanoTime();
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+
+        List<Future<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += usersPerChunk) {
+            long firstId = userIds.get(from);
+            long lastId = userIds.get(Math.min(from + usersPerChunk, userIds.size()) - 1);
+            chunks.add(executor.submit(() -> rebuildChunk(firstId, lastId)));
+        }
+
+        long dayBuckets = 0;
+        try {
+            for (Future<Long> chunk : chunks) {
+                dayBuckets += chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new OperationFailedException("Rollup rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            // Chunks that already committed stay rebuilt; running the rebuild again is safe
+            log.error("Rollup rebuild failed", e.getCause());
+            throw new OperationFailedException("Rollup rebuild failed, see the server log", e.getCause());
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebuilt rollups for {} users in {} chunks ({} day buckets) in {} ms",
+                userIds.size(), chunks.size(), dayBuckets, durationMs);
+        return new RollupRebuildResponse(userIds.size(), chunks.size(), dayBuckets, durationMs);
+    }
+
+    /**
+     * @return number of day buckets written
+     */
+    private long rebuildChunk(long firstUserId, long lastUserId) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_SQL, firstUserId, lastUserId);
+
+            RollupDeltas deltas = new RollupDeltas();
+            long[] dayBuckets = {0};
+            jdbcTemplate.query(DAY_TOTALS_SQL, rs -> {
+                deltas.add(rs.getLong("user_id"),
+                        rs.getDate("txn_date").toLocalDate(),
+                        rs.getString("currency"),
+                        rs.getString("category"),
+                        rs.getBigDecimal("inflow"),
+                        rs.getBigDecimal("outflow"),
+                        rs.getLong("txn_count"));
+                dayBuckets[0]++;
+            }, firstUserId, lastUserId);
+
+            rollupWriter.upsert(deltas);
+            return dayBuckets[0];
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.senibo.financetracker.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Splits text into search terms: lower case, accents removed, split on
+ * anything that isn't a letter or digit. "Café Nero - Oxford St." becomes
+ * [cafe, nero, oxford, st]. Queries and indexed text go through the same
+ * steps, so "CAFE" finds "Café".
+ */
+public final class SearchTokenizer {
+
+    // Longer terms are cut; a prefix this long is as selective as the whole word
+    static final int MAX_TERM_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Distinct terms of all the given texts, in order of first appearance; null texts are skipped
+     */
+    public static List<String> terms(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text != null) {
+                String normalized = normalize(text);
+                split(normalized, (start, end) ->
+                        terms.add(normalized.substring(start, Math.min(end, start + MAX_TERM_LENGTH))));
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * The normalized words of the text, in order and with repeats, joined by
+     * single spaces: "Café  Nero-Oxford" becomes "cafe nero oxford"
+     */
+    public static String words(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = normalize(text);
+        StringBuilder words = new StringBuilder(normalized.length());
+        split(normalized, (start, end) -> {
+            if (!words.isEmpty()) {
+                words.append(' ');
+            }
+            words.append(normalized, start, end);
+        });
+        return words.toString();
+    }
+
+    static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 127) {
+                // Decompose "é" into "e" + combining accent, then drop the accents
+                return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * Calls word(start, end) for each run of letters and digits
+     */
+    private static void split(String text, BiConsumer<Integer, Integer> word) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                word.accept(start, i);
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.senibo.financetracker.search;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.senibo.financetracker.events.LedgerChangedEvent;
+import com.senibo.financetracker.events.LedgerChangedEvent.EntryChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-user UserSearchIndex over transaction descriptions and categories,
+ * built on first search and kept current by ledger writes.
+ *
+ * Bounded by the total number of postings held; least recently used users
+ * are evicted first. Keeping it current works like LedgerAnalyticsCache:
+ * committed changes are applied to cached indexes by id (adds of known ids
+ * and removes of unknown ids are no-ops), an index still being built when a
+ * change arrives is discarded, and indexes expire refresh-minutes after
+ * building so changes made on other nodes show up within that time.
+ */
+@Component
+@Slf4j
+public class TransactionSearchIndex {
+
+    private static final String LOAD_SQL = """
+            SELECT id, category, description
+            FROM transactions
+            WHERE user_id = ?
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final LoadingCache<Long, UserSearchIndex> indexByUser;
+
+    public TransactionSearchIndex(JdbcTemplate jdbcTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.search.max-cached-postings:10000000}") long maxCachedPostings,
+                                  @Value("${app.search.refresh-minutes:10}") long refreshMinutes,
+                                  @Value("${app.search.load-fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        // Weight is taken at load time; postings added afterwards aren't counted until the user is reloaded
+        this.indexByUser = Caffeine.newBuilder()
+                .maximumWeight(maxCachedPostings)
+                .weigher((Long userId, UserSearchIndex index) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, index.postingCount())))
+                .expireAfterWrite(Duration.ofMinutes(refreshMinutes))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, indexByUser, "transaction-search");
+    }
+
+    /**
+     * Ids of the user's transactions whose description or category has a
+     * word starting with each of the query terms, most recently added first
+     */
+    public long[] search(Long userId, List<String> queryTerms, int limit) {
+        return indexByUser.get(userId).search(queryTerms, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        for (EntryChange entry : event.entries()) {
+            UserSearchIndex index = indexByUser.getIfPresent(entry.userId());
+            if (index == null) {
+                // Not cached, or still loading; invalidate waits for a running load and discards it
+                indexByUser.invalidate(entry.userId());
+                continue;
+            }
+            List<String> terms = SearchTokenizer.terms(entry.category(), entry.description());
+            if (entry.removed()) {
+                index.remove(entry.transactionId(), terms);
+            } else {
+                index.add(entry.transactionId(), terms);
+            }
+        }
+    }
+
+    /**
+     * Rows come in id order so every posting is an append
+     */
+    private UserSearchIndex load(Long userId) {
+        long started = System.nanoTime();
+        UserSearchIndex index = new UserSearchIndex();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(LOAD_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, resultSet -> {
+            index.add(resultSet.getLong(1), SearchTokenizer.terms(resultSet.getString(2), resultSet.getString(3)));
+        });
+        log.debug("Indexed {} postings for user {} in {} ms",
+                index.postingCount(), userId, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return index;
+    }
+}
@@ -0,0 +1,225 @@
+package com.senibo.financetracker.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one user's transactions: term -> sorted transaction ids.
+ *
+ * Terms are kept in a sorted map, so all terms starting with a prefix are one
+ * sub-map. Each posting list is a sorted long[]; new transactions have the
+ * highest ids, so adding one is almost always an append.
+ *
+ * A query is a list of terms, each matched as a prefix, and a transaction must
+ * match all of them. The term with the fewest postings drives: its ids are
+ * walked from the highest down, and each is checked against the other terms
+ * by binary search. The walk stops once enough matches are found, so the cost
+ * depends on the result size, not on the number of transactions.
+ */
+public final class UserSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private long postingCount;
+
+    public long postingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(long id, List<String> documentTerms) {
+        lock.writeLock().lock();
+        try {
+            for (String term : documentTerms) {
+                if (terms.computeIfAbsent(term, t -> new Postings()).add(id)) {
+                    postingCount++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id, List<String> documentTerms) {
+        lock.writeLock().lock();
+        try {
+            for (String term : documentTerms) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(id)) {
+                    postingCount--;
+                    if (postings.size == 0) {
+                        terms.remove(term);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of transactions matching every query term as a prefix, highest
+     * (most recently added) first, at most limit of them.
+     */
+    public long[] search(List<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> groups = new ArrayList<>(queryTerms.size());
+            List<Long> groupSizes = new ArrayList<>(queryTerms.size());
+            for (String prefix : queryTerms) {
+                List<Postings> group = new ArrayList<>(prefixMatches(prefix).values());
+                if (group.isEmpty()) {
+                    return new long[0];
+                }
+                groups.add(group);
+                groupSizes.add(group.stream().mapToLong(p -> p.size).sum());
+            }
+            Integer[] order = new Integer[groups.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(groupSizes::get));
+
+            List<Postings> driver = groups.get(order[0]);
+            long[] results = new long[limit];
+            int found = 0;
+            DescendingMerge candidates = new DescendingMerge(driver);
+            while (found < limit && candidates.hasNext()) {
+                long id = candidates.next();
+                if (matchesOthers(id, groups, order)) {
+                    results[found++] = id;
+                }
+            }
+            return found == limit ? results : Arrays.copyOf(results, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Postings> prefixMatches(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesOthers(long id, List<List<Postings>> groups, Integer[] order) {
+        for (int g = 1; g < order.length; g++) {
+            boolean matched = false;
+            for (Postings postings : groups.get(order[g])) {
+                if (postings.contains(id)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the union of several posting lists from the highest id down,
+     * without building the union.
+     */
+    private static final class DescendingMerge {
+        private final PriorityQueue<int[]> heads; // {list, position}
+        private final List<Postings> lists;
+        private long previous = Long.MIN_VALUE;
+        private boolean started;
+
+        DescendingMerge(List<Postings> lists) {
+            this.lists = lists;
+            this.heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                    (a, b) -> Long.compare(value(b), value(a)));
+            for (int i = 0; i < lists.size(); i++) {
+                heads.add(new int[]{i, lists.get(i).size - 1});
+            }
+        }
+
+        boolean hasNext() {
+            skipDuplicates();
+            return !heads.isEmpty();
+        }
+
+        long next() {
+            int[] head = heads.poll();
+            long id = value(head);
+            if (--head[1] >= 0) {
+                heads.add(head);
+            }
+            previous = id;
+            started = true;
+            return id;
+        }
+
+        // The same id appears in several lists when a transaction has several matching terms
+        private void skipDuplicates() {
+            while (started && !heads.isEmpty() && value(heads.peek()) == previous) {
+                int[] head = heads.poll();
+                if (--head[1] >= 0) {
+                    heads.add(head);
+                }
+            }
+        }
+
+        private long value(int[] head) {
+            return lists.get(head[0]).ids[head[1]];
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free transaction ids
+     */
+    private static final class Postings {
+        long[] ids = new long[2];
+        int size;
+
+        boolean add(long id) {
+            if (size == 0 || id > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = id;
+                return true;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return false;
+            }
+            int insert = -at - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
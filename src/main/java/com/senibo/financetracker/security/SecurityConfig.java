@@ -1,24 +1,26 @@
 package com.senibo.financetracker.security;
 
-import com.senibo.financetracker.models.AppRole;
-import com.senibo.financetracker.models.Role;
-import com.senibo.financetracker.models.User;
-import com.senibo.financetracker.repositories.RoleRepository;
-import com.senibo.financetracker.repositories.UserRepository;
-import org.springframework.boot.CommandLineRunner;
+import com.senibo.financetracker.security.jwt.AuthTokenFilter;
+import com.senibo.financetracker.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
-import java.time.LocalDate;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -28,85 +30,67 @@ import java.time.LocalDate;
 public class SecurityConfig {
 
 
+    /**
+     * BCrypt with a configurable cost, wrapped so hashes are stored as "{bcrypt}...".
+     * Existing unprefixed hashes still verify; on the next successful login
+     * upgradeEncoding() reports them (or any hash with an outdated cost) as stale and
+     * UserDetailsServiceImpl.updatePassword stores a fresh hash.
+     *
+     * Hashing itself runs on a bounded pool, see PooledPasswordEncoder.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.hash-pool-size:0}") int hashPoolSize,
+            @Value("${app.security.password.hash-queue-capacity:64}") int hashQueueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = hashPoolSize > 0 ? hashPoolSize : Runtime.getRuntime().availableProcessors();
+        return new PooledPasswordEncoder(delegating, poolSize, hashQueueCapacity, meterRegistry);
     }
 
+    /**
+     * Metrics are only public on management.server.port, which deployments keep
+     * off the public network for Prometheus to scrape. Served on the application
+     * port (management port unset) they need an admin token like any other
+     * admin endpoint.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtils jwtUtils,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        RequestMatcher onManagementPort = request -> managementPort > 0 && request.getLocalPort() == managementPort;
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for testing APIs
+                // Stateless: clients authenticate every request with a Bearer token, no HttpSession
                 .sessionManagement(session ->
-                        session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(ex ->
+                        ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth ->
                         auth
                                 .requestMatchers("/api/auth/**").permitAll() // Public auth endpoints
                                 .requestMatchers("/api/public/**").permitAll() // Other public endpoints
+                                .requestMatchers("/actuator/health").permitAll() // Probes
+                                .requestMatchers(onManagementPort).permitAll() // Scraping, internal port only
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .anyRequest().authenticated() // All other endpoints require authentication
                 )
                 .formLogin(form -> form.disable()) // Disable default form login
-                .httpBasic(basic -> basic.disable()); // Disable basic auth
+                .httpBasic(basic -> basic.disable()) // Disable basic auth
+                .addFilterBefore(new AuthTokenFilter(jwtUtils), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Sign-in goes through our single-query username-or-email provider only
+     */
     @Bean
     public AuthenticationManager authenticationManager(
-            AuthenticationConfiguration authConfig) throws Exception {
-        return authConfig.getAuthenticationManager();
-    }
-
-
-
-    @Bean
-    public CommandLineRunner initData(RoleRepository roleRepository,
-                                      UserRepository userRepository,
-                                      PasswordEncoder passwordEncoder) {
-        return args -> {
-
-            Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
-                    .orElseGet(() -> {
-                        Role newRole = new Role(AppRole.ROLE_USER);
-                        return roleRepository.save(newRole);
-                    });
-
-            Role adminRole = roleRepository.findByRoleName(AppRole.ROLE_ADMIN)
-                    .orElseGet(() -> {
-                        Role newRole = new Role(AppRole.ROLE_ADMIN);
-                        return roleRepository.save(newRole);
-                    });
-
-            if (!userRepository.existsByUsername("user1")) {
-                User user1 = new User("user1@example.com", "user1", "user",
-                        "1", passwordEncoder.encode("userPassword"));
-                user1.setAccountNonLocked(false);
-                user1.setAccountNonExpired(true);
-                user1.setCredentialsNonExpired(true);
-                user1.setEnabled(true);
-                user1.setCredentialsExpiryDate(LocalDate.now().plusYears(1));
-                user1.setAccountExpiryDate(LocalDate.now().plusYears(1));
-                user1.setTwoFactorEnabled(false);
-                user1.setSignUpMethod("email");
-                user1.setRole(userRole);
-                userRepository.save(user1);
-            }
-
-            if (!userRepository.existsByUsername("admin1")) {
-                User admin = new User("admin1@example.com", "admin1", "admin",
-                        "1", passwordEncoder.encode("adminPassword"));
-                admin.setAccountNonLocked(true);
-                admin.setAccountNonExpired(true);
-                admin.setCredentialsNonExpired(true);
-                admin.setEnabled(true);
-                admin.setCredentialsExpiryDate(LocalDate.now().plusYears(1));
-                admin.setAccountExpiryDate(LocalDate.now().plusYears(1));
-                admin.setTwoFactorEnabled(false);
-                admin.setSignUpMethod("email");
-                admin.setRole(adminRole);
-                userRepository.save(admin);
-            }
-        };
-
+            UsernameOrEmailAuthenticationProvider usernameOrEmailAuthenticationProvider) {
+        return new ProviderManager(usernameOrEmailAuthenticationProvider);
     }
 }
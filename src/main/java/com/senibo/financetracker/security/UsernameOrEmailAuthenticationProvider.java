@@ -0,0 +1,124 @@
+package com.senibo.financetracker.security;
+
+import com.senibo.financetracker.datasource.ReadYourWrites;
+import com.senibo.financetracker.models.UserAuthView;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.services.UserAuthCache;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import com.senibo.financetracker.security.throttle.LoginAttemptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AccountExpiredException;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Authenticates a username-or-email plus password with exactly one query.
+ *
+ * The default DaoAuthenticationProvider only understands usernames, which
+ * forced sign-in to look the user up once to resolve the email and then again
+ * inside Spring Security. This provider resolves the login once through the
+ * lean UserAuthView projection and hands that same projection back in the
+ * Authentication details, so the caller can build UserResponse without
+ * touching the database again. Projections are kept in UserAuthCache, so a
+ * repeated sign-in costs no query at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameOrEmailAuthenticationProvider implements AuthenticationProvider {
+
+    // Used to spend the same hashing time when the user doesn't exist,
+    // so response times don't reveal which logins are registered
+    private static final String USER_NOT_FOUND_PASSWORD = "userNotFoundPassword";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final LoginAttemptService loginAttemptService;
+    private final ReadYourWrites readYourWrites;
+    private final UserAuthCache userAuthCache;
+
+    private volatile String userNotFoundEncodedPassword;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String login = authentication.getName();
+        String presentedPassword = authentication.getCredentials() != null
+                ? authentication.getCredentials().toString()
+                : "";
+
+        UserAuthView account = userAuthCache.get(login, key ->
+                        readYourWrites.readFor(key, () -> userRepository.findAuthViewByUsernameOrEmail(key)))
+                .orElse(null);
+        if (account == null) {
+            mitigateAgainstTimingAttack(presentedPassword);
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        checkAccountStatus(account);
+
+        if (!passwordEncoder.matches(presentedPassword, account.password())) {
+            // Counted per account, whichever login form was used
+            loginAttemptService.onFailure(account.userId());
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(account);
+        if (passwordEncoder.upgradeEncoding(account.password())) {
+            userDetailsPasswordService.updatePassword(userDetails, passwordEncoder.encode(presentedPassword));
+        }
+
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                userDetails, null, userDetails.getAuthorities());
+        // The projection travels with the token so AuthServiceImpl can reuse it
+        result.setDetails(account);
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private void checkAccountStatus(UserAuthView account) {
+        if (!account.accountNonLocked() && !lockHasExpired(account)) {
+            throw new LockedException("Account is locked");
+        }
+        if (!account.enabled()) {
+            throw new DisabledException("Please verify your email before signing in");
+        }
+        if (!account.accountNonExpired()) {
+            throw new AccountExpiredException("Account has expired");
+        }
+        if (!account.credentialsNonExpired()) {
+            throw new CredentialsExpiredException("Password has expired");
+        }
+    }
+
+    /**
+     * Automatic lockouts carry a lockedUntil and lift themselves once it has passed;
+     * accounts locked by hand (lockedUntil null) stay locked.
+     */
+    private boolean lockHasExpired(UserAuthView account) {
+        return account.lockedUntil() != null
+                && !account.lockedUntil().isAfter(LocalDateTime.now())
+                && loginAttemptService.unlockIfExpired(account.userId());
+    }
+
+    private void mitigateAgainstTimingAttack(String presentedPassword) {
+        if (userNotFoundEncodedPassword == null) {
+            userNotFoundEncodedPassword = passwordEncoder.encode(USER_NOT_FOUND_PASSWORD);
+        }
+        passwordEncoder.matches(presentedPassword, userNotFoundEncodedPassword);
+    }
+}
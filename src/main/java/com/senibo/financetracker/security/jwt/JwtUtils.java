@@ -0,0 +1,136 @@
+package com.senibo.financetracker.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies signed access tokens.
+ *
+ * The signing key is derived once at startup rather than on every call, and
+ * tokens that have already been verified are kept in a bounded cache so a
+ * client hitting the API repeatedly with the same token only pays for the
+ * signature check the first time. Each cached token expires from the cache
+ * when the token itself expires.
+ */
+@Component
+@Slf4j
+public class JwtUtils {
+
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLES = "roles";
+
+    private final SecretKey signingKey;
+    private final long expirationMs;
+    private final Clock clock;
+
+    // token -> verified claims, until the token's exp
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    @Autowired
+    public JwtUtils(@Value("${app.jwt.secret}") String secret,
+                    @Value("${app.jwt.expiration-ms:3600000}") long expirationMs,
+                    @Value("${app.jwt.cache-size:10000}") long cacheSize,
+                    MeterRegistry meterRegistry) {
+        this(secret, expirationMs, cacheSize, meterRegistry, Clock.systemUTC());
+    }
+
+    JwtUtils(String secret, long expirationMs, long cacheSize, MeterRegistry meterRegistry, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.expirationMs = expirationMs;
+        this.clock = clock;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String token, TokenClaims claims) ->
+                        Duration.ofMillis(Math.max(0, claims.expiresAtMillis() - clock.millis()))))
+                .ticker(() -> clock.millis() * 1_000_000)
+                // Evict on the calling thread, so the size bound holds at once (a size of 0 caches nothing)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-tokens");
+    }
+
+    public String generateToken(UserDetailsImpl userDetails) {
+        Date now = new Date(clock.millis());
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return Jwts.builder()
+                .subject(userDetails.getUsername())
+                .claim(CLAIM_USER_ID, userDetails.getId())
+                .claim(CLAIM_ROLES, roles)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expirationMs))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Token lifetime in seconds, as reported back to the client in SignInResponse
+     */
+    public long getExpiresInSeconds() {
+        return expirationMs / 1000;
+    }
+
+    /**
+     * Returns the claims of a valid, unexpired token, or empty if the token
+     * is malformed, tampered with or expired.
+     */
+    public Optional<TokenClaims> validate(String token) {
+        TokenClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .clock(() -> new Date(clock.millis()))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+
+            TokenClaims parsed = new TokenClaims(
+                    claims.get(CLAIM_USER_ID, Long.class),
+                    claims.getSubject(),
+                    readRoles(claims),
+                    claims.getExpiration().getTime()
+            );
+            verifiedTokens.put(token, parsed);
+            return Optional.of(parsed);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private List<String> readRoles(Claims claims) {
+        Object raw = claims.get(CLAIM_ROLES);
+        if (raw instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,26 @@
+package com.senibo.financetracker.security.jwt;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The parts of a verified access token the request filter actually needs.
+ *
+ * Keeping this as a small immutable record means a verified token can be
+ * cached and shared between request threads without any copying.
+ *
+ * It is also the principal of token-authenticated requests, so controllers get
+ * the user id with @AuthenticationPrincipal instead of looking the user up.
+ */
+public record TokenClaims(
+        Long userId,
+        String username,
+        List<String> roles,
+        long expiresAtMillis
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
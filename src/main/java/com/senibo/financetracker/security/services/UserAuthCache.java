@@ -0,0 +1,67 @@
+package com.senibo.financetracker.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senibo.financetracker.events.UserAuthChangedEvent;
+import com.senibo.financetracker.models.UserAuthView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Keeps the UserAuthView that sign-in loads, keyed by the login as typed
+ * (username or email), so repeated sign-ins skip the lookup query.
+ *
+ * Only accounts that exist are cached: unknown logins, which is what
+ * credential stuffing sends, are looked up every time and cannot push real
+ * accounts out. Verification, password changes, lockouts and role changes
+ * publish UserAuthChangedEvent, and this node drops the user's entries once
+ * the change commits. Entries also expire after ttl-seconds, which bounds how
+ * long a change made on another node (or straight in the database) goes unseen.
+ *
+ * Hit/miss/eviction stats are exported as the "user-auth" cache metrics.
+ */
+@Component
+public class UserAuthCache {
+
+    private final Cache<String, UserAuthView> cache;
+
+    public UserAuthCache(MeterRegistry meterRegistry,
+                         @Value("${app.security.auth-cache.max-size:10000}") long maxSize,
+                         @Value("${app.security.auth-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-auth");
+    }
+
+    /**
+     * The account for this login, from the cache or else from lookup
+     */
+    public Optional<UserAuthView> get(String login, Function<String, Optional<UserAuthView>> lookup) {
+        return Optional.ofNullable(cache.get(login, key -> lookup.apply(key).orElse(null)));
+    }
+
+    /**
+     * Runs after commit, or at once when published outside a transaction.
+     * The same account can be cached under several logins ("Alice", "alice",
+     * "alice@example.com"), so entries are matched by user id; the username and
+     * email are also invalidated by key, which waits out a lookup of them still
+     * in flight.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAuthChanged(UserAuthChangedEvent event) {
+        cache.invalidate(event.username());
+        cache.invalidate(event.email());
+        cache.asMap().values().removeIf(account -> account.userId().equals(event.userId()));
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Objects;
 
 import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -59,6 +60,20 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    public static UserDetailsImpl build(UserAuthView user) {
+        GrantedAuthority authority = new SimpleGrantedAuthority(user.roleName().name());
+
+        return new UserDetailsImpl(
+                user.userId(),
+                user.username(),
+                user.email(),
+                user.firstName(),
+                user.lastName(),
+                user.password(),
+                user.twoFactorEnabled(),
+                List.of(authority)
+        );
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
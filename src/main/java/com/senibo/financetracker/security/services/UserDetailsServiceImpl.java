@@ -1,25 +1,45 @@
 package com.senibo.financetracker.security.services;
 
+import com.senibo.financetracker.events.UserAuthChangedEvent;
 import com.senibo.financetracker.models.User;
 import com.senibo.financetracker.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Only the password-upgrade half of Spring Security's user services is needed:
+ * sign-in loads accounts itself (UsernameOrEmailAuthenticationProvider) and
+ * every other request is authenticated from the JWT claims, so nothing would
+ * ever call a UserDetailsService.
+ */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Called by Spring Security after a successful login when the stored hash
+     * is outdated (legacy format or lower BCrypt cost than configured).
+     */
     @Override
     @Transactional
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + userDetails.getUsername()));
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserAuthChangedEvent(user.getUserId(), user.getUsername(), user.getEmail()));
+        log.info("Rehashed password for user {}", user.getUsername());
 
         return UserDetailsImpl.build(user);
     }
@@ -0,0 +1,138 @@
+package com.senibo.financetracker.security.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, memory-bounded RateLimitStore for a single node.
+ *
+ * Rate limits use GCRA (the "virtual scheduling" form of a token bucket):
+ * each key stores one long, the theoretical arrival time (TAT) of the next
+ * request, and is updated with a CAS loop. A key whose TAT is in the past is
+ * indistinguishable from a brand new key, so it can be dropped at any time;
+ * that is how idle keys get evicted.
+ *
+ * Failure counters pack "window start millis" and "count" into one long, also updated by CAS.
+ *
+ * Both maps are capped at maxKeys. When full, idle entries are swept first,
+ * and if that is not enough arbitrary entries are dropped. A flood of new keys
+ * therefore cannot exhaust the heap.
+ */
+@Component
+@Slf4j
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryRateLimitStore(@Value("${app.security.login.max-tracked-keys:100000}") int maxKeys) {
+        this(maxKeys, Clock.systemUTC());
+    }
+
+    InMemoryRateLimitStore(int maxKeys, Clock clock) {
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = clock.millis();
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            ensureCapacity(buckets, now, 0);
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + limit.intervalMillis();
+            long wait = next - now - limit.periodMillis();
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public int recordFailure(String key, Duration window) {
+        long now = clock.millis();
+        long windowMillis = window.toMillis();
+        AtomicLong state = failures.get(key);
+        if (state == null) {
+            ensureCapacity(failures, now, windowMillis);
+            state = failures.computeIfAbsent(key, k -> new AtomicLong(pack(now, 0)));
+        }
+
+        while (true) {
+            long current = state.get();
+            long windowStart = current >>> COUNT_BITS;
+            int count = (int) (current & COUNT_MASK);
+
+            long updated = now - windowStart >= windowMillis
+                    ? pack(now, 1)
+                    : pack(windowStart, Math.min(count + 1, (int) COUNT_MASK));
+            if (state.compareAndSet(current, updated)) {
+                return (int) (updated & COUNT_MASK);
+            }
+        }
+    }
+
+    @Override
+    public void clearFailures(String key) {
+        failures.remove(key);
+    }
+
+    /**
+     * Rate limit and failure entries currently held
+     */
+    int trackedKeys() {
+        return buckets.size() + failures.size();
+    }
+
+    private static long pack(long windowStart, int count) {
+        return (windowStart << COUNT_BITS) | count;
+    }
+
+    /**
+     * For buckets (windowMillis == 0) an entry is idle once its TAT has passed;
+     * for failure counters once its window has expired.
+     */
+    private void ensureCapacity(ConcurrentHashMap<String, AtomicLong> map, long now, long windowMillis) {
+        if (map.size() < maxKeys) {
+            return;
+        }
+        if (windowMillis == 0) {
+            map.values().removeIf(tat -> tat.get() <= now);
+        } else {
+            map.values().removeIf(state -> now - (state.get() >>> COUNT_BITS) >= windowMillis);
+        }
+
+        Iterator<String> it = map.keySet().iterator();
+        int dropped = 0;
+        while (map.size() >= maxKeys && it.hasNext()) {
+            it.next();
+            it.remove();
+            dropped++;
+        }
+        if (dropped > 0) {
+            log.warn("Rate limit store full, dropped {} active entries", dropped);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.senibo.financetracker.security.throttle;
+
+import com.senibo.financetracker.datasource.ReadYourWrites;
+import com.senibo.financetracker.events.UserAuthChangedEvent;
+import com.senibo.financetracker.exceptions.TooManyAttemptsException;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Login throttling and automatic account lockout.
+ *
+ * checkAllowed() runs before any database or hashing work and rejects a
+ * request if either the client IP or the targeted login (case-insensitive) is
+ * over its rate limit.
+ * Wrong passwords are counted per account, keyed by user id, so guesses spread
+ * across "Alice", "alice" and "alice@example.com" all add up. maxFailures within
+ * failureWindow lock the account in the database (accountNonLocked = false)
+ * until lockoutDuration has passed; the next login attempt after that unlocks it again.
+ */
+@Service
+@Slf4j
+public class LoginAttemptService {
+
+    private final RateLimitStore store;
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final RateLimit ipLimit;
+    private final RateLimit loginLimit;
+    private final int maxFailures;
+    private final Duration failureWindow;
+    private final Duration lockoutDuration;
+
+    public LoginAttemptService(RateLimitStore store,
+                               UserRepository userRepository,
+                               ReadYourWrites readYourWrites,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.security.login.ip-attempts-per-minute:30}") int ipAttemptsPerMinute,
+                               @Value("${app.security.login.user-attempts-per-minute:10}") int userAttemptsPerMinute,
+                               @Value("${app.security.login.max-failures:5}") int maxFailures,
+                               @Value("${app.security.login.failure-window-seconds:900}") long failureWindowSeconds,
+                               @Value("${app.security.login.lockout-seconds:900}") long lockoutSeconds) {
+        this.store = store;
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.eventPublisher = eventPublisher;
+        this.ipLimit = new RateLimit(ipAttemptsPerMinute, Duration.ofMinutes(1));
+        this.loginLimit = new RateLimit(userAttemptsPerMinute, Duration.ofMinutes(1));
+        this.maxFailures = maxFailures;
+        this.failureWindow = Duration.ofSeconds(failureWindowSeconds);
+        this.lockoutDuration = Duration.ofSeconds(lockoutSeconds);
+    }
+
+    public void checkAllowed(String clientIp, String login) {
+        long wait = store.tryAcquire("ip:" + clientIp, ipLimit);
+        if (wait == 0) {
+            wait = store.tryAcquire("login:" + normalize(login), loginLimit);
+        }
+        if (wait > 0) {
+            throw new TooManyAttemptsException("Too many sign-in attempts, please try again later",
+                    Math.max(1, (wait + 999) / 1000));
+        }
+    }
+
+    public void onSuccess(Long userId) {
+        store.clearFailures(failureKey(userId));
+    }
+
+    /**
+     * Counts a wrong password for an existing account and locks it once
+     * maxFailures is reached. Only the locking attempt itself touches the database.
+     */
+    @Transactional
+    public void onFailure(Long userId) {
+        String key = failureKey(userId);
+        int failures = store.recordFailure(key, failureWindow);
+        if (failures < maxFailures) {
+            return;
+        }
+
+        store.clearFailures(key);
+        userRepository.findById(userId).ifPresent(user -> {
+            if (user.isAccountNonLocked()) {
+                user.setAccountNonLocked(false);
+                user.setLockedUntil(LocalDateTime.now().plus(lockoutDuration));
+                userRepository.save(user);
+                readYourWrites.markWritten(user.getUsername(), user.getEmail());
+                eventPublisher.publishEvent(new UserAuthChangedEvent(user.getUserId(), user.getUsername(), user.getEmail()));
+                log.warn("Locked account {} after {} failed sign-in attempts", user.getUsername(), failures);
+            }
+        });
+    }
+
+    /**
+     * Lifts an automatic lock whose cooldown has passed.
+     *
+     * @return true if the account is usable again
+     */
+    @Transactional
+    public boolean unlockIfExpired(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.isAccountNonLocked()) {
+            return user != null;
+        }
+        if (user.getLockedUntil() == null || user.getLockedUntil().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        user.setAccountNonLocked(true);
+        user.setLockedUntil(null);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserAuthChangedEvent(user.getUserId(), user.getUsername(), user.getEmail()));
+        log.info("Automatic lock on account {} expired", user.getUsername());
+        return true;
+    }
+
+    private static String failureKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    private String normalize(String login) {
+        return login == null ? "" : login.trim().toLowerCase(Locale.ROOT);
+    }
+}
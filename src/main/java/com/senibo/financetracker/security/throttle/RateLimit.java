@@ -0,0 +1,18 @@
+package com.senibo.financetracker.security.throttle;
+
+import java.time.Duration;
+
+/**
+ * "permits per period", e.g. 10 attempts per minute. Up to permits may be used
+ * in a burst, after which one permit frees up every period / permits.
+ */
+public record RateLimit(int permits, Duration period) {
+
+    public long periodMillis() {
+        return period.toMillis();
+    }
+
+    public long intervalMillis() {
+        return Math.max(1, period.toMillis() / permits);
+    }
+}
@@ -0,0 +1,29 @@
+package com.senibo.financetracker.security.throttle;
+
+import java.time.Duration;
+
+/**
+ * Storage for login rate limits and failure counters.
+ *
+ * InMemoryRateLimitStore keeps everything in this JVM. To share limits across
+ * nodes, provide another implementation (e.g. backed by Redis) as a @Primary bean.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @return 0 if the permit was granted, otherwise how many milliseconds
+     *         until the next permit becomes available
+     */
+    long tryAcquire(String key, RateLimit limit);
+
+    /**
+     * Counts a failed attempt. The count restarts once window has passed since the first failure.
+     *
+     * @return failures recorded in the current window, including this one
+     */
+    int recordFailure(String key, Duration window);
+
+    void clearFailures(String key);
+}
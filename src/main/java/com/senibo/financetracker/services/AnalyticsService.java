@@ -0,0 +1,20 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.analytics.TimeBucket;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.dtos.responses.ConvertedSummary;
+import com.senibo.financetracker.dtos.responses.SpendingSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+    SpendingSummary getSummary(Long userId, String currency, String category, LocalDate from, LocalDate to);
+
+    ConvertedSummary getConvertedSummary(Long userId, String currency, String category, LocalDate from, LocalDate to);
+
+    List<CategoryTotal> getTopCategories(Long userId, String currency, LocalDate from, LocalDate to, int limit);
+
+    List<BalanceBucket> getTimeSeries(Long userId, String currency, TimeBucket bucket, LocalDate from, LocalDate to);
+}
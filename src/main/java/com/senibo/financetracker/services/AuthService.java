@@ -8,6 +8,6 @@ import com.senibo.financetracker.dtos.responses.SignInResponse;
 public interface AuthService {
     void registerUser(SignUpRequest signUpRequest);
     void verifyEmail(EmailVerificationRequest request);
-    SignInResponse authenticateUser(SignInRequest signInRequest);
+    SignInResponse authenticateUser(SignInRequest signInRequest, String clientIp);
     void resendVerificationCode(String email);
 }
@@ -0,0 +1,16 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.requests.BudgetRequest;
+import com.senibo.financetracker.dtos.responses.BudgetResponse;
+
+import java.util.List;
+
+public interface BudgetService {
+    List<BudgetResponse> getBudgets(Long userId);
+
+    BudgetResponse createBudget(Long userId, BudgetRequest request);
+
+    BudgetResponse updateBudget(Long userId, Long budgetId, BudgetRequest request);
+
+    void deleteBudget(Long userId, Long budgetId);
+}
@@ -0,0 +1,19 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.requests.CategoryRuleRequest;
+import com.senibo.financetracker.dtos.responses.CategoryRuleResponse;
+
+import java.util.List;
+
+/**
+ * Rules of one user, or the global rules when userId is null
+ */
+public interface CategoryRuleService {
+    List<CategoryRuleResponse> getRules(Long userId);
+
+    CategoryRuleResponse createRule(Long userId, CategoryRuleRequest request);
+
+    CategoryRuleResponse updateRule(Long userId, Long ruleId, CategoryRuleRequest request);
+
+    void deleteRule(Long userId, Long ruleId);
+}
@@ -0,0 +1,14 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.models.RollupPeriod;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DashboardService {
+    List<BalanceBucket> getBalance(Long userId, RollupPeriod period, LocalDate from, LocalDate to);
+
+    List<CategoryTotal> getCategoryTotals(Long userId, LocalDate from, LocalDate to);
+}
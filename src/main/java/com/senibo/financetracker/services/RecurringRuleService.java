@@ -0,0 +1,16 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.requests.RecurringRuleRequest;
+import com.senibo.financetracker.dtos.responses.RecurringRuleResponse;
+
+import java.util.List;
+
+public interface RecurringRuleService {
+    List<RecurringRuleResponse> getRules(Long userId);
+
+    RecurringRuleResponse createRule(Long userId, RecurringRuleRequest request);
+
+    RecurringRuleResponse updateRule(Long userId, Long ruleId, RecurringRuleRequest request);
+
+    void deleteRule(Long userId, Long ruleId);
+}
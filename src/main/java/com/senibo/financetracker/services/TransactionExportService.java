@@ -0,0 +1,15 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.exports.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+    /**
+     * Writes the user's whole ledger, oldest first, to out
+     *
+     * @return number of transactions written
+     */
+    long exportTransactions(Long userId, ExportFormat format, OutputStream out) throws IOException;
+}
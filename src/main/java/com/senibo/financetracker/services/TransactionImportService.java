@@ -0,0 +1,16 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.responses.ImportProgress;
+import com.senibo.financetracker.imports.StatementFormat;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TransactionImportService {
+    /**
+     * @param progressListener called after each saved batch
+     * @return the final progress, with done = true
+     */
+    ImportProgress importStatement(Long userId, InputStream statement, StatementFormat format,
+                                   String defaultCurrency, Consumer<ImportProgress> progressListener);
+}
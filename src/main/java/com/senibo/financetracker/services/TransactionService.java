@@ -0,0 +1,21 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.CursorPage;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+
+import java.util.List;
+
+public interface TransactionService {
+    TransactionResponse createTransaction(Long userId, TransactionRequest request);
+
+    TransactionResponse getTransaction(Long userId, Long transactionId);
+
+    TransactionResponse updateTransaction(Long userId, Long transactionId, TransactionRequest request);
+
+    void deleteTransaction(Long userId, Long transactionId);
+
+    CursorPage<TransactionResponse> getHistory(Long userId, String cursor, int limit);
+
+    List<TransactionResponse> searchTransactions(Long userId, String query, int limit);
+}
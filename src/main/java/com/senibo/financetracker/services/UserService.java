@@ -1,6 +1,9 @@
 package com.senibo.financetracker.services;
 
 
-public interface UserService {
+import com.senibo.financetracker.dtos.requests.BulkSignUpRequest;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse;
 
+public interface UserService {
+    BulkSignUpResponse importUsers(BulkSignUpRequest request);
 }
@@ -0,0 +1,166 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.analytics.LedgerAnalyticsCache;
+import com.senibo.financetracker.analytics.LedgerColumns;
+import com.senibo.financetracker.analytics.LedgerColumns.Aggregates;
+import com.senibo.financetracker.analytics.LedgerColumns.CurrencyDay;
+import com.senibo.financetracker.analytics.TimeBucket;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.dtos.responses.ConvertedSummary;
+import com.senibo.financetracker.dtos.responses.SpendingSummary;
+import com.senibo.financetracker.fx.FxRateTable;
+import com.senibo.financetracker.fx.FxRates;
+import com.senibo.financetracker.services.AnalyticsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Reports computed in memory from LedgerAnalyticsCache rather than in SQL.
+ *
+ * Unlike the dashboard, these work at any granularity (weeks, quarters,
+ * years) and any date range without extra rollup tables; each query is one
+ * pass over the user's cached columns.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final LedgerAnalyticsCache analyticsCache;
+    private final FxRates fxRates;
+    private final int maxBuckets;
+
+    public AnalyticsServiceImpl(LedgerAnalyticsCache analyticsCache,
+                                FxRates fxRates,
+                                @Value("${app.analytics.max-buckets:3660}") int maxBuckets) {
+        this.analyticsCache = analyticsCache;
+        this.fxRates = fxRates;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public SpendingSummary getSummary(Long userId, String currency, String category, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        Aggregates totals = analyticsCache.columns(userId).total(currency, category, from, to);
+        BigDecimal inflow = totals.inflow(0);
+        BigDecimal outflow = totals.outflow(0);
+        BigDecimal net = inflow.add(outflow);
+        long count = totals.count(0);
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        BigDecimal average = count == 0 ? BigDecimal.ZERO : divide(net, count);
+        return new SpendingSummary(currency, category, from, to, inflow, outflow, net, count,
+                average, divide(outflow, days));
+    }
+
+    /**
+     * Rows are first summed per currency and day, then each non-empty
+     * currency-day is converted once at that day's rate. Rows in currencies
+     * with no rate for their day are counted but left out of the totals.
+     */
+    @Override
+    public ConvertedSummary getConvertedSummary(Long userId, String currency, String category, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<CurrencyDay> cells = analyticsCache.columns(userId).totalByCurrencyAndDay(category, from, to);
+        FxRateTable rates = fxRates.table();
+
+        BigDecimal inflow = BigDecimal.ZERO;
+        BigDecimal outflow = BigDecimal.ZERO;
+        long count = 0;
+        long unconverted = 0;
+        TreeSet<String> missing = new TreeSet<>();
+        for (CurrencyDay cell : cells) {
+            BigDecimal factor = rates.factor(cell.currency(), currency, cell.day().toEpochDay());
+            if (factor == null) {
+                unconverted += cell.count();
+                missing.add(cell.currency());
+                continue;
+            }
+            inflow = inflow.add(cell.inflow().multiply(factor));
+            outflow = outflow.add(cell.outflow().multiply(factor));
+            count += cell.count();
+        }
+        inflow = inflow.setScale(LedgerColumns.SCALE, RoundingMode.HALF_UP);
+        outflow = outflow.setScale(LedgerColumns.SCALE, RoundingMode.HALF_UP);
+        return new ConvertedSummary(currency, category, from, to, inflow, outflow, inflow.add(outflow),
+                count, unconverted, List.copyOf(missing));
+    }
+
+    /**
+     * Categories with the biggest spend first; categories with no outflow in
+     * the range are left out.
+     */
+    @Override
+    public List<CategoryTotal> getTopCategories(Long userId, String currency, LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        LedgerColumns columns = analyticsCache.columns(userId);
+        Aggregates byCategory = columns.totalByCategory(currency, from, to);
+
+        Integer[] order = new Integer[byCategory.buckets()];
+        int candidates = 0;
+        for (int c = 0; c < byCategory.buckets(); c++) {
+            if (byCategory.outflowUnits(c) < 0) {
+                order[candidates++] = c;
+            }
+        }
+        // Outflow is negative, so ascending order is biggest spend first
+        Arrays.sort(order, 0, candidates, Comparator.comparingLong(byCategory::outflowUnits));
+
+        int n = Math.min(Math.max(limit, 1), candidates);
+        List<CategoryTotal> top = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int c = order[i];
+            top.add(new CategoryTotal(columns.categoryName(c), currency,
+                    byCategory.inflow(c), byCategory.outflow(c), byCategory.count(c)));
+        }
+        return top;
+    }
+
+    /**
+     * Every bucket from the one containing "from" to the one containing "to",
+     * including empty ones, so charts don't have gaps.
+     */
+    @Override
+    public List<BalanceBucket> getTimeSeries(Long userId, String currency, TimeBucket bucket, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = bucket.bucketStart(from); !start.isAfter(to); start = bucket.next(start)) {
+            if (starts.size() == maxBuckets) {
+                throw new IllegalArgumentException("Too many buckets, use a larger bucket or a shorter range (max " + maxBuckets + ")");
+            }
+            starts.add(start);
+        }
+        int[] startDays = new int[starts.size()];
+        for (int i = 0; i < startDays.length; i++) {
+            startDays[i] = (int) starts.get(i).toEpochDay();
+        }
+        // The first bucket may start before "from"; only count days inside the range
+        startDays[0] = (int) from.toEpochDay();
+
+        Aggregates byBucket = analyticsCache.columns(userId).totalByBucket(currency, startDays, (int) to.toEpochDay());
+        List<BalanceBucket> series = new ArrayList<>(startDays.length);
+        for (int i = 0; i < startDays.length; i++) {
+            series.add(new BalanceBucket(starts.get(i), currency,
+                    byBucket.inflow(i), byBucket.outflow(i), byBucket.count(i)));
+        }
+        return series;
+    }
+
+    private static BigDecimal divide(BigDecimal amount, long by) {
+        return amount.divide(BigDecimal.valueOf(by), LedgerColumns.SCALE, RoundingMode.HALF_UP);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+}
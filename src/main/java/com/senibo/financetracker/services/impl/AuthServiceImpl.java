@@ -1,23 +1,35 @@
 package com.senibo.financetracker.services.impl;
 
+import com.senibo.financetracker.datasource.ReadYourWrites;
 import com.senibo.financetracker.dtos.requests.EmailVerificationRequest;
 import com.senibo.financetracker.dtos.requests.SignInRequest;
 import com.senibo.financetracker.dtos.requests.SignUpRequest;
 import com.senibo.financetracker.dtos.responses.SignInResponse;
 import com.senibo.financetracker.dtos.responses.UserResponse;
+import com.senibo.financetracker.events.UserAuthChangedEvent;
 import com.senibo.financetracker.models.AppRole;
-import com.senibo.financetracker.models.Role;
 import com.senibo.financetracker.models.User;
-import com.senibo.financetracker.repositories.RoleRepository;
+import com.senibo.financetracker.models.UserAuthView;
 import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.jwt.JwtUtils;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import com.senibo.financetracker.security.throttle.LoginAttemptService;
 import com.senibo.financetracker.services.AuthService;
 import com.senibo.financetracker.utils.EmailService;
+import com.senibo.financetracker.utils.RoleReferences;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,26 +37,29 @@ import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
+@Timed(value = "auth.service", description = "Time spent in AuthService methods",
+        histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleReferences roleReferences;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
+    private final JwtUtils jwtUtils;
+    private final LoginAttemptService loginAttemptService;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public void registerUser(SignUpRequest signUpRequest) {
-        // Debug logging
-        System.out.println("SignUpRequest email: [" + signUpRequest.email() + "]");
-        System.out.println("Email length: " + signUpRequest.email().length());
-
-        if(userRepository.existsByEmail(signUpRequest.email()))
-            throw new IllegalArgumentException("Email address already in use.");
-
-        if(userRepository.existsByUsername(signUpRequest.username()))
-            throw new IllegalArgumentException("Username already in use.");
+        log.debug("Registering user with email [{}]", signUpRequest.email());
 
+        // No existsBy* pre-checks: they cost two round trips and still race each other.
+        // The unique constraints on users.email / users.username reject duplicates and
+        // GlobalExceptionHandler maps the violated constraint to DUPLICATE_EMAIL / DUPLICATE_USERNAME.
         User user = new User();
         user.setUsername(signUpRequest.username());
         user.setEmail(signUpRequest.email());
@@ -62,28 +77,25 @@ public class AuthServiceImpl implements AuthService {
         user.setTwoFactorEnabled(false);
         user.setSignUpMethod("email");
 
-        // Assign default role
-        Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
-                .orElseThrow(() -> new IllegalStateException("Default user role not found"));
-        user.setRole(userRole);
+        // Assign default role (cached id, no lookup query)
+        user.setRole(roleReferences.referenceTo(AppRole.ROLE_USER));
 
         // Business Logic: Generate verification code
         String verificationCode = generateVerificationCode();
         user.setEmailVerificationCode(verificationCode);
         user.setEmailVerificationExpiry(LocalDateTime.now().plusHours(24));
 
-        // Debug the user object before saving
-        System.out.println("User email before save: [" + user.getEmail() + "]");
-
         userRepository.save(user);
 
-        //Send verification code
-        emailService.sendVerificationEmail(user.getEmail(), verificationCode);
+        // Queue verification code in the outbox; delivered asynchronously after commit
+        emailService.queueVerificationEmail(user.getEmail(), verificationCode);
+        // The verify-email call that follows must find this user even if replicas lag
+        readYourWrites.markWritten(user.getEmail(), user.getUsername());
     }
 
     @Override
     public void verifyEmail(EmailVerificationRequest request) {
-        User user = userRepository.findByEmail(request.email())
+        User user = readYourWrites.readFor(request.email(), () -> userRepository.findByEmail(request.email()))
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         // Business Rule: Can't verify already verified account
@@ -100,39 +112,50 @@ public class AuthServiceImpl implements AuthService {
         user.setEmailVerificationExpiry(null);
 
         userRepository.save(user);
+        // Signing in right after verifying must not read the old, disabled row from a replica
+        readYourWrites.markWritten(user.getUserId(), user.getEmail(), user.getUsername());
+        eventPublisher.publishEvent(new UserAuthChangedEvent(user.getUserId(), user.getUsername(), user.getEmail()));
     }
 
     @Override
-    public SignInResponse authenticateUser(SignInRequest signInRequest) {
-        // Business Logic: Find user by username or email
-        User user = userRepository.findByUsernameOrEmail(
-                        signInRequest.usernameOrEmail(),
-                        signInRequest.usernameOrEmail())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
-
-        // Business Rule: Account must be verified
-        if (!user.isEnabled()) {
+    public SignInResponse authenticateUser(SignInRequest signInRequest, String clientIp) {
+        // Security: Reject throttled clients before any database or hashing work
+        loginAttemptService.checkAllowed(clientIp, signInRequest.usernameOrEmail());
+
+        // Security: UsernameOrEmailAuthenticationProvider resolves the account and
+        // checks the password in a single query
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            signInRequest.usernameOrEmail(),
+                            signInRequest.password()));
+        } catch (DisabledException e) {
+            // Business Rule: Account must be verified
             throw new IllegalStateException("Please verify your email before signing in");
+        } catch (LockedException e) {
+            throw new IllegalStateException("Account is locked");
+        } catch (AuthenticationException e) {
+            // Wrong passwords were already counted against the account by the provider
+            throw new IllegalArgumentException("Invalid credentials");
         }
 
-        // Security: Authenticate with Spring Security
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        user.getUsername(),
-                        signInRequest.password()));
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        UserAuthView account = (UserAuthView) authentication.getDetails();
+        loginAttemptService.onSuccess(account.userId());
 
-        if (!authentication.isAuthenticated()) {
-            throw new IllegalArgumentException("Invalid credentials");
-        }
+        // Issue a signed access token so the client can call protected endpoints statelessly
+        String token = jwtUtils.generateToken(userDetails);
 
         // Convert to response DTO
-        UserResponse userResponse = UserResponse.fromUser(user);
-        return SignInResponse.success(userResponse);
+        UserResponse userResponse = UserResponse.fromUser(account);
+        return SignInResponse.successWithTokens(userResponse, token, null, jwtUtils.getExpiresInSeconds());
     }
 
     @Override
+    @Transactional
     public void resendVerificationCode(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = readYourWrites.readFor(email, () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         // Business Rule: Can't resend to verified account
@@ -146,7 +169,8 @@ public class AuthServiceImpl implements AuthService {
         user.setEmailVerificationExpiry(LocalDateTime.now().plusHours(24));
 
         userRepository.save(user);
-        emailService.sendVerificationEmail(email, verificationCode);
+        emailService.queueVerificationEmail(email, verificationCode);
+        readYourWrites.markWritten(user.getEmail(), user.getUsername());
     }
 
 
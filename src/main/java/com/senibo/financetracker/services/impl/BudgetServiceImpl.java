@@ -0,0 +1,87 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.budgets.BudgetEngine;
+import com.senibo.financetracker.dtos.requests.BudgetRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.BudgetResponse;
+import com.senibo.financetracker.events.BudgetChangedEvent;
+import com.senibo.financetracker.exceptions.ResourceNotFoundException;
+import com.senibo.financetracker.models.Budget;
+import com.senibo.financetracker.repositories.BudgetAlertRepository;
+import com.senibo.financetracker.repositories.BudgetRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.BudgetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetServiceImpl implements BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final UserRepository userRepository;
+    private final BudgetEngine budgetEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Spend comes from the month's ledger_rollups rows, one query for all budgets
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getBudgets(Long userId) {
+        List<Budget> budgets = budgetRepository.findByUserUserIdOrderByCategory(userId);
+        Map<Long, BigDecimal> spend = budgetEngine.currentSpend(userId, budgets);
+        return budgets.stream()
+                .map(budget -> BudgetResponse.fromBudget(budget, spend.get(budget.getId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public BudgetResponse createBudget(Long userId, BudgetRequest request) {
+        Budget budget = budgetRepository.saveAndFlush(new Budget(
+                userRepository.getReferenceById(userId),
+                request.category(),
+                request.currency(),
+                request.monthlyLimit()));
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId, budget.getId()));
+        return BudgetResponse.fromBudget(budget, budgetEngine.currentSpend(budget));
+    }
+
+    @Override
+    @Transactional
+    public BudgetResponse updateBudget(Long userId, Long budgetId, BudgetRequest request) {
+        Budget budget = findOwned(userId, budgetId);
+        if (!budget.getCategory().equals(request.category()) || !budget.getCurrency().equals(request.currency())) {
+            // Different spending is tracked now, earlier alerts don't apply to it
+            budgetAlertRepository.deleteByBudgetId(budgetId);
+        }
+        budget.setCategory(request.category());
+        budget.setCurrency(request.currency());
+        budget.setMonthlyLimit(request.monthlyLimit());
+        budgetRepository.saveAndFlush(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId, budgetId));
+        return BudgetResponse.fromBudget(budget, budgetEngine.currentSpend(budget));
+    }
+
+    @Override
+    @Transactional
+    public void deleteBudget(Long userId, Long budgetId) {
+        Budget budget = findOwned(userId, budgetId);
+        budgetAlertRepository.deleteByBudgetId(budgetId);
+        budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId, budgetId));
+    }
+
+    private Budget findOwned(Long userId, Long budgetId) {
+        return budgetRepository.findByIdAndUserUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(ApiError.BUDGET_NOT_FOUND, "Budget not found"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.dtos.requests.CategoryRuleRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.CategoryRuleResponse;
+import com.senibo.financetracker.events.CategoryRulesChangedEvent;
+import com.senibo.financetracker.exceptions.ResourceNotFoundException;
+import com.senibo.financetracker.models.CategoryRule;
+import com.senibo.financetracker.repositories.CategoryRuleRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.search.SearchTokenizer;
+import com.senibo.financetracker.services.CategoryRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryRuleServiceImpl implements CategoryRuleService {
+
+    private final CategoryRuleRepository ruleRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryRuleResponse> getRules(Long userId) {
+        List<CategoryRule> rules = userId == null
+                ? ruleRepository.findByUserIsNullOrderById()
+                : ruleRepository.findByUserUserIdOrderById(userId);
+        return rules.stream().map(CategoryRuleResponse::fromRule).toList();
+    }
+
+    @Override
+    @Transactional
+    public CategoryRuleResponse createRule(Long userId, CategoryRuleRequest request) {
+        CategoryRule rule = ruleRepository.saveAndFlush(new CategoryRule(
+                userId == null ? null : userRepository.getReferenceById(userId),
+                normalizedPattern(request),
+                request.category().strip(),
+                request.priority() == null ? 0 : request.priority()));
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+        return CategoryRuleResponse.fromRule(rule);
+    }
+
+    @Override
+    @Transactional
+    public CategoryRuleResponse updateRule(Long userId, Long ruleId, CategoryRuleRequest request) {
+        CategoryRule rule = findOwned(userId, ruleId);
+        rule.setPattern(normalizedPattern(request));
+        rule.setCategory(request.category().strip());
+        rule.setPriority(request.priority() == null ? 0 : request.priority());
+        ruleRepository.saveAndFlush(rule);
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+        return CategoryRuleResponse.fromRule(rule);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long userId, Long ruleId) {
+        ruleRepository.delete(findOwned(userId, ruleId));
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+    }
+
+    private static String normalizedPattern(CategoryRuleRequest request) {
+        String pattern = SearchTokenizer.words(request.pattern());
+        if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("Pattern needs at least one letter or digit");
+        }
+        return pattern;
+    }
+
+    private CategoryRule findOwned(Long userId, Long ruleId) {
+        return (userId == null
+                ? ruleRepository.findByIdAndUserIsNull(ruleId)
+                : ruleRepository.findByIdAndUserUserId(ruleId, userId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ApiError.CATEGORY_RULE_NOT_FOUND, "Category rule not found"));
+    }
+}
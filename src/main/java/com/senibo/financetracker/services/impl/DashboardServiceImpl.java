@@ -0,0 +1,83 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.models.RollupPeriod;
+import com.senibo.financetracker.repositories.LedgerRollupRepository;
+import com.senibo.financetracker.services.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dashboard figures, read from ledger_rollups only. The cost depends on the
+ * number of days/months asked for, not on how many transactions they hold.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardServiceImpl implements DashboardService {
+
+    private final LedgerRollupRepository rollupRepository;
+
+    @Override
+    public List<BalanceBucket> getBalance(Long userId, RollupPeriod period, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        // MONTH buckets start on the 1st, so widen "from" to include its month
+        return rollupRepository.findBalance(userId, period, period.bucketStart(from), to);
+    }
+
+    /**
+     * Whole months in the range come from MONTH buckets; only the partial
+     * months at either end are read day by day. A full year is 12 buckets
+     * per category instead of 365.
+     */
+    @Override
+    public List<CategoryTotal> getCategoryTotals(Long userId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        LocalDate firstWholeMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate endOfWholeMonths = to.plusDays(1).withDayOfMonth(1); // exclusive
+
+        List<CategoryTotal> parts = new ArrayList<>();
+        if (firstWholeMonth.isBefore(endOfWholeMonths)) {
+            parts.addAll(rollupRepository.findCategoryTotals(userId, RollupPeriod.MONTH,
+                    firstWholeMonth, endOfWholeMonths.minusDays(1)));
+            if (from.isBefore(firstWholeMonth)) {
+                parts.addAll(rollupRepository.findCategoryTotals(userId, RollupPeriod.DAY,
+                        from, firstWholeMonth.minusDays(1)));
+            }
+            if (!to.isBefore(endOfWholeMonths)) {
+                parts.addAll(rollupRepository.findCategoryTotals(userId, RollupPeriod.DAY,
+                        endOfWholeMonths, to));
+            }
+        } else {
+            parts.addAll(rollupRepository.findCategoryTotals(userId, RollupPeriod.DAY, from, to));
+        }
+        return merge(parts);
+    }
+
+    private List<CategoryTotal> merge(List<CategoryTotal> parts) {
+        Map<String, CategoryTotal> merged = new TreeMap<>();
+        for (CategoryTotal part : parts) {
+            merged.merge(part.category() + '\u0000' + part.currency(), part, (a, b) -> new CategoryTotal(
+                    a.category(), a.currency(),
+                    a.inflow().add(b.inflow()), a.outflow().add(b.outflow()), a.count() + b.count()));
+        }
+        List<CategoryTotal> totals = new ArrayList<>(merged.values());
+        // Biggest spend first
+        totals.sort((a, b) -> a.outflow().compareTo(b.outflow()));
+        return totals;
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+}
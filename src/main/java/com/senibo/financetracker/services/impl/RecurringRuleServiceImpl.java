@@ -0,0 +1,127 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.dtos.requests.RecurringRuleRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.RecurringRuleResponse;
+import com.senibo.financetracker.exceptions.ResourceNotFoundException;
+import com.senibo.financetracker.models.RecurringRule;
+import com.senibo.financetracker.recurring.RecurrenceSchedule;
+import com.senibo.financetracker.repositories.RecurringRuleRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.RecurringRuleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Recurring transactions are posted by RecurringTransactionScheduler; this
+ * only manages the rules. Transactions already posted stay in the ledger when
+ * a rule is changed or deleted.
+ *
+ * A rule's first run posts every occurrence since its start, so how far back
+ * a start may lie is capped (max-backdate-days); otherwise one request could
+ * have the scheduler write years of daily transactions.
+ */
+@Service
+public class RecurringRuleServiceImpl implements RecurringRuleService {
+
+    private final RecurringRuleRepository ruleRepository;
+    private final UserRepository userRepository;
+    private final int maxBackdateDays;
+
+    public RecurringRuleServiceImpl(RecurringRuleRepository ruleRepository,
+                                    UserRepository userRepository,
+                                    @Value("${app.recurring.max-backdate-days:366}") int maxBackdateDays) {
+        this.ruleRepository = ruleRepository;
+        this.userRepository = userRepository;
+        this.maxBackdateDays = maxBackdateDays;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringRuleResponse> getRules(Long userId) {
+        return ruleRepository.findByUserUserIdOrderById(userId).stream()
+                .map(RecurringRuleResponse::fromRule)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public RecurringRuleResponse createRule(Long userId, RecurringRuleRequest request) {
+        if (startOf(request).isBefore(LocalDateTime.now().minusDays(maxBackdateDays))) {
+            throw new IllegalArgumentException(
+                    "A recurring transaction can start at most " + maxBackdateDays + " days in the past");
+        }
+        RecurringRule rule = new RecurringRule(
+                userRepository.getReferenceById(userId),
+                request.amount(),
+                request.currency(),
+                request.category(),
+                request.description(),
+                RecurrenceSchedule.parse(request.schedule()),
+                startOf(request)
+        );
+        if (rule.getNextRunAt() == null) {
+            throw new IllegalArgumentException("Schedule ends before its first occurrence");
+        }
+        if (Boolean.FALSE.equals(request.active())) {
+            rule.setActive(false);
+            rule.setNextRunAt(null);
+        }
+        return RecurringRuleResponse.fromRule(ruleRepository.save(rule));
+    }
+
+    /**
+     * Amount, currency, category, description and active can change. The
+     * schedule and start can't: occurrences are numbered from them, and that
+     * numbering is what stops an occurrence from posting twice. Replace the
+     * rule instead.
+     */
+    @Override
+    @Transactional
+    public RecurringRuleResponse updateRule(Long userId, Long ruleId, RecurringRuleRequest request) {
+        RecurringRule rule = findOwned(userId, ruleId);
+        RecurrenceSchedule schedule = RecurrenceSchedule.parse(request.schedule());
+        if (!schedule.equals(rule.getSchedule()) || !startOf(request).equals(rule.getStartAt())) {
+            throw new IllegalArgumentException("The schedule and start of a recurring transaction can't be changed, create a new one instead");
+        }
+
+        rule.setAmount(request.amount());
+        rule.setCurrency(request.currency());
+        rule.setCategory(request.category());
+        rule.setDescription(request.description());
+
+        boolean active = !Boolean.FALSE.equals(request.active());
+        if (active && !rule.isActive()) {
+            rule.skipTo(LocalDateTime.now());
+        } else if (!active) {
+            rule.setNextRunAt(null);
+        }
+        rule.setActive(active);
+        return RecurringRuleResponse.fromRule(ruleRepository.saveAndFlush(rule));
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long userId, Long ruleId) {
+        ruleRepository.delete(findOwned(userId, ruleId));
+    }
+
+    /**
+     * Whole seconds, so the stored start compares equal to the requested one
+     * whatever precision the database keeps
+     */
+    private static LocalDateTime startOf(RecurringRuleRequest request) {
+        return request.startAt().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private RecurringRule findOwned(Long userId, Long ruleId) {
+        return ruleRepository.findByIdAndUserUserId(ruleId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ApiError.RECURRING_RULE_NOT_FOUND, "Recurring transaction not found"));
+    }
+}
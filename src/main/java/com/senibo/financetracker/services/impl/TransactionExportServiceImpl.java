@@ -0,0 +1,104 @@
+package com.senibo.financetracker.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.exports.ExportFormat;
+import com.senibo.financetracker.exports.TransactionExportWriter;
+import com.senibo.financetracker.services.TransactionExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exports a ledger without ever holding it in memory, or a pooled
+ * connection for longer than one page.
+ *
+ * Rows are read in keyset pages over (occurred_at, id), the order of
+ * idx_transactions_user_occurred_id, and each page is written to the
+ * response before the next is queried. The connection goes back to the pool
+ * after every page, so a slow client holds none while its download drains.
+ * Only the current page is on the heap. It uses plain JDBC instead of JPA,
+ * so no persistence context fills up with entities.
+ *
+ * Pages are separate reads, not one snapshot: a transaction added or edited
+ * during the export shows up only if it sorts after the page being written.
+ */
+@Service
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final String FIRST_PAGE_SQL = """
+            SELECT id, amount, currency, category, occurred_at, description, created_date, updated_date
+            FROM transactions
+            WHERE user_id = ?
+            ORDER BY occurred_at, id
+            LIMIT ?
+            """;
+
+    private static final String NEXT_PAGE_SQL = """
+            SELECT id, amount, currency, category, occurred_at, description, created_date, updated_date
+            FROM transactions
+            WHERE user_id = ?
+              AND (occurred_at > ? OR (occurred_at = ? AND id > ?))
+            ORDER BY occurred_at, id
+            LIMIT ?
+            """;
+
+    private static final RowMapper<TransactionResponse> ROW_MAPPER = (rs, rowNum) -> new TransactionResponse(
+            rs.getLong("id"),
+            rs.getBigDecimal("amount"),
+            rs.getString("currency"),
+            rs.getString("category"),
+            toLocalDateTime(rs.getTimestamp("occurred_at")),
+            rs.getString("description"),
+            toLocalDateTime(rs.getTimestamp("created_date")),
+            toLocalDateTime(rs.getTimestamp("updated_date")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+
+    public TransactionExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                        ObjectMapper objectMapper,
+                                        @Value("${app.transactions.export-page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public long exportTransactions(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        long written = 0;
+        try (TransactionExportWriter writer = format.writer(out, objectMapper)) {
+            List<TransactionResponse> page = jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER, userId, pageSize);
+            while (true) {
+                // No connection is held here: the client can read as slowly as it likes
+                for (TransactionResponse transaction : page) {
+                    writer.write(transaction);
+                }
+                written += page.size();
+                if (page.size() < pageSize) {
+                    break;
+                }
+                TransactionResponse last = page.get(page.size() - 1);
+                Timestamp occurredAt = Timestamp.valueOf(last.occurredAt());
+                page = jdbcTemplate.query(NEXT_PAGE_SQL, ROW_MAPPER,
+                        userId, occurredAt, occurredAt, last.id(), pageSize);
+            }
+        }
+        log.info("Exported {} transactions for user {} as {}", written, userId, format);
+        return written;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
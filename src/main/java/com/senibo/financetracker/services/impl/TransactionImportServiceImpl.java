@@ -0,0 +1,157 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.categorization.Categorizer;
+import com.senibo.financetracker.categorization.CategoryRuleEngine;
+import com.senibo.financetracker.dtos.responses.ImportProgress;
+import com.senibo.financetracker.dtos.responses.ImportProgress.RejectedRow;
+import com.senibo.financetracker.imports.InvalidStatementException;
+import com.senibo.financetracker.imports.StatementFormat;
+import com.senibo.financetracker.imports.StatementRow;
+import com.senibo.financetracker.imports.StatementRowHandler;
+import com.senibo.financetracker.models.Transaction;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.rollups.LedgerRollupWriter;
+import com.senibo.financetracker.rollups.RollupDeltas;
+import com.senibo.financetracker.services.TransactionImportService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    // Only the first rejected rows are reported, so a bad file can't grow the heap
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerRollupWriter rollupWriter;
+    private final CategoryRuleEngine categoryRules;
+    private final int batchSize;
+
+    public TransactionImportServiceImpl(EntityManager entityManager,
+                                        PlatformTransactionManager transactionManager,
+                                        LedgerRollupWriter rollupWriter,
+                                        CategoryRuleEngine categoryRules,
+                                        @Value("${app.transactions.import-batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupWriter = rollupWriter;
+        this.categoryRules = categoryRules;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Streams the statement through the parser and saves rows batchSize at a time.
+     *
+     * Each batch is its own transaction: its persistence context is discarded
+     * at commit, so memory stays flat however long the file is, and
+     * hibernate.jdbc.batch_size turns the batch into a handful of JDBC batches.
+     * Transaction uses pooled sequence ids, which is what lets Hibernate batch
+     * the inserts at all. Dashboard rollups are updated in the same transaction.
+     *
+     * Rows without a category are categorized by the user's rules. The compiled
+     * rules are fetched once for the whole import.
+     */
+    @Override
+    public ImportProgress importStatement(Long userId, InputStream statement, StatementFormat format,
+                                          String defaultCurrency, Consumer<ImportProgress> progressListener) {
+        BatchingHandler handler = new BatchingHandler(userId, categoryRules.forUser(userId), progressListener);
+        String message = null;
+        try (InputStreamReader reader = new InputStreamReader(statement, StandardCharsets.UTF_8)) {
+            format.parser().parse(reader, defaultCurrency, handler);
+            handler.flush();
+        } catch (InvalidStatementException e) {
+            log.info("Statement import for user {} stopped after {} rows: {}", userId, handler.imported, e.getMessage());
+            message = "Import stopped: " + e.getMessage();
+        } catch (IOException | RuntimeException e) {
+            // Database and I/O errors carry internals the client has no business seeing
+            log.warn("Statement import for user {} stopped after {} rows", userId, handler.imported, e);
+            message = "Import stopped: the statement could not be processed, rows imported so far are kept";
+        }
+
+        log.info("Statement import for user {}: {} rows read, {} imported, {} rejected",
+                userId, handler.rowsRead, handler.imported, handler.rejected);
+        return new ImportProgress(handler.rowsRead, handler.imported, handler.rejected, true, message, handler.errors);
+    }
+
+    private void saveBatch(Long userId, Categorizer categorizer, List<StatementRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = entityManager.getReference(User.class, userId);
+            RollupDeltas deltas = new RollupDeltas();
+            for (StatementRow row : rows) {
+                Transaction transaction = new Transaction(owner, row.amount(), row.currency(),
+                        categoryOf(row, categorizer), row.occurredAt(), row.description());
+                entityManager.persist(transaction);
+                deltas.add(transaction);
+            }
+            // One upsert per touched day/month bucket for the whole batch
+            rollupWriter.apply(deltas);
+        });
+    }
+
+    private static String categoryOf(StatementRow row, Categorizer categorizer) {
+        if (!Transaction.UNCATEGORIZED.equals(row.category())) {
+            return row.category();
+        }
+        String category = categorizer.categorize(row.description());
+        return category != null ? category : row.category();
+    }
+
+    private class BatchingHandler implements StatementRowHandler {
+        private final Long userId;
+        private final Categorizer categorizer;
+        private final Consumer<ImportProgress> progressListener;
+        private final List<StatementRow> batch = new ArrayList<>(batchSize);
+        private final List<RejectedRow> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        BatchingHandler(Long userId, Categorizer categorizer, Consumer<ImportProgress> progressListener) {
+            this.userId = userId;
+            this.categorizer = categorizer;
+            this.progressListener = progressListener;
+        }
+
+        @Override
+        public void onRow(StatementRow row) {
+            rowsRead++;
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(long position, String message) {
+            rowsRead++;
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RejectedRow(position, message));
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            saveBatch(userId, categorizer, batch);
+            imported += batch.size();
+            batch.clear();
+            progressListener.accept(new ImportProgress(rowsRead, imported, rejected, false, null, null));
+        }
+    }
+}
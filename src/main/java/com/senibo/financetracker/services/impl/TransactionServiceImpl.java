@@ -0,0 +1,173 @@
+package com.senibo.financetracker.services.impl;
+
+import com.senibo.financetracker.categorization.CategoryRuleEngine;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.CursorPage;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.exceptions.ResourceNotFoundException;
+import com.senibo.financetracker.models.Transaction;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.rollups.LedgerRollupWriter;
+import com.senibo.financetracker.rollups.RollupDeltas;
+import com.senibo.financetracker.search.SearchTokenizer;
+import com.senibo.financetracker.search.TransactionSearchIndex;
+import com.senibo.financetracker.services.TransactionService;
+import com.senibo.financetracker.utils.TransactionCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class TransactionServiceImpl implements TransactionService {
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final LedgerRollupWriter rollupWriter;
+    private final TransactionSearchIndex searchIndex;
+    private final CategoryRuleEngine categoryRules;
+    private final int maxPageSize;
+
+    public TransactionServiceImpl(TransactionRepository transactionRepository,
+                                  UserRepository userRepository,
+                                  LedgerRollupWriter rollupWriter,
+                                  TransactionSearchIndex searchIndex,
+                                  CategoryRuleEngine categoryRules,
+                                  @Value("${app.transactions.max-page-size:200}") int maxPageSize) {
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.rollupWriter = rollupWriter;
+        this.searchIndex = searchIndex;
+        this.categoryRules = categoryRules;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    @Transactional
+    public TransactionResponse createTransaction(Long userId, TransactionRequest request) {
+        // getReferenceById: the owner only supplies the foreign key, no need to load the user row
+        Transaction transaction = new Transaction(
+                userRepository.getReferenceById(userId),
+                request.amount(),
+                request.currency(),
+                categoryFor(userId, request),
+                request.occurredAt(),
+                request.description()
+        );
+        Transaction saved = transactionRepository.save(transaction);
+        rollupWriter.apply(new RollupDeltas().add(saved));
+        return TransactionResponse.fromTransaction(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionResponse getTransaction(Long userId, Long transactionId) {
+        return TransactionResponse.fromTransaction(findOwned(userId, transactionId));
+    }
+
+    @Override
+    @Transactional
+    public TransactionResponse updateTransaction(Long userId, Long transactionId, TransactionRequest request) {
+        Transaction transaction = lockOwned(userId, transactionId);
+        RollupDeltas deltas = new RollupDeltas().remove(transaction);
+        transaction.setAmount(request.amount());
+        transaction.setCurrency(request.currency());
+        transaction.setCategory(categoryFor(userId, request));
+        transaction.setOccurredAt(request.occurredAt());
+        transaction.setDescription(request.description());
+        rollupWriter.apply(deltas.add(transaction));
+        // Flush now so updatedDate in the response is the stored one
+        return TransactionResponse.fromTransaction(transactionRepository.saveAndFlush(transaction));
+    }
+
+    @Override
+    @Transactional
+    public void deleteTransaction(Long userId, Long transactionId) {
+        Transaction transaction = lockOwned(userId, transactionId);
+        transactionRepository.delete(transaction);
+        rollupWriter.apply(new RollupDeltas().remove(transaction));
+    }
+
+    /**
+     * Keyset pagination over (occurred_at, id), newest first.
+     *
+     * One extra row is fetched to learn whether another page exists, so there
+     * is never a COUNT query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> getHistory(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findHistory(userId, fetch);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findHistoryAfter(userId, after.occurredAt(), after.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TransactionCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new CursorPage<>(page.stream().map(TransactionResponse::fromTransaction).toList(), nextCursor);
+    }
+
+    /**
+     * Matches come from the in-memory index; only the matching rows are read
+     * from the database, by primary key. Every word in the query must match
+     * the start of a word in the description or category.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> searchTransactions(Long userId, String query, int limit) {
+        List<String> terms = SearchTokenizer.terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search needs at least one letter or digit");
+        }
+        long[] ids = searchIndex.search(userId, terms, Math.max(1, Math.min(limit, maxPageSize)));
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return transactionRepository.findByUserUserIdAndIdIn(userId, Arrays.stream(ids).boxed().toList()).stream()
+                .sorted(Comparator.comparing(Transaction::getId).reversed())
+                .map(TransactionResponse::fromTransaction)
+                .toList();
+    }
+
+    /**
+     * The requested category, or the one the categorization rules pick from the description
+     */
+    private String categoryFor(Long userId, TransactionRequest request) {
+        if (request.category() != null && !request.category().isBlank()) {
+            return request.category().strip();
+        }
+        String category = categoryRules.forUser(userId).categorize(request.description());
+        return category != null ? category : Transaction.UNCATEGORIZED;
+    }
+
+    private Transaction findOwned(Long userId, Long transactionId) {
+        return transactionRepository.findByIdAndUserUserId(transactionId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ApiError.TRANSACTION_NOT_FOUND, "Transaction not found"));
+    }
+
+    /**
+     * Row-locked until commit, so the "remove old state" rollup delta is taken from
+     * the committed row: a concurrent update or delete of the same transaction
+     * waits, then sees this one's result (or finds it gone).
+     */
+    private Transaction lockOwned(Long userId, Long transactionId) {
+        return transactionRepository.lockByIdAndUserUserId(transactionId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ApiError.TRANSACTION_NOT_FOUND, "Transaction not found"));
+    }
+}
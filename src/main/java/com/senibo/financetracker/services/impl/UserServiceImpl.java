@@ -1,8 +1,209 @@
 package com.senibo.financetracker.services.impl;
 
+import com.senibo.financetracker.dtos.requests.BulkSignUpRequest;
+import com.senibo.financetracker.dtos.requests.SignUpRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse.SkippedUser;
+import com.senibo.financetracker.exceptions.ConstraintViolations;
+import com.senibo.financetracker.models.AppRole;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.PooledPasswordEncoder;
 import com.senibo.financetracker.services.UserService;
+import com.senibo.financetracker.utils.RoleReferences;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
+@Slf4j
 public class UserServiceImpl implements UserService {
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (email, username, password, first_name, last_name,
+                               account_non_locked, account_non_expired, credentials_non_expired, enabled,
+                               credentials_expiry_date, account_expiry_date, is_two_factor_enabled,
+                               sign_up_method, role_id, created_date, updated_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final UserRepository userRepository;
+    private final PooledPasswordEncoder passwordEncoder;
+    private final RoleReferences roleReferences;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           PooledPasswordEncoder passwordEncoder,
+                           RoleReferences roleReferences,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.users.import-batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.roleReferences = roleReferences;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Provisions many accounts at once.
+     *
+     * Users are written with plain JDBC batch inserts: User uses IDENTITY ids,
+     * which stops Hibernate from batching. Each chunk costs two existence
+     * queries and one batched INSERT in its own transaction. Imported accounts
+     * are created already verified, because an administrator provisions them.
+     *
+     * If the hashing pool turns work away, the import stops there: chunks
+     * already inserted stay, and the remaining rows come back as notProcessed.
+     */
+    @Override
+    public BulkSignUpResponse importUsers(BulkSignUpRequest request) {
+        List<SkippedUser> skipped = new ArrayList<>();
+        List<SkippedUser> notProcessed = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Integer roleId = roleReferences.idOf(AppRole.ROLE_USER);
+        int created = 0;
+
+        List<SignUpRequest> users = request.users();
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<SignUpRequest> chunk = users.subList(from, Math.min(from + batchSize, users.size()));
+
+            // Business Rule: email and username must be unique, within the request and in the database
+            List<SignUpRequest> accepted = new ArrayList<>(chunk.size());
+            for (SignUpRequest user : chunk) {
+                if (!seenEmails.add(user.email())) {
+                    skipped.add(new SkippedUser(user.email(), user.username(), ApiError.DUPLICATE_EMAIL));
+                } else if (!seenUsernames.add(user.username())) {
+                    skipped.add(new SkippedUser(user.email(), user.username(), ApiError.DUPLICATE_USERNAME));
+                } else {
+                    accepted.add(user);
+                }
+            }
+            accepted = dropExisting(accepted, skipped);
+            if (accepted.isEmpty()) {
+                continue;
+            }
+
+            // Hashed on the bounded pool, a few at a time so sign-ins still get a slot
+            List<String> hashes = passwordEncoder.encodeAll(accepted.stream().map(SignUpRequest::password).toList());
+            if (!hashes.isEmpty()) {
+                created += insertChunk(accepted.subList(0, hashes.size()), hashes, roleId, skipped);
+            }
+
+            if (hashes.size() < accepted.size()) {
+                accepted.subList(hashes.size(), accepted.size()).forEach(user -> notProcessed.add(busy(user)));
+                users.subList(from + chunk.size(), users.size()).forEach(user -> notProcessed.add(busy(user)));
+                log.warn("Bulk import stopped early, hashing pool saturated: {} rows not processed",
+                        notProcessed.size());
+                break;
+            }
+        }
+
+        log.info("Bulk import finished: {} requested, {} created, {} skipped, {} not processed",
+                users.size(), created, skipped.size(), notProcessed.size());
+        return new BulkSignUpResponse(users.size(), created, skipped, notProcessed);
+    }
+
+    private static SkippedUser busy(SignUpRequest user) {
+        return new SkippedUser(user.email(), user.username(), ApiError.SERVICE_BUSY);
+    }
+
+    private List<SignUpRequest> dropExisting(List<SignUpRequest> users, List<SkippedUser> skipped) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        Set<String> existingEmails = new HashSet<>(
+                userRepository.findExistingEmails(users.stream().map(SignUpRequest::email).toList()));
+        Set<String> existingUsernames = new HashSet<>(
+                userRepository.findExistingUsernames(users.stream().map(SignUpRequest::username).toList()));
+
+        List<SignUpRequest> remaining = new ArrayList<>(users.size());
+        for (SignUpRequest user : users) {
+            if (existingEmails.contains(user.email())) {
+                skipped.add(new SkippedUser(user.email(), user.username(), ApiError.DUPLICATE_EMAIL));
+            } else if (existingUsernames.contains(user.username())) {
+                skipped.add(new SkippedUser(user.email(), user.username(), ApiError.DUPLICATE_USERNAME));
+            } else {
+                remaining.add(user);
+            }
+        }
+        return remaining;
+    }
+
+    private int insertChunk(List<SignUpRequest> users, List<String> hashes, Integer roleId, List<SkippedUser> skipped) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bindUser(ps, users.get(i), hashes.get(i), roleId, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return users.size();
+                        }
+                    }));
+            return users.size();
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these concurrently; retry row by row to find out who
+            int created = 0;
+            for (int i = 0; i < users.size(); i++) {
+                SignUpRequest user = users.get(i);
+                String hash = hashes.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.update(INSERT_USER_SQL, ps -> bindUser(ps, user, hash, roleId, now)));
+                    created++;
+                } catch (DataIntegrityViolationException rowError) {
+                    String code = ConstraintViolations.duplicateCodeFor(rowError);
+                    skipped.add(new SkippedUser(user.email(), user.username(),
+                            code != null ? code : ApiError.VALIDATION_ERROR));
+                }
+            }
+            return created;
+        }
+    }
+
+    private void bindUser(PreparedStatement ps, SignUpRequest user, String passwordHash,
+                          Integer roleId, LocalDateTime now) throws SQLException {
+        LocalDate expiry = now.toLocalDate().plusYears(1);
+        ps.setString(1, user.email());
+        ps.setString(2, user.username());
+        ps.setString(3, passwordHash);
+        ps.setString(4, user.firstName());
+        ps.setString(5, user.lastName());
+        ps.setBoolean(6, true);
+        ps.setBoolean(7, true);
+        ps.setBoolean(8, true);
+        ps.setBoolean(9, true);
+        ps.setDate(10, Date.valueOf(expiry));
+        ps.setDate(11, Date.valueOf(expiry));
+        ps.setBoolean(12, false);
+        ps.setString(13, "import");
+        ps.setInt(14, roleId);
+        ps.setTimestamp(15, Timestamp.valueOf(now));
+        ps.setTimestamp(16, Timestamp.valueOf(now));
+    }
 }
@@ -0,0 +1,233 @@
+package com.senibo.financetracker.utils;
+
+import com.senibo.financetracker.models.EmailOutbox;
+import com.senibo.financetracker.models.EmailOutboxStatus;
+import com.senibo.financetracker.repositories.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox in the background.
+ *
+ * Each round locks a batch of due rows (skipping rows another node holds),
+ * pushes the lease forward so a crashed node's batch is retried later, and
+ * sends the whole batch through a single SMTP connection. Failures are
+ * retried with exponential backoff until maxAttempts, then marked DEAD.
+ *
+ * Runs on a virtual thread, so waiting on the mail server costs no platform thread.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final JavaMailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+
+    private ScheduledExecutorService scheduler;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 JavaMailSender emailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.mail.outbox.enabled:true}") boolean enabled,
+                                 @Value("${app.mail.outbox.poll-interval-ms:2000}") long pollIntervalMs,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.mail.outbox.base-backoff-ms:30000}") long baseBackoffMs) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.emailSender = emailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Email outbox dispatcher is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("email-outbox-", 0).factory());
+        scheduler.scheduleWithFixedDelay(this::runSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            dispatchDueEmails();
+        } catch (RuntimeException e) {
+            log.error("Email outbox dispatch round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends every email that is currently due, one batch at a time.
+     *
+     * @return number of emails delivered successfully
+     */
+    public int dispatchDueEmails() {
+        int delivered = 0;
+        while (true) {
+            List<EmailOutbox> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+            delivered += sendBatch(batch);
+            if (batch.size() < batchSize) {
+                return delivered;
+            }
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.lockDue(
+                    EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (EmailOutbox email : due) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(LEASE));
+            }
+            return emailOutboxRepository.saveAll(due);
+        });
+    }
+
+    private int sendBatch(List<EmailOutbox> batch) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(emailService.createMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                // JavaMailSenderImpl sends an array of messages over one connection
+                emailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email.getId(), cause.getMessage());
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+            } finally {
+                if (!failures.isEmpty()) {
+                    outcome = failures.size() == batch.size() ? "failure" : "partial";
+                }
+                sample.stop(meterRegistry.timer("email.send.batch", "outcome", outcome));
+            }
+        }
+
+        recordResults(batch, failures);
+        return batch.size() - failures.size();
+    }
+
+    private void recordResults(List<EmailOutbox> batch, Map<Long, String> failures) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        batch.forEach(email -> ids.add(email.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> rows = emailOutboxRepository.findAllById(ids);
+            for (EmailOutbox email : rows) {
+                String error = failures.get(email.getId());
+                if (error == null) {
+                    countMessage("sent");
+                    email.setStatus(EmailOutboxStatus.SENT);
+                    email.setSentDate(now);
+                    email.setLastError(null);
+                } else if (email.getAttempts() >= maxAttempts) {
+                    countMessage("dead");
+                    email.setStatus(EmailOutboxStatus.DEAD);
+                    email.setLastError(truncate(error));
+                    log.error("Giving up on {} email to {} after {} attempts: {}",
+                            email.getType(), email.getRecipient(), email.getAttempts(), error);
+                } else {
+                    countMessage("retry");
+                    email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                    email.setLastError(truncate(error));
+                    log.warn("Failed to send {} email to {} (attempt {}), will retry: {}",
+                            email.getType(), email.getRecipient(), email.getAttempts(), error);
+                }
+            }
+            emailOutboxRepository.saveAll(rows);
+        });
+    }
+
+    private void countMessage(String outcome) {
+        meterRegistry.counter("email.messages", "outcome", outcome).increment();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
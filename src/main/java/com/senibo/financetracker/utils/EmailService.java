@@ -1,5 +1,8 @@
 package com.senibo.financetracker.utils;
 
+import com.senibo.financetracker.models.EmailOutbox;
+import com.senibo.financetracker.models.EmailOutboxType;
+import com.senibo.financetracker.repositories.EmailOutboxRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +10,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -14,39 +25,88 @@ import org.springframework.stereotype.Service;
 public class EmailService {
 
     private final JavaMailSender emailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    /**
+     * Queues a verification email in the outbox instead of talking to SMTP inline.
+     * Joins the caller's transaction, so the email only goes out if the caller commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueVerificationEmail(String email, String verificationCode) {
+        emailOutboxRepository.save(new EmailOutbox(email, verificationCode));
+        log.debug("Verification email queued for {}", email);
+    }
+
+    /**
+     * Queues a budget alert. Like verification emails, it only goes out if the
+     * caller's transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueBudgetAlert(String email, String category, String currency, YearMonth month,
+                                 BigDecimal limit, BigDecimal spent, int thresholdPercent) {
+        String monthName = month.format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
+        String subject = thresholdPercent >= 100
+                ? "Budget exceeded: " + category + " - Finance Tracker"
+                : "Budget alert: " + category + " at " + thresholdPercent + "% - Finance Tracker";
+
+        String htmlContent = """
+                <html>
+                    <body style="font-family: Arial, sans-serif; line-height: 1.6;">
+                        <h2>%s budget: %d%% used</h2>
+                        <p>Hi there,</p>
+                        <p>You have spent <strong>%s %s</strong> of your <strong>%s %s</strong> %s budget for %s.</p>
+                        <br/>
+                        <p>Best regards,<br/>Finance Tracker Team</p>
+                    </body>
+                </html>
+                """.formatted(HtmlUtils.htmlEscape(category), thresholdPercent,
+                spent.toPlainString(), currency, limit.toPlainString(), currency,
+                HtmlUtils.htmlEscape(category), monthName);
+
+        emailOutboxRepository.save(new EmailOutbox(EmailOutboxType.BUDGET_ALERT, email, subject, htmlContent));
+        log.debug("Budget alert ({}%) queued for {}", thresholdPercent, email);
+    }
 
-    public void sendVerificationEmail(String email, String verificationCode) {
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom("noreply@financetracker.com");
-            helper.setTo(email);
-            helper.setSubject("Email Verification - Finance Tracker");
-
-            String htmlContent = """
-                    <html>
-                        <body style="font-family: Arial, sans-serif; line-height: 1.6;">
-                            <h2>Verify Your Email</h2>
-                            <p>Hi there,</p>
-                            <p>Thanks for signing up for <strong>Finance Tracker</strong>!</p>
-                            <p>Your verification code is:</p>
-                            <div style="font-size: 24px; font-weight: bold; color: #2c3e50; margin: 10px 0;">%s</div>
-                            <p>This code will expire in <strong>24 hours</strong>.</p>
-                            <br/>
-                            <p>Best regards,<br/>Finance Tracker Team</p>
-                        </body>
-                    </html>
-                    """.formatted(verificationCode);
-
-            helper.setText(htmlContent, true);
-
-            emailSender.send(message);
-            log.info("Verification email sent to {}", email);
-        } catch (MessagingException e) {
-            log.warn("Failed to send verification email to {}. Logging code instead.", email);
-            log.info("VERIFICATION CODE for {}: {}", email, verificationCode);
-            log.error("Email sending error: {}", e.getMessage(), e);
+    /**
+     * Builds the message for a queued outbox row
+     */
+    public MimeMessage createMessage(EmailOutbox email) throws MessagingException {
+        if (email.getType() == EmailOutboxType.VERIFICATION) {
+            return createVerificationMessage(email.getRecipient(), email.getVerificationCode());
         }
+        MimeMessage message = emailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@financetracker.com");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    public MimeMessage createVerificationMessage(String email, String verificationCode) throws MessagingException {
+        MimeMessage message = emailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom("noreply@financetracker.com");
+        helper.setTo(email);
+        helper.setSubject("Email Verification - Finance Tracker");
+
+        String htmlContent = """
+                <html>
+                    <body style="font-family: Arial, sans-serif; line-height: 1.6;">
+                        <h2>Verify Your Email</h2>
+                        <p>Hi there,</p>
+                        <p>Thanks for signing up for <strong>Finance Tracker</strong>!</p>
+                        <p>Your verification code is:</p>
+                        <div style="font-size: 24px; font-weight: bold; color: #2c3e50; margin: 10px 0;">%s</div>
+                        <p>This code will expire in <strong>24 hours</strong>.</p>
+                        <br/>
+                        <p>Best regards,<br/>Finance Tracker Team</p>
+                    </body>
+                </html>
+                """.formatted(verificationCode);
+
+        helper.setText(htmlContent, true);
+        return message;
     }
 }
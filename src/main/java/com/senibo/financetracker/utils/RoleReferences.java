@@ -0,0 +1,36 @@
+package com.senibo.financetracker.utils;
+
+import com.senibo.financetracker.models.AppRole;
+import com.senibo.financetracker.models.Role;
+import com.senibo.financetracker.repositories.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves role ids once and hands out references to them.
+ *
+ * Roles are seed data that never change at runtime, so looking the role up
+ * on every signup is a wasted round trip. A reference from getReferenceById
+ * is enough to set the foreign key when inserting a user.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleReferences {
+
+    private final RoleRepository roleRepository;
+    private final Map<AppRole, Integer> roleIds = new ConcurrentHashMap<>();
+
+    public Integer idOf(AppRole appRole) {
+        return roleIds.computeIfAbsent(appRole, role ->
+                roleRepository.findByRoleName(role)
+                        .map(Role::getRoleId)
+                        .orElseThrow(() -> new IllegalStateException("Role not found: " + role)));
+    }
+
+    public Role referenceTo(AppRole appRole) {
+        return roleRepository.getReferenceById(idOf(appRole));
+    }
+}
@@ -0,0 +1,121 @@
+package com.senibo.financetracker.validation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts the Pwned Passwords "SHA-1, ordered by hash" download into the
+ * compact binary format read by BreachedPasswordIndex.
+ *
+ * Input lines look like "000000005AD76BD555C1D6D771DE417A4B87E4B4:10"; only
+ * the first 16 hex digits (8 bytes) of each hash are kept. Input must already
+ * be sorted by hash, which the ordered download is.
+ *
+ * Also writes the Bloom filter the index puts in front of the corpus, as
+ * "output.bloom". It gets 10 bits per entry, but never more than max-bloom-mb
+ * (default 1024, at most 2047 so it maps as one buffer); a smaller filter only
+ * means more lookups fall through to the binary search.
+ *
+ * Usage: java -cp app.jar com.senibo.financetracker.validation.BreachedPasswordCorpusCompiler pwned-passwords-sha1-ordered-by-hash.txt breached.bin [max-bloom-mb]
+ */
+public final class BreachedPasswordCorpusCompiler {
+
+    static final int DEFAULT_MAX_BLOOM_MB = 1024;
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final long MAX_BLOOM_WORDS =
+            (Integer.MAX_VALUE - BreachedPasswordIndex.BLOOM_HEADER_BYTES) / Long.BYTES;
+
+    private BreachedPasswordCorpusCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: BreachedPasswordCorpusCompiler <pwned-passwords-sha1-ordered.txt> <output.bin> [max-bloom-mb]");
+            System.exit(1);
+        }
+        int maxBloomMb = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_MAX_BLOOM_MB;
+        long written = compile(Path.of(args[0]), Path.of(args[1]), maxBloomMb);
+        System.out.println("Wrote " + written + " entries to " + args[1] + " and its Bloom filter");
+    }
+
+    public static long compile(Path input, Path output) throws IOException {
+        return compile(input, output, DEFAULT_MAX_BLOOM_MB);
+    }
+
+    public static long compile(Path input, Path output, int maxBloomMb) throws IOException {
+        long written = writeCorpus(input, output);
+        writeBloomFilter(output, written, maxBloomMb);
+        return written;
+    }
+
+    private static long writeCorpus(Path input, Path output) throws IOException {
+        long written = 0;
+        long previous = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() < 16) {
+                    continue;
+                }
+                long prefix = Long.parseUnsignedLong(line, 0, 16, 16);
+                if (written > 0) {
+                    int cmp = Long.compareUnsigned(prefix, previous);
+                    if (cmp < 0) {
+                        throw new IOException("Input is not sorted by hash at line " + (written + 1));
+                    }
+                    if (cmp == 0) {
+                        continue; // distinct hashes can share a prefix, keep one
+                    }
+                }
+                out.writeLong(prefix);
+                previous = prefix;
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Sets the filter bits in a memory-mapped file, so not even the compiler
+     * needs the filter on its heap.
+     */
+    private static void writeBloomFilter(Path corpus, long entries, int maxBloomMb) throws IOException {
+        long maxWords = Math.min(MAX_BLOOM_WORDS, (long) maxBloomMb * 1024 * 1024 / Long.BYTES);
+        long wantedWords = (Math.max(64, entries * BLOOM_BITS_PER_ENTRY) + 63) / 64;
+        long words = Math.max(1, Math.min(wantedWords, maxWords));
+        long bits = words * 64;
+        int hashes = (int) Math.max(1, Math.min(BreachedPasswordIndex.MAX_BLOOM_HASHES,
+                Math.round((double) bits / Math.max(1, entries) * Math.log(2))));
+
+        Path bloomFile = BreachedPasswordIndex.bloomFileFor(corpus);
+        try (FileChannel channel = FileChannel.open(bloomFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(corpus), 1 << 16))) {
+            MappedByteBuffer bloom = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    BreachedPasswordIndex.BLOOM_HEADER_BYTES + words * Long.BYTES);
+            bloom.putLong(0, entries);
+            bloom.putLong(Long.BYTES, bits);
+            bloom.putLong(2 * Long.BYTES, hashes);
+            for (long e = 0; e < entries; e++) {
+                long prefix = in.readLong();
+                for (int i = 0; i < hashes; i++) {
+                    long bit = BreachedPasswordIndex.bloomBit(prefix, i, bits);
+                    int offset = BreachedPasswordIndex.BLOOM_HEADER_BYTES + (int) (bit >>> 6) * Long.BYTES;
+                    bloom.putLong(offset, bloom.getLong(offset) | (1L << bit));
+                }
+            }
+            bloom.force();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.senibo.financetracker.validation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Offline lookup of known-breached passwords.
+ *
+ * The corpus is a binary file of SHA-1 prefixes (the first 8 bytes of each
+ * hash, big-endian, sorted as unsigned numbers), produced from the Pwned
+ * Passwords list by BreachedPasswordCorpusCompiler. The file is memory-mapped,
+ * so the corpus itself never lands on the heap; the OS pages in only what
+ * lookups touch.
+ *
+ * A Bloom filter sits in front of the file. Most passwords are not breached,
+ * and for those the filter answers "no" after a handful of bit probes without
+ * touching the corpus. Only filter hits pay for the binary search. The SHA-1
+ * bytes are already uniformly distributed, so they double as the Bloom hash
+ * functions. The filter is built offline by the compiler into a sidecar file
+ * ("breached.bin.bloom") whose size the compiler caps, and is memory-mapped
+ * here too: startup does no scan and the heap holds neither structure. Without
+ * the sidecar every lookup is a binary search, which is still correct.
+ *
+ * With 8-byte prefixes the false-positive rate of the file itself is about
+ * n / 2^64, which is negligible.
+ */
+@Slf4j
+public class BreachedPasswordIndex {
+
+    static final String BLOOM_SUFFIX = ".bloom";
+    // entryCount, bitCount, hashCount
+    static final int BLOOM_HEADER_BYTES = 3 * Long.BYTES;
+    static final int MAX_BLOOM_HASHES = 7;
+
+    private static final int ENTRY_BYTES = Long.BYTES;
+    // Largest mappable region that is still a whole number of entries
+    private static final int ENTRIES_PER_SEGMENT = Integer.MAX_VALUE / ENTRY_BYTES;
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    });
+
+    private final MappedByteBuffer[] segments;
+    private final long entryCount;
+    private final MappedByteBuffer bloom;   // null = no filter, binary search only
+    private final long bloomSize;
+    private final int bloomHashes;
+
+    private BreachedPasswordIndex(MappedByteBuffer[] segments, long entryCount,
+                                  MappedByteBuffer bloom, long bloomSize, int bloomHashes) {
+        this.segments = segments;
+        this.entryCount = entryCount;
+        this.bloom = bloom;
+        this.bloomSize = bloomSize;
+        this.bloomHashes = bloomHashes;
+    }
+
+    /**
+     * An index that knows no breached passwords, used when no corpus is configured
+     */
+    public static BreachedPasswordIndex empty() {
+        return new BreachedPasswordIndex(new MappedByteBuffer[0], 0, null, 0, 0);
+    }
+
+    public static BreachedPasswordIndex open(Path corpus) throws IOException {
+        MappedByteBuffer[] segments;
+        long entries;
+        try (FileChannel channel = FileChannel.open(corpus, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_BYTES != 0) {
+                throw new IOException("Corrupt breached password corpus " + corpus + ": size is not a multiple of 8");
+            }
+            entries = size / ENTRY_BYTES;
+            int segmentCount = (int) ((entries + ENTRIES_PER_SEGMENT - 1) / ENTRIES_PER_SEGMENT);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long offset = (long) s * ENTRIES_PER_SEGMENT * ENTRY_BYTES;
+                long length = Math.min((long) ENTRIES_PER_SEGMENT * ENTRY_BYTES, size - offset);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+        }
+
+        // The mappings stay valid after the channels are closed
+        Path bloomFile = bloomFileFor(corpus);
+        if (!Files.exists(bloomFile)) {
+            log.warn("No Bloom filter {} next to the breached password corpus, every check will search the corpus;"
+                    + " rebuild it with BreachedPasswordCorpusCompiler", bloomFile);
+            log.info("Loaded breached password corpus {} with {} entries", corpus, entries);
+            return new BreachedPasswordIndex(segments, entries, null, 0, 0);
+        }
+        try (FileChannel channel = FileChannel.open(bloomFile, StandardOpenOption.READ)) {
+            MappedByteBuffer bloom = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long bloomEntries = bloom.getLong(0);
+            long bits = bloom.getLong(Long.BYTES);
+            int hashes = (int) bloom.getLong(2 * Long.BYTES);
+            if (bloomEntries != entries || bits <= 0 || hashes < 1
+                    || channel.size() != BLOOM_HEADER_BYTES + bits / 8) {
+                throw new IOException("Bloom filter " + bloomFile + " does not belong to corpus " + corpus);
+            }
+            log.info("Loaded breached password corpus {} with {} entries and a {} MB Bloom filter",
+                    corpus, entries, bits / 8 / (1024 * 1024));
+            return new BreachedPasswordIndex(segments, entries, bloom, bits, hashes);
+        }
+    }
+
+    static Path bloomFileFor(Path corpus) {
+        return corpus.resolveSibling(corpus.getFileName() + BLOOM_SUFFIX);
+    }
+
+    public long size() {
+        return entryCount;
+    }
+
+    public boolean isBreached(String password) {
+        if (entryCount == 0 || password == null) {
+            return false;
+        }
+        long prefix = sha1Prefix(password);
+        return bloomMightContain(prefix) && binarySearch(prefix);
+    }
+
+    static long sha1Prefix(String password) {
+        MessageDigest digest = SHA1.get();
+        byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(hash, 0, ENTRY_BYTES).getLong();
+    }
+
+    /**
+     * Position of the i-th Bloom bit for a prefix; shared with the compiler that sets them
+     */
+    static long bloomBit(long prefix, int i, long bloomSize) {
+        long h1 = prefix >>> 32;
+        long h2 = prefix & 0xFFFFFFFFL;
+        return Long.remainderUnsigned(h1 + i * h2, bloomSize);
+    }
+
+    private long entryAt(long index) {
+        int segment = (int) (index / ENTRIES_PER_SEGMENT);
+        int offset = (int) (index % ENTRIES_PER_SEGMENT) * ENTRY_BYTES;
+        return segments[segment].getLong(offset);
+    }
+
+    private boolean binarySearch(long prefix) {
+        long low = 0;
+        long high = entryCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(entryAt(mid), prefix);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bloomMightContain(long prefix) {
+        if (bloom == null) {
+            return true;
+        }
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = bloomBit(prefix, i, bloomSize);
+            long word = bloom.getLong(BLOOM_HEADER_BYTES + (int) (bit >>> 6) * Long.BYTES);
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.senibo.financetracker.validation;
+
+/**
+ * Rules enforced by PasswordValidator.
+ *
+ * maxLength counts characters and defaults to 72. BCrypt only looks at the
+ * first 72 bytes of the UTF-8 encoding, so PasswordValidator also rejects any
+ * password longer than that in bytes, whatever maxLength says.
+ */
+public record PasswordPolicy(
+        int minLength,
+        int maxLength,
+        boolean requireUppercase,
+        boolean requireLowercase,
+        boolean requireDigit,
+        boolean requireSymbol,
+        int minEntropyBits,
+        boolean rejectBreached
+) {
+
+    public static PasswordPolicy defaults() {
+        return new PasswordPolicy(8, 72, true, false, true, true, 40, true);
+    }
+}
@@ -0,0 +1,41 @@
+package com.senibo.financetracker.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Beans injected into PasswordValidator (Spring's validator factory autowires constraint validators).
+ */
+@Configuration
+@Slf4j
+public class PasswordPolicyConfig {
+
+    @Bean
+    public PasswordPolicy passwordPolicy(
+            @Value("${app.security.password.policy.min-length:8}") int minLength,
+            @Value("${app.security.password.policy.max-length:72}") int maxLength,
+            @Value("${app.security.password.policy.require-uppercase:true}") boolean requireUppercase,
+            @Value("${app.security.password.policy.require-lowercase:false}") boolean requireLowercase,
+            @Value("${app.security.password.policy.require-digit:true}") boolean requireDigit,
+            @Value("${app.security.password.policy.require-symbol:true}") boolean requireSymbol,
+            @Value("${app.security.password.policy.min-entropy-bits:40}") int minEntropyBits,
+            @Value("${app.security.password.policy.reject-breached:true}") boolean rejectBreached) {
+        return new PasswordPolicy(minLength, maxLength, requireUppercase, requireLowercase,
+                requireDigit, requireSymbol, minEntropyBits, rejectBreached);
+    }
+
+    @Bean
+    public BreachedPasswordIndex breachedPasswordIndex(
+            @Value("${app.security.password.breached-corpus:}") String corpus) throws IOException {
+        if (corpus.isBlank()) {
+            log.info("No breached password corpus configured, breached-password check is off");
+            return BreachedPasswordIndex.empty();
+        }
+        return BreachedPasswordIndex.open(Path.of(corpus));
+    }
+}
@@ -2,13 +2,56 @@ package com.senibo.financetracker.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
 
+/**
+ * Validates passwords against the configured PasswordPolicy.
+ *
+ * All character rules are checked in one pass over the string using a lookup
+ * table, instead of running one ".*[X].*" regex per rule. That means no Matcher
+ * allocations and no backtracking. Only a failing password allocates, for its
+ * error message. The breached-password lookup runs last, and only for
+ * passwords that pass every other rule.
+ */
 public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
 
-    private static final Pattern UPPERCASE_PATTERN = Pattern.compile(".*[A-Z].*");
-    private static final Pattern DIGIT_PATTERN = Pattern.compile(".*[0-9].*");
-    private static final Pattern SYMBOL_PATTERN = Pattern.compile(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*");
+    private static final byte LOWER = 1;
+    private static final byte UPPER = 1 << 1;
+    private static final byte DIGIT = 1 << 2;
+    private static final byte SYMBOL = 1 << 3;   // the symbols that satisfy the "symbol" rule
+    private static final byte OTHER = 1 << 4;    // any other character (space, ~, non-ASCII...)
+
+    // BCrypt ignores everything after the first 72 bytes of the UTF-8 encoding
+    static final int BCRYPT_MAX_BYTES = 72;
+
+    private static final String SYMBOLS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+    private static final byte[] ASCII_CLASS = new byte[128];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            ASCII_CLASS[c] = OTHER;
+        }
+        for (char c = 'a'; c <= 'z'; c++) ASCII_CLASS[c] = LOWER;
+        for (char c = 'A'; c <= 'Z'; c++) ASCII_CLASS[c] = UPPER;
+        for (char c = '0'; c <= '9'; c++) ASCII_CLASS[c] = DIGIT;
+        for (int i = 0; i < SYMBOLS.length(); i++) ASCII_CLASS[SYMBOLS.charAt(i)] = SYMBOL;
+    }
+
+    private final PasswordPolicy policy;
+    private final BreachedPasswordIndex breachedPasswords;
+
+    /**
+     * Used when the validator is created outside Spring (e.g. plain Hibernate Validator)
+     */
+    public PasswordValidator() {
+        this(PasswordPolicy.defaults(), BreachedPasswordIndex.empty());
+    }
+
+    @Autowired
+    public PasswordValidator(PasswordPolicy policy, BreachedPasswordIndex breachedPasswords) {
+        this.policy = policy;
+        this.breachedPasswords = breachedPasswords;
+    }
 
     @Override
     public void initialize(ValidPassword constraintAnnotation) {
@@ -21,31 +64,108 @@ public class PasswordValidator implements ConstraintValidator<ValidPassword, Str
             return false;
         }
 
-        boolean hasUppercase = UPPERCASE_PATTERN.matcher(password).matches();
-        boolean hasDigit = DIGIT_PATTERN.matcher(password).matches();
-        boolean hasSymbol = SYMBOL_PATTERN.matcher(password).matches();
+        int length = password.length();
+        if (length < policy.minLength() || length > policy.maxLength()) {
+            return fail(context, "Password must be between " + policy.minLength()
+                    + " and " + policy.maxLength() + " characters");
+        }
+
+        // Single pass: which character classes appear, and how many distinct characters
+        int classes = 0;
+        long seenLow = 0;   // ASCII 0-63
+        long seenHigh = 0;  // ASCII 64-127
+        int distinct = 0;
+        int utf8Bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            // A surrogate pair is 4 bytes in UTF-8, 2 per char
+            utf8Bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            if (c < 128) {
+                classes |= ASCII_CLASS[c];
+                if (c < 64) {
+                    long bit = 1L << c;
+                    if ((seenLow & bit) == 0) {
+                        seenLow |= bit;
+                        distinct++;
+                    }
+                } else {
+                    long bit = 1L << (c - 64);
+                    if ((seenHigh & bit) == 0) {
+                        seenHigh |= bit;
+                        distinct++;
+                    }
+                }
+            } else {
+                classes |= OTHER;
+                distinct++; // approximate: non-ASCII characters are rare enough to count each one
+            }
+        }
+
+        if (utf8Bytes > BCRYPT_MAX_BYTES) {
+            return fail(context, "Password is too long: at most " + BCRYPT_MAX_BYTES
+                    + " bytes are used, and non-ASCII characters take 2 to 4 bytes each");
+        }
 
-        if (!hasUppercase || !hasDigit || !hasSymbol) {
-            context.disableDefaultConstraintViolation();
+        boolean missingUppercase = policy.requireUppercase() && (classes & UPPER) == 0;
+        boolean missingLowercase = policy.requireLowercase() && (classes & LOWER) == 0;
+        boolean missingDigit = policy.requireDigit() && (classes & DIGIT) == 0;
+        boolean missingSymbol = policy.requireSymbol() && (classes & SYMBOL) == 0;
 
+        if (missingUppercase || missingLowercase || missingDigit || missingSymbol) {
             StringBuilder message = new StringBuilder("Password must contain:");
-            if (!hasUppercase) {
-                message.append(" at least one uppercase letter");
+            String separator = " ";
+            if (missingUppercase) {
+                message.append(separator).append("at least one uppercase letter");
+                separator = ", ";
+            }
+            if (missingLowercase) {
+                message.append(separator).append("at least one lowercase letter");
+                separator = ", ";
             }
-            if (!hasDigit) {
-                if (!hasUppercase) message.append(",");
-                message.append(" at least one number");
+            if (missingDigit) {
+                message.append(separator).append("at least one number");
+                separator = ", ";
             }
-            if (!hasSymbol) {
-                if (!hasUppercase || !hasDigit) message.append(",");
-                message.append(" at least one symbol");
+            if (missingSymbol) {
+                message.append(separator).append("at least one symbol");
             }
+            return fail(context, message.toString());
+        }
 
-            context.buildConstraintViolationWithTemplate(message.toString())
-                    .addConstraintViolation();
-            return false;
+        if (estimateEntropyBits(length, distinct, classes) < policy.minEntropyBits()) {
+            return fail(context, "Password is too predictable, use a longer or more varied password");
+        }
+
+        if (policy.rejectBreached() && breachedPasswords.isBreached(password)) {
+            return fail(context, "This password has appeared in a data breach, please choose a different one");
         }
 
         return true;
     }
+
+    /**
+     * Charset-based estimate: length * log2(pool size), except that repeated
+     * characters only count a quarter each, so "Aa1!Aa1!" scores as 5
+     * characters rather than 8.
+     */
+    static double estimateEntropyBits(int length, int distinct, int classes) {
+        int pool = 0;
+        if ((classes & LOWER) != 0) pool += 26;
+        if ((classes & UPPER) != 0) pool += 26;
+        if ((classes & DIGIT) != 0) pool += 10;
+        if ((classes & SYMBOL) != 0) pool += SYMBOLS.length();
+        if ((classes & OTHER) != 0) pool += 33;
+        if (pool == 0) {
+            return 0;
+        }
+        double effectiveLength = distinct + (length - distinct) / 4.0;
+        return effectiveLength * (Math.log(pool) / Math.log(2));
+    }
+
+    private boolean fail(ConstraintValidatorContext context, String message) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message)
+                .addConstraintViolation();
+        return false;
+    }
 }
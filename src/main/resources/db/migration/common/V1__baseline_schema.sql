@@ -0,0 +1,148 @@
+-- Schema as Hibernate's ddl-auto=update last created it. Databases that were
+-- created that way are baselined past this version (spring.flyway.baseline-version)
+-- and only receive the migrations after it.
+
+CREATE TABLE roles (
+    role_id   INTEGER NOT NULL AUTO_INCREMENT,
+    role_name ENUM('ROLE_ADMIN', 'ROLE_USER'),
+    PRIMARY KEY (role_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    user_id                   BIGINT       NOT NULL AUTO_INCREMENT,
+    username                  VARCHAR(30)  NOT NULL,
+    email                     VARCHAR(50)  NOT NULL,
+    password                  VARCHAR(255) NOT NULL,
+    first_name                VARCHAR(50)  NOT NULL,
+    last_name                 VARCHAR(50)  NOT NULL,
+    account_non_locked        BIT          NOT NULL,
+    locked_until              DATETIME(6),
+    account_non_expired       BIT          NOT NULL,
+    credentials_non_expired   BIT          NOT NULL,
+    enabled                   BIT          NOT NULL,
+    credentials_expiry_date   DATE,
+    account_expiry_date       DATE,
+    two_factor_secret         VARCHAR(255),
+    is_two_factor_enabled     BIT          NOT NULL,
+    sign_up_method            VARCHAR(255),
+    email_verification_code   VARCHAR(255),
+    email_verification_expiry DATETIME(6),
+    role_id                   INTEGER,
+    created_date              DATETIME(6),
+    updated_date              DATETIME(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (role_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transactions (
+    id                BIGINT        NOT NULL,
+    user_id           BIGINT        NOT NULL,
+    amount            DECIMAL(19, 4) NOT NULL,
+    currency          VARCHAR(3)    NOT NULL,
+    category          VARCHAR(50)   NOT NULL,
+    occurred_at       DATETIME(6)   NOT NULL,
+    description       VARCHAR(255),
+    recurring_rule_id BIGINT,
+    occurrence_index  INTEGER,
+    created_date      DATETIME(6),
+    updated_date      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_transactions_recurring_occurrence UNIQUE (recurring_rule_id, occurrence_index),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_transactions_user_occurred_id ON transactions (user_id, occurred_at, id);
+
+CREATE TABLE ledger_rollups (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT         NOT NULL,
+    granularity  ENUM('DAY', 'MONTH') NOT NULL,
+    period_start DATE           NOT NULL,
+    currency     VARCHAR(3)     NOT NULL,
+    category     VARCHAR(50)    NOT NULL,
+    inflow       DECIMAL(19, 4) NOT NULL,
+    outflow      DECIMAL(19, 4) NOT NULL,
+    txn_count    BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ledger_rollups_bucket UNIQUE (user_id, granularity, period_start, currency, category)
+) ENGINE = InnoDB;
+
+CREATE TABLE email_outbox (
+    id                BIGINT        NOT NULL AUTO_INCREMENT,
+    recipient         VARCHAR(50)   NOT NULL,
+    type              ENUM('BUDGET_ALERT', 'VERIFICATION') NOT NULL,
+    verification_code VARCHAR(20),
+    subject           VARCHAR(200),
+    body              VARCHAR(4000),
+    status            ENUM('DEAD', 'PENDING', 'SENT') NOT NULL,
+    attempts          INTEGER       NOT NULL,
+    next_attempt_at   DATETIME(6)   NOT NULL,
+    last_error        VARCHAR(500),
+    created_date      DATETIME(6),
+    sent_date         DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
+
+CREATE TABLE budgets (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT         NOT NULL,
+    category      VARCHAR(50)    NOT NULL,
+    currency      VARCHAR(3)     NOT NULL,
+    monthly_limit DECIMAL(19, 4) NOT NULL,
+    created_date  DATETIME(6),
+    updated_date  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budgets_user_category UNIQUE (user_id, category, currency),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE budget_alerts (
+    id                BIGINT      NOT NULL AUTO_INCREMENT,
+    budget_id         BIGINT      NOT NULL,
+    alert_month       DATE        NOT NULL,
+    threshold_percent INTEGER     NOT NULL,
+    created_date      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budget_alerts_crossing UNIQUE (budget_id, alert_month, threshold_percent)
+) ENGINE = InnoDB;
+
+CREATE TABLE recurring_rules (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id         BIGINT         NOT NULL,
+    amount          DECIMAL(19, 4) NOT NULL,
+    currency        VARCHAR(3)     NOT NULL,
+    category        VARCHAR(50)    NOT NULL,
+    description     VARCHAR(255),
+    frequency       ENUM('DAILY', 'MONTHLY', 'WEEKLY', 'YEARLY') NOT NULL,
+    repeat_interval INTEGER        NOT NULL,
+    max_occurrences INTEGER,
+    until_date      DATE,
+    start_at        DATETIME(6)    NOT NULL,
+    next_occurrence INTEGER        NOT NULL,
+    next_run_at     DATETIME(6),
+    shard           INTEGER        NOT NULL,
+    active          BIT            NOT NULL,
+    created_date    DATETIME(6),
+    updated_date    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_recurring_rules_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_recurring_rules_due ON recurring_rules (shard, next_run_at);
+
+CREATE TABLE category_rules (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT,
+    pattern      VARCHAR(100) NOT NULL,
+    category     VARCHAR(50) NOT NULL,
+    priority     INTEGER     NOT NULL,
+    created_date DATETIME(6),
+    updated_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_category_rules_user_pattern UNIQUE (user_id, pattern),
+    CONSTRAINT fk_category_rules_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
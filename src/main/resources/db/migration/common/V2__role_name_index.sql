@@ -0,0 +1,19 @@
+-- Every registration and seed run looks a role up by name (RoleRepository.findByRoleName);
+-- without an index that is a full scan, and nothing stopped a role being inserted twice.
+
+-- Databases where that happened keep the lowest role_id of each name: users are
+-- moved onto it and the other copies deleted, so the unique index can be built.
+UPDATE users
+SET role_id = (SELECT MIN(same_name.role_id)
+               FROM roles own
+               JOIN roles same_name ON same_name.role_name = own.role_name
+               WHERE own.role_id = users.role_id)
+WHERE role_id IS NOT NULL;
+
+-- The derived table lets MySQL read roles while deleting from it
+DELETE FROM roles
+WHERE role_name IS NOT NULL
+  AND role_id NOT IN (SELECT keep.role_id
+                      FROM (SELECT MIN(role_id) AS role_id FROM roles GROUP BY role_name) keep);
+
+CREATE UNIQUE INDEX uk_roles_role_name ON roles (role_name);
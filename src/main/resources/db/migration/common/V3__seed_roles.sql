@@ -0,0 +1,8 @@
+-- Roles every sign-up needs; previously created by a CommandLineRunner on each boot
+INSERT INTO roles (role_name)
+SELECT 'ROLE_USER' FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'ROLE_USER');
+
+INSERT INTO roles (role_name)
+SELECT 'ROLE_ADMIN' FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'ROLE_ADMIN');
@@ -0,0 +1,113 @@
+-- Brings a database that ddl-auto=update created, and that was then baselined at 1.1
+-- (spring.flyway.baseline-on-migrate), up to V1. It has only the tables its last
+-- boot knew about, so the later ones are created here if missing. Columns added to
+-- existing tables afterwards are handled per vendor in V4_1.
+-- On a database built by V1 this migration changes nothing.
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                BIGINT        NOT NULL,
+    user_id           BIGINT        NOT NULL,
+    amount            DECIMAL(19, 4) NOT NULL,
+    currency          VARCHAR(3)    NOT NULL,
+    category          VARCHAR(50)   NOT NULL,
+    occurred_at       DATETIME(6)   NOT NULL,
+    description       VARCHAR(255),
+    recurring_rule_id BIGINT,
+    occurrence_index  INTEGER,
+    created_date      DATETIME(6),
+    updated_date      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_transactions_recurring_occurrence UNIQUE (recurring_rule_id, occurrence_index),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    INDEX idx_transactions_user_occurred_id (user_id, occurred_at, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ledger_rollups (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT         NOT NULL,
+    granularity  ENUM('DAY', 'MONTH') NOT NULL,
+    period_start DATE           NOT NULL,
+    currency     VARCHAR(3)     NOT NULL,
+    category     VARCHAR(50)    NOT NULL,
+    inflow       DECIMAL(19, 4) NOT NULL,
+    outflow      DECIMAL(19, 4) NOT NULL,
+    txn_count    BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ledger_rollups_bucket UNIQUE (user_id, granularity, period_start, currency, category)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id                BIGINT        NOT NULL AUTO_INCREMENT,
+    recipient         VARCHAR(50)   NOT NULL,
+    type              ENUM('BUDGET_ALERT', 'VERIFICATION') NOT NULL,
+    verification_code VARCHAR(20),
+    subject           VARCHAR(200),
+    body              VARCHAR(4000),
+    status            ENUM('DEAD', 'PENDING', 'SENT') NOT NULL,
+    attempts          INTEGER       NOT NULL,
+    next_attempt_at   DATETIME(6)   NOT NULL,
+    last_error        VARCHAR(500),
+    created_date      DATETIME(6),
+    sent_date         DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_email_outbox_status_next_attempt (status, next_attempt_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT         NOT NULL,
+    category      VARCHAR(50)    NOT NULL,
+    currency      VARCHAR(3)     NOT NULL,
+    monthly_limit DECIMAL(19, 4) NOT NULL,
+    created_date  DATETIME(6),
+    updated_date  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budgets_user_category UNIQUE (user_id, category, currency),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS budget_alerts (
+    id                BIGINT      NOT NULL AUTO_INCREMENT,
+    budget_id         BIGINT      NOT NULL,
+    alert_month       DATE        NOT NULL,
+    threshold_percent INTEGER     NOT NULL,
+    created_date      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budget_alerts_crossing UNIQUE (budget_id, alert_month, threshold_percent)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS recurring_rules (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id         BIGINT         NOT NULL,
+    amount          DECIMAL(19, 4) NOT NULL,
+    currency        VARCHAR(3)     NOT NULL,
+    category        VARCHAR(50)    NOT NULL,
+    description     VARCHAR(255),
+    frequency       ENUM('DAILY', 'MONTHLY', 'WEEKLY', 'YEARLY') NOT NULL,
+    repeat_interval INTEGER        NOT NULL,
+    max_occurrences INTEGER,
+    until_date      DATE,
+    start_at        DATETIME(6)    NOT NULL,
+    next_occurrence INTEGER        NOT NULL,
+    next_run_at     DATETIME(6),
+    shard           INTEGER        NOT NULL,
+    active          BIT            NOT NULL,
+    created_date    DATETIME(6),
+    updated_date    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_recurring_rules_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    INDEX idx_recurring_rules_due (shard, next_run_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS category_rules (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT,
+    pattern      VARCHAR(100) NOT NULL,
+    category     VARCHAR(50) NOT NULL,
+    priority     INTEGER     NOT NULL,
+    created_date DATETIME(6),
+    updated_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_category_rules_user_pattern UNIQUE (user_id, pattern),
+    CONSTRAINT fk_category_rules_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
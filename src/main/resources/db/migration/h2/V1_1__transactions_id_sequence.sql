@@ -0,0 +1,2 @@
+-- Increment matches the allocationSize of Transaction's id generator
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 500;
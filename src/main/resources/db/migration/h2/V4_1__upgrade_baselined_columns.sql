@@ -0,0 +1,12 @@
+-- Second half of V4, H2 flavour of the MySQL script (SchemaMigrationTests upgrades
+-- a ddl-auto era schema with it). H2 can say ADD COLUMN IF NOT EXISTS directly.
+-- Unique key names are not fixed up here: no H2 database predates them.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS locked_until DATETIME(6);
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS recurring_rule_id BIGINT;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS occurrence_index INTEGER;
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS type ENUM('BUDGET_ALERT', 'VERIFICATION') NOT NULL DEFAULT 'VERIFICATION';
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS subject VARCHAR(200);
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS body VARCHAR(4000);
+ALTER TABLE email_outbox ALTER COLUMN verification_code SET NULL;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 500;
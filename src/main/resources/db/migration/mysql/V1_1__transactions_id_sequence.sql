@@ -0,0 +1,6 @@
+-- MySQL has no sequences; Hibernate keeps the transactions id counter in a table
+CREATE TABLE transactions_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO transactions_seq VALUES (1);
@@ -0,0 +1,68 @@
+-- Second half of V4: columns and keys that ddl-auto=update only had if the database
+-- last booted after they were added. MySQL has no ADD COLUMN IF NOT EXISTS, so each
+-- change is built from information_schema and run as a prepared statement
+-- ('DO 0' when there is nothing to do). On a database built by V1 nothing changes.
+
+-- Automatic lockout (users.locked_until)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'locked_until') = 0,
+              'ALTER TABLE users ADD COLUMN locked_until DATETIME(6)', 'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- ddl-auto gave the unique keys on users generated names; ConstraintViolations looks them up by ours
+SET @old = (SELECT MIN(index_name) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'users' AND non_unique = 0
+              AND column_name = 'email' AND seq_in_index = 1 AND index_name <> 'uk_users_email');
+SET @ddl = IF(@old IS NULL OR EXISTS (SELECT 1 FROM information_schema.statistics
+                                      WHERE table_schema = DATABASE() AND table_name = 'users'
+                                        AND index_name = 'uk_users_email'),
+              'DO 0', CONCAT('ALTER TABLE users RENAME INDEX `', @old, '` TO uk_users_email'));
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+SET @old = (SELECT MIN(index_name) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'users' AND non_unique = 0
+              AND column_name = 'username' AND seq_in_index = 1 AND index_name <> 'uk_users_username');
+SET @ddl = IF(@old IS NULL OR EXISTS (SELECT 1 FROM information_schema.statistics
+                                      WHERE table_schema = DATABASE() AND table_name = 'users'
+                                        AND index_name = 'uk_users_username'),
+              'DO 0', CONCAT('ALTER TABLE users RENAME INDEX `', @old, '` TO uk_users_username'));
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- Recurring postings (transactions.recurring_rule_id / occurrence_index and their unique key)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'transactions' AND column_name = 'recurring_rule_id') = 0,
+              'ALTER TABLE transactions ADD COLUMN recurring_rule_id BIGINT, ADD COLUMN occurrence_index INTEGER,
+                   ADD CONSTRAINT uk_transactions_recurring_occurrence UNIQUE (recurring_rule_id, occurrence_index)',
+              'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- Budget alert emails (email_outbox.type / subject / body); rows queued before were verification emails
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'email_outbox' AND column_name = 'type') = 0,
+              'ALTER TABLE email_outbox ADD COLUMN type ENUM(''BUDGET_ALERT'', ''VERIFICATION'') NOT NULL DEFAULT ''VERIFICATION'',
+                   ADD COLUMN subject VARCHAR(200), ADD COLUMN body VARCHAR(4000)',
+              'DO 0');
+PREPARE upgrade FROM @ddl;
+EXECUTE upgrade;
+DEALLOCATE PREPARE upgrade;
+
+-- ddl-auto never relaxes NOT NULL: verification_code was required before budget alerts existed
+ALTER TABLE email_outbox MODIFY verification_code VARCHAR(20) NULL;
+
+-- V1_1 is below the baseline, so a database that predates batched imports has no id table.
+-- Start well past the largest id: the pooled optimizer hands out the block below the stored value.
+CREATE TABLE IF NOT EXISTS transactions_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO transactions_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1000 FROM transactions
+WHERE NOT EXISTS (SELECT 1 FROM transactions_seq);
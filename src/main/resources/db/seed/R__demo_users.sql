@@ -0,0 +1,28 @@
+-- Demo accounts user1 / userPassword and admin1 / adminPassword.
+-- Loaded only when classpath:db/seed is in spring.flyway.locations: the "dev" profile and the tests.
+-- Passwords are stored pre-hashed (BCrypt, cost 10) so startup does no hashing.
+-- Flyway re-runs this file whenever it changes, so every insert must be idempotent.
+
+INSERT INTO users (username, email, password, first_name, last_name,
+                   account_non_locked, account_non_expired, credentials_non_expired, enabled,
+                   credentials_expiry_date, account_expiry_date, is_two_factor_enabled,
+                   sign_up_method, role_id, created_date, updated_date)
+SELECT 'user1', 'user1@example.com', '{bcrypt}$2a$10$Lnl.E4pOGQZhFmMy4u2/4.CuYI6vfDhNDk31bDABvg/6OmwELSN0.',
+       'user', '1', FALSE, TRUE, TRUE, TRUE,
+       CURRENT_DATE + INTERVAL '1' YEAR, CURRENT_DATE + INTERVAL '1' YEAR, FALSE,
+       'email', r.role_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM roles r
+WHERE r.role_name = 'ROLE_USER'
+  AND NOT EXISTS (SELECT 1 FROM users WHERE username = 'user1');
+
+INSERT INTO users (username, email, password, first_name, last_name,
+                   account_non_locked, account_non_expired, credentials_non_expired, enabled,
+                   credentials_expiry_date, account_expiry_date, is_two_factor_enabled,
+                   sign_up_method, role_id, created_date, updated_date)
+SELECT 'admin1', 'admin1@example.com', '{bcrypt}$2a$10$b/QzrQZSh6lFMR2WZCZL/OYK5TtErTBNjCEu.MZ7zOdLy3vKX5DLq',
+       'admin', '1', TRUE, TRUE, TRUE, TRUE,
+       CURRENT_DATE + INTERVAL '1' YEAR, CURRENT_DATE + INTERVAL '1' YEAR, FALSE,
+       'email', r.role_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM roles r
+WHERE r.role_name = 'ROLE_ADMIN'
+  AND NOT EXISTS (SELECT 1 FROM users WHERE username = 'admin1');
@@ -0,0 +1,73 @@
+package com.senibo.financetracker;
+
+import com.senibo.financetracker.models.AppRole;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.EmailOutboxRepository;
+import com.senibo.financetracker.repositories.RoleRepository;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.BudgetService;
+import com.senibo.financetracker.services.TransactionService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Users and data for tests of what follows ledger writes: rollups, budget
+ * totals, analytics columns and the search index.
+ *
+ * Each test class creates a user of its own, so no class sees another's rows
+ * or cached state. Data is removed through the services, not deleteAll(), so
+ * the AFTER_COMMIT listeners see every delete and their state stays in line
+ * with the database.
+ */
+@Component
+public class LedgerFixture {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionRepository transactionRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+
+    public LedgerFixture(UserRepository userRepository,
+                         RoleRepository roleRepository,
+                         TransactionRepository transactionRepository,
+                         EmailOutboxRepository emailOutboxRepository,
+                         TransactionService transactionService,
+                         BudgetService budgetService) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.transactionRepository = transactionRepository;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+    }
+
+    /**
+     * A new, verified user; name is a readable prefix, a random suffix keeps it unique
+     */
+    public User createUser(String name) {
+        String unique = name + "-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User(unique + "@example.com", unique, "Test", name, "{noop}unused");
+        user.setSignUpMethod("email");
+        user.setRole(roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow());
+        return userRepository.save(user);
+    }
+
+    /**
+     * Deletes the user's budgets and transactions through the services, and
+     * the email queued for them
+     */
+    public void clear(User user) {
+        Long userId = user.getUserId();
+        budgetService.getBudgets(userId).forEach(budget -> budgetService.deleteBudget(userId, budget.id()));
+        transactionRepository.findHistory(userId, Limit.unlimited())
+                .forEach(transaction -> transactionService.deleteTransaction(userId, transaction.getId()));
+        emailOutboxRepository.deleteAll(emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(user.getEmail()))
+                .toList());
+    }
+}
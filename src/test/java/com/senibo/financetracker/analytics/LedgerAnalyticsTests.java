@@ -0,0 +1,138 @@
+package com.senibo.financetracker.analytics;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.dtos.responses.SpendingSummary;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.services.AnalyticsService;
+import com.senibo.financetracker.services.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerAnalyticsTests {
+
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private User user;
+    private Long userId;
+
+    @BeforeAll
+    void createUser() {
+        user = fixture.createUser("analytics");
+        userId = user.getUserId();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fixture.clear(user);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        fixture.clear(user);
+    }
+
+    @Test
+    void reportsStayCurrentWithLedgerWrites() {
+        create("3000.00", "Salary", 2023, 1, 31);
+        create("-1200.00", "Rent", 2023, 1, 1);
+        create("-80.50", "Food", 2023, 1, 15);
+        create("-40.00", "Food", 2024, 6, 3);
+        create("-99.00", "Food", 2024, 6, 3);
+        transactionService.createTransaction(userId,
+                new TransactionRequest(new BigDecimal("-500.00"), "EUR", "Rent", LocalDateTime.of(2024, 1, 1, 0, 0), null));
+
+        SpendingSummary summary = analyticsService.getSummary(userId, "USD", null, FROM, TO);
+        assertThat(summary.count()).isEqualTo(5);
+        assertThat(summary.outflow()).isEqualByComparingTo("-1419.50");
+        assertThat(summary.net()).isEqualByComparingTo("1580.50");
+        assertThat(analyticsService.getSummary(userId, "USD", "Food", FROM, TO).count()).isEqualTo(3);
+
+        // Columns are cached now; later writes must be applied to them
+        TransactionResponse lunch = create("-10.00", "Food", 2024, 6, 4);
+        transactionService.updateTransaction(userId, lunch.id(),
+                new TransactionRequest(new BigDecimal("-2000.00"), "USD", "Travel", LocalDateTime.of(2024, 7, 1, 9, 0), null));
+
+        List<CategoryTotal> top = analyticsService.getTopCategories(userId, "USD", FROM, TO, 2);
+        assertThat(top).extracting(CategoryTotal::category).containsExactly("Travel", "Rent");
+        assertThat(top.get(0).outflow()).isEqualByComparingTo("-2000.00");
+
+        List<BalanceBucket> quarters = analyticsService.getTimeSeries(userId, "USD", TimeBucket.QUARTER, FROM, TO);
+        assertThat(quarters).hasSize(8);
+        assertThat(quarters.get(0).net()).isEqualByComparingTo("1719.50");
+        assertThat(quarters.get(5).outflow()).isEqualByComparingTo("-139.00");
+        assertThat(quarters.get(6).outflow()).isEqualByComparingTo("-2000.00");
+        assertThat(quarters.get(6).periodStart()).isEqualTo(LocalDate.of(2024, 7, 1));
+
+        transactionService.deleteTransaction(userId, lunch.id());
+        assertThat(analyticsService.getSummary(userId, "USD", null, FROM, TO).count()).isEqualTo(5);
+    }
+
+    @Test
+    void columnsSurviveManyRemovals() {
+        LedgerColumns columns = new LedgerColumns(0);
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        for (long id = 1; id <= 10_000; id++) {
+            columns.put(id, BigDecimal.valueOf(-id), day, "USD", "C" + (id % 7));
+        }
+        for (long id = 1; id <= 10_000; id += 2) {
+            columns.remove(id);
+        }
+        columns.remove(1); // already gone
+        columns.put(2, new BigDecimal("-2"), day, "USD", "C2"); // replay of a known row
+
+        LedgerColumns.Aggregates totals = columns.total("USD", null, day, day);
+        assertThat(totals.count(0)).isEqualTo(5_000);
+        // Sum of the even numbers 2..10000
+        assertThat(totals.outflow(0)).isEqualByComparingTo("-25005000");
+        assertThat(columns.total("GBP", null, day, day).count(0)).isZero();
+    }
+
+    @Test
+    void columnsHoldMoreDistinctCategoriesThanAShortCanCount() {
+        LedgerColumns columns = new LedgerColumns(0);
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        int categories = Short.MAX_VALUE + 10;
+        for (int i = 0; i < categories; i++) {
+            columns.put(i + 1, new BigDecimal("-1"), day, "USD", "C" + i);
+        }
+
+        LedgerColumns.Aggregates byCategory = columns.totalByCategory("USD", day, day);
+        assertThat(byCategory.buckets()).isEqualTo(categories);
+        assertThat(columns.categoryName(categories - 1)).isEqualTo("C" + (categories - 1));
+        assertThat(byCategory.count(categories - 1)).isEqualTo(1);
+        assertThat(columns.total("USD", "C" + (categories - 1), day, day).count(0)).isEqualTo(1);
+    }
+
+    private TransactionResponse create(String amount, String category, int year, int month, int dayOfMonth) {
+        return transactionService.createTransaction(userId, new TransactionRequest(new BigDecimal(amount), "USD",
+                category, LocalDateTime.of(year, month, dayOfMonth, 12, 0), null));
+    }
+}
@@ -0,0 +1,150 @@
+package com.senibo.financetracker.budgets;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.BudgetRequest;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.BudgetResponse;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.models.EmailOutbox;
+import com.senibo.financetracker.models.EmailOutboxType;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.BudgetAlertRepository;
+import com.senibo.financetracker.repositories.EmailOutboxRepository;
+import com.senibo.financetracker.services.BudgetService;
+import com.senibo.financetracker.services.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BudgetEngineTests {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private User user;
+    private Long userId;
+
+    @BeforeAll
+    void createUser() {
+        user = fixture.createUser("budgets");
+        userId = user.getUserId();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fixture.clear(user);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        fixture.clear(user);
+    }
+
+    @Test
+    void eachThresholdCrossingAlertsOnce() {
+        BudgetResponse budget = budgetService.createBudget(userId, new BudgetRequest("Food", "USD", new BigDecimal("100")));
+
+        spend("-50.00");
+        assertThat(budgetAlerts()).isEmpty();
+
+        spend("-35.00"); // 85%
+        assertThat(budgetAlerts()).extracting(EmailOutbox::getSubject)
+                .containsExactly("Budget alert: Food at 80% - Finance Tracker");
+
+        TransactionResponse small = spend("-10.00"); // 95%, already alerted for 80%
+        transactionService.deleteTransaction(userId, small.id()); // back to 85%
+        spend("-10.00"); // 95% again: no second 80% alert
+        assertThat(budgetAlerts()).hasSize(1);
+
+        spend("-10.00"); // 105%
+        spend("-5.00");
+        assertThat(budgetAlerts()).hasSize(2);
+        assertThat(budgetAlerts().get(1).getSubject()).isEqualTo("Budget exceeded: Food - Finance Tracker");
+
+        // Other categories and income don't count
+        transactionService.createTransaction(userId, request("-500.00", "Rent"));
+        transactionService.createTransaction(userId, request("1000.00", "Food"));
+
+        BudgetResponse status = budgetService.getBudgets(userId).get(0);
+        assertThat(status.id()).isEqualTo(budget.id());
+        assertThat(status.spent()).isEqualByComparingTo("110");
+        assertThat(status.percentUsed()).isEqualByComparingTo("110.0");
+        assertThat(sentThresholds(budget.id())).containsExactlyInAnyOrder(80, 100);
+    }
+
+    @Test
+    void oneChangeCrossingBothThresholdsSendsOneEmail() {
+        BudgetResponse budget = budgetService.createBudget(userId, new BudgetRequest("Travel", "USD", new BigDecimal("200")));
+
+        transactionService.createTransaction(userId, request("-250.00", "Travel"));
+
+        assertThat(budgetAlerts()).extracting(EmailOutbox::getSubject)
+                .containsExactly("Budget exceeded: Travel - Finance Tracker");
+        assertThat(sentThresholds(budget.id())).containsExactlyInAnyOrder(80, 100);
+    }
+
+    @Test
+    void spendWrittenByAnotherNodeIsShownAndAlerted() {
+        budgetService.createBudget(userId, new BudgetRequest("Food", "USD", new BigDecimal("100")));
+        spend("-50.00");
+
+        // Another node's write: the rollups change without this node's running total seeing it
+        jdbcTemplate.update("UPDATE ledger_rollups SET outflow = outflow - 40 WHERE user_id = ? AND category = 'Food'",
+                userId);
+
+        assertThat(budgetService.getBudgets(userId).get(0).spent()).isEqualByComparingTo("90");
+        assertThat(budgetAlerts()).isEmpty();
+
+        spend("-1.00"); // 91%, although this node only saw 51
+        assertThat(budgetAlerts()).extracting(EmailOutbox::getSubject)
+                .containsExactly("Budget alert: Food at 80% - Finance Tracker");
+    }
+
+    private TransactionResponse spend(String amount) {
+        return transactionService.createTransaction(userId, request(amount, "Food"));
+    }
+
+    private static TransactionRequest request(String amount, String category) {
+        return new TransactionRequest(new BigDecimal(amount), "USD", category, LocalDateTime.now(), null);
+    }
+
+    private List<EmailOutbox> budgetAlerts() {
+        return emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getType() == EmailOutboxType.BUDGET_ALERT)
+                .filter(email -> email.getRecipient().equals(user.getEmail()))
+                .toList();
+    }
+
+    private List<Integer> sentThresholds(Long budgetId) {
+        return budgetAlertRepository.findSentThresholds(budgetId, YearMonth.now().atDay(1));
+    }
+}
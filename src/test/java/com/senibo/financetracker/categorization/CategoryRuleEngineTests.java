@@ -0,0 +1,126 @@
+package com.senibo.financetracker.categorization;
+
+import com.senibo.financetracker.dtos.requests.CategoryRuleRequest;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.imports.StatementFormat;
+import com.senibo.financetracker.models.CategoryRule;
+import com.senibo.financetracker.models.Transaction;
+import com.senibo.financetracker.repositories.CategoryRuleRepository;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.CategoryRuleService;
+import com.senibo.financetracker.services.TransactionImportService;
+import com.senibo.financetracker.services.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CategoryRuleEngineTests {
+
+    @Autowired
+    private CategoryRuleService ruleService;
+
+    @Autowired
+    private CategoryRuleRepository ruleRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.findByUsername("user1").orElseThrow().getUserId();
+        ruleService.getRules(null).forEach(rule -> ruleService.deleteRule(null, rule.id()));
+        ruleService.getRules(userId).forEach(rule -> ruleService.deleteRule(userId, rule.id()));
+        transactionRepository.deleteAll();
+    }
+
+    @Test
+    void userRulesOverrideGlobalRulesOnCreateAndImport() {
+        ruleService.createRule(null, new CategoryRuleRequest("Uber", "Transport", null));
+        ruleService.createRule(null, new CategoryRuleRequest("Tesco", "Groceries", null));
+        ruleService.createRule(userId, new CategoryRuleRequest("uber eats", "Takeaway", null));
+        ruleService.createRule(userId, new CategoryRuleRequest("Café", "Coffee", 5));
+
+        String created = transactionService.createTransaction(userId, new TransactionRequest(new BigDecimal("-12.00"),
+                "USD", null, LocalDateTime.now(), "UBER *EATS Pending")).category();
+        assertThat(created).isEqualTo("Takeaway");
+
+        String csv = """
+                date,amount,category,description
+                2024-05-01,-8.50,,Uber trip 123
+                2024-05-02,-40.00,,TESCO STORES 2231
+                2024-05-03,-3.10,,Cafe Tesco
+                2024-05-04,-1.00,,Uberti Hardware
+                2024-05-05,-9.00,Gifts,Tesco
+                """;
+        importService.importStatement(userId, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                StatementFormat.CSV, "USD", progress -> { });
+
+        Map<String, String> categories = transactionRepository.findAll().stream()
+                .collect(Collectors.toMap(Transaction::getDescription, Transaction::getCategory));
+        assertThat(categories).containsEntry("Uber trip 123", "Transport")
+                .containsEntry("TESCO STORES 2231", "Groceries")
+                .containsEntry("Cafe Tesco", "Coffee") // the user's rule beats the global one
+                .containsEntry("Uberti Hardware", Transaction.UNCATEGORIZED) // whole words only
+                .containsEntry("Tesco", "Gifts"); // an explicit category is kept
+
+        assertThatThrownBy(() -> ruleService.createRule(userId, new CategoryRuleRequest("  *** ", "X", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void precedenceIsPriorityThenLengthThenAge() {
+        List<CategoryRule> rules = new ArrayList<>();
+        rules.add(rule(1, "amazon", "Shopping", 0));
+        rules.add(rule(2, "amazon prime", "Subscriptions", 0));
+        rules.add(rule(3, "prime", "Video", 0));
+        rules.add(rule(4, "amazon", "Older duplicate loses", 0));
+        rules.add(rule(5, "aws", "Cloud", 10));
+        CompiledRules compiled = CompiledRules.compile(rules);
+
+        assertThat(compiled.match(CompiledRules.pad("amazon prime video"))).isEqualTo("Subscriptions");
+        assertThat(compiled.match(CompiledRules.pad("amazon marketplace"))).isEqualTo("Shopping");
+        assertThat(compiled.match(CompiledRules.pad("prime"))).isEqualTo("Video");
+        assertThat(compiled.match(CompiledRules.pad("amazon aws emea"))).isEqualTo("Cloud");
+        assertThat(compiled.match(CompiledRules.pad("amazonia"))).isNull();
+    }
+
+    @Test
+    void automatonFindsOverlappingPatterns() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("he", "she", "his", "hers"));
+        List<Integer> found = new ArrayList<>();
+        automaton.scan("ushers", pattern -> found.add(pattern));
+        assertThat(found).containsExactlyInAnyOrder(0, 1, 3);
+    }
+
+    private static CategoryRule rule(long id, String pattern, String category, int priority) {
+        CategoryRule rule = new CategoryRule(null, pattern, category, priority);
+        rule.setId(id);
+        return rule;
+    }
+}
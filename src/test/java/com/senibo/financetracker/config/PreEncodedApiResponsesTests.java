@@ -0,0 +1,82 @@
+package com.senibo.financetracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.responses.ApiMessages;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PreEncodedApiResponsesTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void preEncodedBodiesMatchJacksonByteForByte() throws Exception {
+        assertThat(objectMapper.getRegisteredModuleIds()).anyMatch(id -> id.toString().contains("Blackbird"));
+        HttpMessageConverter<?> writer = handlerAdapter.getMessageConverters().stream()
+                .filter(candidate -> candidate.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON))
+                .findFirst().orElseThrow();
+        assertThat(writer).isInstanceOf(PreEncodedApiResponseConverter.class);
+        PreEncodedApiResponseConverter converter = (PreEncodedApiResponseConverter) writer;
+
+        List<LocalDateTime> timestamps = List.of(
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 100_000_000),
+                LocalDateTime.of(2024, 2, 29, 0, 0, 0, 123_456_000),
+                LocalDateTime.of(999, 7, 8, 9, 10, 11, 1),
+                LocalDateTime.now());
+        for (String message : ApiMessages.ALL) {
+            for (LocalDateTime timestamp : timestamps) {
+                ApiResponse<Void> body = new ApiResponse<>(true, timestamp, null, message, null);
+                MockHttpOutputMessage output = new MockHttpOutputMessage();
+                converter.write(body, MediaType.APPLICATION_JSON, output);
+
+                assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(body));
+                assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+            }
+        }
+
+        // Anything else is left to Jackson
+        ApiResponse<Map<String, Integer>> withData = ApiResponse.success(Map.of("count", 3), ApiMessages.BUDGET_DELETED);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(withData, MediaType.APPLICATION_JSON, output);
+        assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(withData));
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(-1);
+    }
+
+    @Test
+    void timestampsAreFormattedLikeIsoLocalDateTime() {
+        byte[] buffer = new byte[29];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            int nano = switch (i % 4) {
+                case 0 -> 0;
+                case 1 -> random.nextInt(1000) * 1_000_000;
+                case 2 -> random.nextInt(1_000_000) * 1000;
+                default -> random.nextInt(1_000_000_000);
+            };
+            LocalDateTime time = LocalDateTime.of(random.nextInt(10_000), random.nextInt(1, 13), random.nextInt(1, 29),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), nano);
+            int length = PreEncodedApiResponses.formatTimestamp(time, buffer);
+            assertThat(new String(buffer, 0, length)).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.senibo.financetracker.datasource;
+
+import com.senibo.financetracker.dtos.requests.EmailVerificationRequest;
+import com.senibo.financetracker.dtos.requests.SignUpRequest;
+import com.senibo.financetracker.security.UsernameOrEmailAuthenticationProvider;
+import com.senibo.financetracker.services.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sign-in and email verification through the real beans, with routing on.
+ * The "replica" pool points at the same in-memory database as the primary,
+ * so lookups succeed either way and the datasource.routed counters show
+ * where each one went.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.lag-query=SELECT 0",
+        "app.datasource.replicas[0].name=replica-0",
+        "app.datasource.replicas[0].url=${spring.datasource.url}"
+})
+class AuthReadRoutingTests {
+
+    // Verification codes are nextInt(999999), so never this
+    private static final String WRONG_CODE = "999999";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UsernameOrEmailAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void authLookupsAreServedByTheReplica() {
+        double replica = routed("replica-0");
+
+        Authentication signedIn = authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken("admin1", "adminPassword"));
+        assertThat(signedIn.isAuthenticated()).isTrue();
+        assertThat(routed("replica-0")).isEqualTo(replica + 1);
+
+        assertThatThrownBy(() -> authService.verifyEmail(new EmailVerificationRequest("admin1@example.com", WRONG_CODE)))
+                .hasMessage("Account is already verified");
+        assertThat(routed("replica-0")).isEqualTo(replica + 2);
+    }
+
+    @Test
+    void loginsThatJustWroteAreReadFromThePrimary() {
+        authService.registerUser(new SignUpRequest("routing@example.com", "routing", "Routing", "Test",
+                "Tr4ffic-Lights-Over-Rivers"));
+        double replica = routed("replica-0");
+        double primary = routed("primary");
+
+        assertThatThrownBy(() -> authService.verifyEmail(new EmailVerificationRequest("routing@example.com", WRONG_CODE)))
+                .hasMessage("Invalid verification code.");
+        assertThat(routed("replica-0")).isEqualTo(replica);
+        assertThat(routed("primary")).isGreaterThan(primary);
+
+        // Unknown logins, e.g. from credential stuffing, are answered by the replica alone
+        primary = routed("primary");
+        assertThatThrownBy(() -> authService.verifyEmail(new EmailVerificationRequest("nobody@example.com", WRONG_CODE)))
+                .hasMessage("User not found");
+        assertThatThrownBy(() -> authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken("nobody", "Tr4ffic-Lights-Over-Rivers")))
+                .hasMessage("Invalid credentials");
+        assertThat(routed("replica-0")).isEqualTo(replica + 2);
+        assertThat(routed("primary")).isEqualTo(primary);
+    }
+
+    private double routed(String pool) {
+        return meterRegistry.get("datasource.routed").tag("pool", pool).counter().count();
+    }
+}
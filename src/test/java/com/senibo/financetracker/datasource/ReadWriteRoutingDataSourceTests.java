@@ -0,0 +1,125 @@
+package com.senibo.financetracker.datasource;
+
+import com.senibo.financetracker.security.jwt.TokenClaims;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica; each
+ * knows its own name, so a query shows where it was routed.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWrites readYourWrites;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary");
+        replica = database("routing_replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds INT)");
+        setReplicaLag(0);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-0", replica), "SELECT seconds FROM replica_lag",
+                5, Duration.ofMinutes(1), meterRegistry);
+        lagMonitor.checkNow();
+        readYourWrites = new ReadYourWrites(true, 10, 1000);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primary, Map.of("replica-0", replica), lagMonitor, readYourWrites, meterRegistry));
+        transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaUnlessItLags() {
+        assertThat(whoAnswers(true)).isEqualTo("replica");
+        assertThat(whoAnswers(false)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class)).isEqualTo("primary");
+
+        setReplicaLag(30);
+        lagMonitor.checkNow();
+        assertThat(whoAnswers(true)).isEqualTo("primary");
+
+        setReplicaLag(2);
+        lagMonitor.checkNow();
+        assertThat(whoAnswers(true)).isEqualTo("replica");
+
+        // A replica that stopped replicating reports no lag at all
+        new JdbcTemplate(replica).update("DELETE FROM replica_lag");
+        lagMonitor.checkNow();
+        assertThat(whoAnswers(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        signInAs(42L);
+        assertThat(whoAnswers(true)).isEqualTo("replica");
+        assertThat(whoAnswers(false)).isEqualTo("primary");
+        assertThat(whoAnswers(true)).isEqualTo("primary");
+
+        signInAs(7L);
+        assertThat(whoAnswers(true)).isEqualTo("replica");
+
+        // Flows before sign-in name the subject explicitly
+        SecurityContextHolder.clearContext();
+        readYourWrites.markWritten("jane@example.com");
+        assertThat(readYourWrites.readFor("jane@example.com", () -> whoAnswers(true))).isEqualTo("primary");
+        assertThat(readYourWrites.readFor("john@example.com", () -> whoAnswers(true))).isEqualTo("replica");
+    }
+
+    private String whoAnswers(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private void setReplicaLag(int seconds) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replica_lag");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (?)", seconds);
+    }
+
+    private static void signInAs(Long userId) {
+        TokenClaims claims = new TokenClaims(userId, "user" + userId, List.of("ROLE_USER"), Long.MAX_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(claims, null, List.of()));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name);
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name.substring("routing_".length()));
+        return dataSource;
+    }
+}
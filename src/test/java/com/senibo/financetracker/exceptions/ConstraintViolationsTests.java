@@ -0,0 +1,95 @@
+package com.senibo.financetracker.exceptions;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Duplicate users are told apart by the violated constraint's name, whether
+ * the insert went through Hibernate or plain JDBC (as the bulk import does).
+ */
+@SpringBootTest
+class ConstraintViolationsTests {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO users (email, username, password, first_name, last_name, account_non_locked,
+                               account_non_expired, credentials_non_expired, enabled, is_two_factor_enabled)
+            VALUES (?, ?, '{noop}unused', 'Test', 'Copy', TRUE, TRUE, TRUE, TRUE, FALSE)
+            """;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    @Test
+    void duplicateUsersThroughJpaMapToTheViolatedKey() {
+        User existing = fixture.createUser("duplicate");
+
+        DataIntegrityViolationException sameEmail = saveCopy(existing, existing.getEmail(), existing.getUsername() + "-2");
+        assertThat(ConstraintViolations.duplicateCodeFor(sameEmail)).isEqualTo(ApiError.DUPLICATE_EMAIL);
+        assertThat(ConstraintViolations.violates(sameEmail, User.UK_EMAIL)).isTrue();
+        assertThat(ConstraintViolations.violates(sameEmail, User.UK_USERNAME)).isFalse();
+        assertError(handler.handleDataIntegrityViolation(sameEmail), ApiError.DUPLICATE_EMAIL, "Email address already exists");
+
+        DataIntegrityViolationException sameUsername = saveCopy(existing, "2-" + existing.getEmail(), existing.getUsername());
+        assertThat(ConstraintViolations.duplicateCodeFor(sameUsername)).isEqualTo(ApiError.DUPLICATE_USERNAME);
+        assertError(handler.handleDataIntegrityViolation(sameUsername), ApiError.DUPLICATE_USERNAME, "Username already exists");
+    }
+
+    @Test
+    void duplicateUsersThroughJdbcMapToTheViolatedKey() {
+        User existing = fixture.createUser("duplicate");
+
+        DataIntegrityViolationException sameEmail = insertCopy(existing.getEmail(), existing.getUsername() + "-2");
+        assertThat(ConstraintViolations.duplicateCodeFor(sameEmail)).isEqualTo(ApiError.DUPLICATE_EMAIL);
+
+        DataIntegrityViolationException sameUsername = insertCopy("2-" + existing.getEmail(), existing.getUsername());
+        assertThat(ConstraintViolations.duplicateCodeFor(sameUsername)).isEqualTo(ApiError.DUPLICATE_USERNAME);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotDuplicates() {
+        DataIntegrityViolationException missingEmail = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(INSERT_SQL, null, "no-email"));
+        assertThat(ConstraintViolations.duplicateCodeFor(missingEmail)).isNull();
+        assertError(handler.handleDataIntegrityViolation(missingEmail), ApiError.VALIDATION_ERROR, "Data integrity violation");
+    }
+
+    private DataIntegrityViolationException saveCopy(User existing, String email, String username) {
+        User copy = new User(email, username, "Test", "Copy", "{noop}unused");
+        copy.setSignUpMethod("email");
+        copy.setRole(existing.getRole());
+        return catchThrowableOfType(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(copy));
+    }
+
+    private DataIntegrityViolationException insertCopy(String email, String username) {
+        return catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(INSERT_SQL, email, username));
+    }
+
+    private static void assertError(ResponseEntity<ApiResponse<Void>> response, String code, String message) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().error().code()).isEqualTo(code);
+        assertThat(response.getBody().error().message()).isEqualTo(message);
+    }
+}
@@ -0,0 +1,159 @@
+package com.senibo.financetracker.fx;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.ConvertedSummary;
+import com.senibo.financetracker.exceptions.FxRatesUnavailableException;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.services.AnalyticsService;
+import com.senibo.financetracker.services.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FxRateTableTests {
+
+    private static final String RATES = """
+            date,currency,rate
+            2024-05-03,USD,1.0800
+            2024-05-01,USD,1.0700
+            2024-05-01,GBP,0.8500
+            2024-05-06,GBP,0.8600
+            """;
+
+    private static Path rateFile;
+
+    @DynamicPropertySource
+    static void fxProperties(DynamicPropertyRegistry registry) throws IOException {
+        rateFile = Files.createTempFile("fx-rates", ".bin");
+        compile(RATES);
+        registry.add("app.fx.rate-file", rateFile::toString);
+        registry.add("app.fx.reload-check-seconds", () -> "0");
+    }
+
+    @Autowired
+    private FxRates fxRates;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private User user;
+    private Long userId;
+
+    @BeforeAll
+    void createUser() {
+        user = fixture.createUser("fx");
+        userId = user.getUserId();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fixture.clear(user);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        fixture.clear(user);
+    }
+
+    @Test
+    void looksUpRatesByDateWithGapsFilled() {
+        FxRateTable table = fxRates.table();
+        assertThat(table.base()).isEqualTo("EUR");
+        assertThat(table.currencies()).containsExactly("EUR", "GBP", "USD");
+        assertThat(table.rate("USD", LocalDate.of(2024, 5, 2))).isEqualByComparingTo("1.07");
+        assertThat(table.rate("USD", LocalDate.of(2024, 5, 4))).isEqualByComparingTo("1.08");
+        // After the last day the latest rate is used
+        assertThat(table.rate("GBP", LocalDate.of(2030, 1, 1))).isEqualByComparingTo("0.86");
+        assertThat(table.rate("USD", LocalDate.of(2024, 4, 30))).isNull();
+        assertThat(table.rate("JPY", LocalDate.of(2024, 5, 2))).isNull();
+        assertThat(table.factor("GBP", "USD", LocalDate.of(2024, 5, 1).toEpochDay()))
+                .isEqualByComparingTo(new BigDecimal("1.07").divide(new BigDecimal("0.85"), MathContext.DECIMAL64));
+    }
+
+    @Test
+    void convertsEachTransactionAtTheRateOfItsDate() throws IOException {
+        create("-107.00", "USD", 2024, 5, 1);  // 100 EUR
+        create("-108.00", "USD", 2024, 5, 4);  // 100 EUR
+        create("85.00", "GBP", 2024, 5, 2);    // 100 EUR
+        create("-50.00", "EUR", 2024, 5, 2);
+        create("-1000", "JPY", 2024, 5, 2);    // no rate
+
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+        ConvertedSummary summary = analyticsService.getConvertedSummary(userId, "EUR", null, from, to);
+        assertThat(summary.inflow()).isEqualByComparingTo("100");
+        assertThat(summary.outflow()).isEqualByComparingTo("-250");
+        assertThat(summary.count()).isEqualTo(4);
+        assertThat(summary.unconvertedCount()).isEqualTo(1);
+        assertThat(summary.missingRates()).containsExactly("JPY");
+
+        // Only days with transactions are summed, however long the range
+        ConvertedSummary centuries = analyticsService.getConvertedSummary(userId, "EUR", null,
+                LocalDate.of(1900, 1, 1), LocalDate.of(2199, 12, 31));
+        assertThat(centuries.outflow()).isEqualByComparingTo("-250");
+
+        // Reloading picks up the new file without a restart
+        compile(RATES + "2024-05-01,JPY,160.00\n");
+        fxRates.reload();
+        summary = analyticsService.getConvertedSummary(userId, "EUR", null, from, to);
+        assertThat(summary.outflow()).isEqualByComparingTo("-256.25");
+        assertThat(summary.missingRates()).isEqualTo(List.of());
+    }
+
+    @Test
+    void reloadFailuresNameTheProblemButNotTheFile() {
+        assertThatThrownBy(() -> new FxRates("", 0).reload())
+                .isInstanceOf(FxRatesUnavailableException.class)
+                .extracting(e -> ((FxRatesUnavailableException) e).getCode())
+                .isEqualTo(ApiError.FX_NOT_CONFIGURED);
+
+        Path missing = rateFile.resolveSibling("missing-" + rateFile.getFileName());
+        assertThatThrownBy(() -> new FxRates(missing.toString(), 0).reload())
+                .isInstanceOf(FxRatesUnavailableException.class)
+                .satisfies(e -> assertThat(((FxRatesUnavailableException) e).getCode()).isEqualTo(ApiError.FX_UNAVAILABLE))
+                .message().doesNotContain(missing.getFileName().toString());
+    }
+
+    private void create(String amount, String currency, int year, int month, int day) {
+        transactionService.createTransaction(userId, new TransactionRequest(new BigDecimal(amount), currency, "Misc",
+                LocalDateTime.of(year, month, day, 12, 0), null));
+    }
+
+    private static void compile(String csv) throws IOException {
+        Path input = Files.createTempFile("fx-rates", ".csv");
+        try {
+            Files.writeString(input, csv);
+            FxRateTableCompiler.compile("EUR", input, rateFile);
+        } finally {
+            Files.deleteIfExists(input);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.senibo.financetracker.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementParserTests {
+
+    @Test
+    void csvHandlesQuotesLineBreaksAndBadRows() throws IOException {
+        String csv = """
+                \uFEFFDate,Description,Amount,Category
+                2025-01-31,"Coffee, large",-3.50,Food
+                2025-02-01T09:30:00,"Rent ""Feb""
+                second line",-1200,
+                not-a-date,Broken,1.00,Misc
+                2025-02-02,Salary,2500.00,Income
+                """;
+        Collected result = new Collected();
+
+        long rows = new CsvStatementParser().parse(new StringReader(csv), "EUR", result);
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(result.rows).hasSize(3);
+        StatementRow coffee = result.rows.get(0);
+        assertThat(coffee.description()).isEqualTo("Coffee, large");
+        assertThat(coffee.amount()).isEqualByComparingTo("-3.50");
+        assertThat(coffee.currency()).isEqualTo("EUR");
+        StatementRow rent = result.rows.get(1);
+        assertThat(rent.description()).isEqualTo("Rent \"Feb\"\nsecond line");
+        assertThat(rent.occurredAt()).isEqualTo(LocalDateTime.of(2025, 2, 1, 9, 30));
+        assertThat(rent.category()).isEqualTo(StatementValues.DEFAULT_CATEGORY);
+        // The broken row starts on line 5 because the quoted rent description spans two lines
+        assertThat(result.errors).containsExactly("5: invalid date 'not-a-date', expected yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss");
+    }
+
+    @Test
+    void commasAreOnlyThousandsSeparators() {
+        assertThat(StatementValues.amount("1,234.50")).isEqualByComparingTo("1234.50");
+        assertThat(StatementValues.amount("-12,345,678.9")).isEqualByComparingTo("-12345678.9");
+        assertThat(StatementValues.amount(" 12.50 ")).isEqualByComparingTo("12.50");
+
+        // Decimal commas, or commas without a decimal point, could mean either
+        for (String ambiguous : List.of("12,50", "1,234", "1,234,5", "1,23.00", "12,3456.7")) {
+            assertThatThrownBy(() -> StatementValues.amount(ambiguous))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("ambiguous amount '" + ambiguous + "', use '.' as the decimal point");
+        }
+    }
+
+    @Test
+    void csvStopsAtARunawayQuotedField() {
+        String csv = "Date,Description,Amount\n2025-01-31,\"never closed," + "x".repeat(StatementValues.MAX_FIELD_CHARS);
+
+        assertThatThrownBy(() -> new CsvStatementParser().parse(new StringReader(csv), "EUR", new Collected()))
+                .isInstanceOf(InvalidStatementException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void ofxSgmlWithUnclosedElements() throws IOException {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <CURDEF>GBP
+                <BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250115120000.000[-5:EST]<TRNAMT>-42.10<NAME>Grocer &amp; Co<MEMO>Card 1234</STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250116<TRNAMT>100<NAME>Refund</STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT<TRNAMT>-1</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        Collected result = new Collected();
+
+        long transactions = new OfxStatementParser().parse(new StringReader(ofx), "USD", result);
+
+        assertThat(transactions).isEqualTo(3);
+        assertThat(result.rows).hasSize(2);
+        StatementRow grocer = result.rows.get(0);
+        assertThat(grocer.occurredAt()).isEqualTo(LocalDateTime.of(2025, 1, 15, 12, 0));
+        assertThat(grocer.amount()).isEqualByComparingTo("-42.10");
+        assertThat(grocer.currency()).isEqualTo("GBP");
+        assertThat(grocer.description()).isEqualTo("Grocer & Co - Card 1234");
+        assertThat(result.rows.get(1).occurredAt()).isEqualTo(LocalDateTime.of(2025, 1, 16, 0, 0));
+        assertThat(result.errors).hasSize(1).first().asString().startsWith("3: missing or invalid DTPOSTED");
+    }
+
+    private static class Collected implements StatementRowHandler {
+        final List<StatementRow> rows = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onRow(StatementRow row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void onError(long position, String message) {
+            errors.add(position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.senibo.financetracker.recurring;
+
+import com.senibo.financetracker.dtos.requests.RecurringRuleRequest;
+import com.senibo.financetracker.dtos.responses.RecurringRuleResponse;
+import com.senibo.financetracker.models.RecurrenceFrequency;
+import com.senibo.financetracker.models.Transaction;
+import com.senibo.financetracker.repositories.RecurringRuleRepository;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.RecurringRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RecurringTransactionSchedulerTests {
+
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+
+    @Autowired
+    private RecurringRuleService ruleService;
+
+    @Autowired
+    private RecurringRuleRepository ruleRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.findByUsername("user1").orElseThrow().getUserId();
+        ruleRepository.deleteAll();
+        transactionRepository.deleteAll();
+    }
+
+    @Test
+    void postsEachDueOccurrenceExactlyOnce() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMonths(2).minusHours(1);
+        RecurringRuleResponse rent = ruleService.createRule(userId, request("-1200.00", "Rent", "FREQ=MONTHLY", start));
+        ruleService.createRule(userId, request("25.00", "Interest", "RRULE:FREQ=DAILY;INTERVAL=1;COUNT=2",
+                LocalDateTime.now().minusDays(10)));
+        ruleService.createRule(userId, request("-9.99", "Music", "FREQ=WEEKLY", LocalDateTime.now().plusDays(1)));
+
+        assertThat(scheduler.postDueTransactions()).isEqualTo(5);
+        assertThat(scheduler.postDueTransactions()).isZero();
+
+        List<Transaction> rentPostings = transactionRepository.findAll().stream()
+                .filter(t -> rent.id().equals(t.getRecurringRuleId()))
+                .sorted(Comparator.comparing(Transaction::getOccurrenceIndex))
+                .toList();
+        assertThat(rentPostings).extracting(Transaction::getOccurredAt)
+                .containsExactly(start, start.plusMonths(1), start.plusMonths(2));
+
+        List<RecurringRuleResponse> rules = ruleService.getRules(userId);
+        assertThat(rules.get(0).nextRunAt()).isEqualTo(start.plusMonths(3));
+        assertThat(rules.get(1).nextRunAt()).isNull(); // COUNT reached
+
+        // The unique key refuses a second posting of the same occurrence
+        Transaction duplicate = new Transaction(rentPostings.get(0).getUser(), new BigDecimal("-1200.00"), "USD",
+                "Rent", start, null);
+        duplicate.setRecurringRuleId(rent.id());
+        duplicate.setOccurrenceIndex(0);
+        assertThatThrownBy(() -> transactionRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void pausedRulesSkipWhatTheyMissed() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(3).minusMinutes(1);
+        RecurringRuleResponse coffee = ruleService.createRule(userId, request("-4.50", "Coffee", "FREQ=DAILY", start));
+        RecurringRuleRequest paused = new RecurringRuleRequest(new BigDecimal("-4.50"), "USD", "Coffee", null,
+                "FREQ=DAILY", start, false);
+        ruleService.updateRule(userId, coffee.id(), paused);
+        assertThat(scheduler.postDueTransactions()).isZero();
+
+        RecurringRuleResponse resumed = ruleService.updateRule(userId, coffee.id(), request("-4.50", "Coffee", "FREQ=DAILY", start));
+        assertThat(resumed.nextRunAt()).isEqualTo(start.plusDays(4));
+        assertThat(scheduler.postDueTransactions()).isZero();
+    }
+
+    @Test
+    void rejectsStartsTooFarInThePast() {
+        assertThatThrownBy(() -> ruleService.createRule(userId,
+                request("-4.50", "Coffee", "FREQ=DAILY", LocalDateTime.now().minusYears(20))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("366 days");
+        assertThat(ruleService.getRules(userId)).isEmpty();
+    }
+
+    @Test
+    void parsesRruleSubset() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.parse("freq=monthly;interval=3;until=20261231T235959Z");
+        assertThat(schedule).isEqualTo(new RecurrenceSchedule(RecurrenceFrequency.MONTHLY, 3, null, LocalDate.of(2026, 12, 31)));
+        assertThat(schedule.toString()).isEqualTo("FREQ=MONTHLY;INTERVAL=3;UNTIL=20261231");
+
+        LocalDateTime jan31 = LocalDateTime.of(2026, 1, 31, 9, 0);
+        RecurrenceSchedule monthly = RecurrenceSchedule.parse("FREQ=MONTHLY");
+        assertThat(monthly.occurrence(jan31, 1)).isEqualTo(LocalDateTime.of(2026, 2, 28, 9, 0));
+        assertThat(monthly.occurrence(jan31, 2)).isEqualTo(LocalDateTime.of(2026, 3, 31, 9, 0));
+
+        assertThatThrownBy(() -> RecurrenceSchedule.parse("FREQ=MONTHLY;BYDAY=MO"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceSchedule.parse("FREQ=HOURLY"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RecurringRuleRequest request(String amount, String category, String schedule, LocalDateTime start) {
+        return new RecurringRuleRequest(new BigDecimal(amount), "USD", category, null, schedule, start, null);
+    }
+}
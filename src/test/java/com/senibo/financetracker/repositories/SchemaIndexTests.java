@@ -0,0 +1,120 @@
+package com.senibo.financetracker.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the migrated schema against the queries the repositories derive.
+ *
+ * Every derived finder (findByX, existsByX...) names the columns it filters on.
+ * For each OR branch of such a query, at least one of those columns must be the
+ * first column of an index (primary key, unique constraint or plain index),
+ * otherwise the query scans the table. Adding a finder on a new column therefore
+ * fails the build until a migration indexes it.
+ *
+ * Hand-written @Query methods aren't parsed here; their indexes are chosen
+ * alongside the query in the migration that adds them.
+ */
+@SpringBootTest
+class SchemaIndexTests {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void everyDerivedQueryFiltersOnAnIndexedColumn() throws SQLException {
+        Repositories repositories = new Repositories(applicationContext);
+        var metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+        List<String> unindexed = new ArrayList<>();
+        int checked = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> domainType : repositories) {
+                RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+                var persister = (AbstractEntityPersister) metamodel.getEntityDescriptor(domainType);
+                Set<String> leadingColumns = leadingIndexColumns(metaData, persister.getTableName());
+
+                for (Method method : information.getQueryMethods()) {
+                    if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+                        continue;
+                    }
+                    PartTree tree = new PartTree(method.getName(), domainType);
+                    for (PartTree.OrPart orPart : tree) {
+                        checked++;
+                        List<String> columns = new ArrayList<>();
+                        for (Part part : orPart) {
+                            columns.add(column(persister, part));
+                        }
+                        if (columns.stream().noneMatch(leadingColumns::contains)) {
+                            unindexed.add(information.getRepositoryInterface().getSimpleName() + "."
+                                    + method.getName() + " filters on " + columns
+                                    + " but none of them leads an index on " + persister.getTableName());
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(checked).as("derived queries checked").isPositive();
+        assertThat(unindexed).isEmpty();
+    }
+
+    /**
+     * The column a criterion filters on. For a path through an association
+     * (user.userId) that is the foreign key column of the first step.
+     */
+    private String column(AbstractEntityPersister persister, Part part) {
+        String property = part.getProperty().getSegment();
+        String[] columns = property.equals(persister.getIdentifierPropertyName())
+                ? persister.getIdentifierColumnNames()
+                : persister.getPropertyColumnNames(property);
+        return columns[0].toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> leadingIndexColumns(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        // H2 stores unquoted identifiers in upper case, MySQL as written
+        for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+            try (ResultSet indexes = metaData.getIndexInfo(null, null, name, false, false)) {
+                while (indexes.next()) {
+                    if (indexes.getShort("ORDINAL_POSITION") == 1) {
+                        columns.add(indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+}
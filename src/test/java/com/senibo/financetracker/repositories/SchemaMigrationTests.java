@@ -0,0 +1,74 @@
+package com.senibo.financetracker.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a schema as ddl-auto=update left it before Flyway took over: baselined
+ * at 1.1 like spring.flyway.baseline-on-migrate does, then migrated.
+ */
+class SchemaMigrationTests {
+
+    @Test
+    void baselinedDdlAutoSchemaIsBroughtUpToDate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Roles and users as first created, a role inserted twice, and the outbox
+        // from before budget alerts with its NOT NULL verification code
+        jdbc.execute("""
+                CREATE TABLE roles (
+                    role_id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    role_name ENUM('ROLE_ADMIN', 'ROLE_USER'))
+                """);
+        jdbc.execute("""
+                CREATE TABLE users (
+                    user_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    username VARCHAR(30) NOT NULL UNIQUE, email VARCHAR(50) NOT NULL UNIQUE,
+                    password VARCHAR(255) NOT NULL, first_name VARCHAR(50) NOT NULL, last_name VARCHAR(50) NOT NULL,
+                    account_non_locked BIT NOT NULL, account_non_expired BIT NOT NULL,
+                    credentials_non_expired BIT NOT NULL, enabled BIT NOT NULL,
+                    credentials_expiry_date DATE, account_expiry_date DATE, two_factor_secret VARCHAR(255),
+                    is_two_factor_enabled BIT NOT NULL, sign_up_method VARCHAR(255),
+                    email_verification_code VARCHAR(255), email_verification_expiry DATETIME(6),
+                    role_id INTEGER REFERENCES roles (role_id), created_date DATETIME(6), updated_date DATETIME(6))
+                """);
+        jdbc.execute("""
+                CREATE TABLE email_outbox (
+                    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, recipient VARCHAR(50) NOT NULL,
+                    verification_code VARCHAR(20) NOT NULL, status ENUM('DEAD', 'PENDING', 'SENT') NOT NULL,
+                    attempts INTEGER NOT NULL, next_attempt_at DATETIME(6) NOT NULL, last_error VARCHAR(500),
+                    created_date DATETIME(6), sent_date DATETIME(6))
+                """);
+        jdbc.update("INSERT INTO roles (role_name) VALUES ('ROLE_USER'), ('ROLE_ADMIN'), ('ROLE_USER')");
+        jdbc.update("""
+                INSERT INTO users (username, email, password, first_name, last_name, account_non_locked,
+                                   account_non_expired, credentials_non_expired, enabled, is_two_factor_enabled, role_id)
+                VALUES ('legacy', 'legacy@example.com', 'x', 'Le', 'Gacy', TRUE, TRUE, TRUE, TRUE, FALSE, 3)
+                """);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1.1")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForList("SELECT role_id FROM roles WHERE role_name = 'ROLE_USER'", Integer.class))
+                .containsExactly(1);
+        assertThat(jdbc.queryForObject("SELECT role_id FROM users WHERE username = 'legacy'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM budget_alerts", Integer.class)).isZero();
+        jdbc.update("""
+                INSERT INTO email_outbox (recipient, type, subject, body, status, attempts, next_attempt_at)
+                VALUES ('legacy@example.com', 'BUDGET_ALERT', 'Budget', 'Over', 'PENDING', 0, CURRENT_TIMESTAMP)
+                """);
+        jdbc.update("UPDATE users SET locked_until = CURRENT_TIMESTAMP WHERE username = 'legacy'");
+    }
+}
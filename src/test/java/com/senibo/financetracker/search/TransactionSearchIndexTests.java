@@ -0,0 +1,114 @@
+package com.senibo.financetracker.search;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.services.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchIndexTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private User user;
+    private Long userId;
+
+    @BeforeAll
+    void createUser() {
+        user = fixture.createUser("search");
+        userId = user.getUserId();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fixture.clear(user);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        fixture.clear(user);
+    }
+
+    @Test
+    void searchFollowsLedgerWrites() {
+        TransactionResponse coffee = create("Zanzibar Café - Oxford St", "Coffee");
+        TransactionResponse beans = create("Zanzibar beans 1kg", "Groceries");
+
+        // Builds the index
+        assertThat(search("zanz")).containsExactly(beans.id(), coffee.id());
+        assertThat(search("CAFE zan")).containsExactly(coffee.id());
+        assertThat(search("zanzibar groc")).containsExactly(beans.id());
+        assertThat(search("zanzibar tea")).isEmpty();
+
+        // Applied to the built index
+        TransactionResponse tea = create("Zanzibar tea room", "Coffee");
+        transactionService.updateTransaction(userId, coffee.id(), new TransactionRequest(new BigDecimal("-3.20"),
+                "USD", "Coffee", LocalDateTime.now(), "Kilimanjaro espresso"));
+        transactionService.deleteTransaction(userId, beans.id());
+
+        assertThat(search("zanz")).containsExactly(tea.id());
+        assertThat(search("kili esp")).containsExactly(coffee.id());
+        assertThat(search("coffee")).contains(tea.id(), coffee.id());
+
+        assertThatThrownBy(() -> transactionService.searchTransactions(userId, " -- ", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void prefixAndQueriesOverALargeIndex() {
+        String[] merchants = {"starbucks", "tesco", "amazon", "uber", "netflix", "shell", "spotify", "stripe"};
+        UserSearchIndex index = new UserSearchIndex();
+        for (long id = 1; id <= 100_000; id++) {
+            String merchant = merchants[(int) (id % merchants.length)];
+            index.add(id, SearchTokenizer.terms(merchant + " store " + (id % 1000), "Shopping"));
+        }
+
+        // "st" matches starbucks, store, stripe: every document
+        long[] all = index.search(List.of("st"), 5);
+        assertThat(all).containsExactly(100_000, 99_999, 99_998, 99_997, 99_996);
+
+        // starbucks is id % 8 == 0; "42" also matches 420-429
+        long[] expected = LongStream.iterate(100_000, id -> id > 0, id -> id - 1)
+                .filter(id -> id % 8 == 0 && String.valueOf(id % 1000).startsWith("42"))
+                .limit(4)
+                .toArray();
+        long[] both = index.search(SearchTokenizer.terms("STAR 42"), 3);
+        assertThat(both).containsExactly(expected[0], expected[1], expected[2]);
+
+        index.remove(expected[0], SearchTokenizer.terms("starbucks store " + expected[0] % 1000, "Shopping"));
+        assertThat(index.search(SearchTokenizer.terms("star 42"), 3)).containsExactly(expected[1], expected[2], expected[3]);
+        assertThat(index.search(List.of("sp", "nothing"), 10)).isEmpty();
+    }
+
+    private List<Long> search(String query) {
+        return transactionService.searchTransactions(userId, query, 50).stream()
+                .map(TransactionResponse::id)
+                .toList();
+    }
+
+    private TransactionResponse create(String description, String category) {
+        return transactionService.createTransaction(userId, new TransactionRequest(new BigDecimal("-5.00"), "USD",
+                category, LocalDateTime.now(), description));
+    }
+}
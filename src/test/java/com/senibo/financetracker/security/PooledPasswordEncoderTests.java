@@ -0,0 +1,175 @@
+package com.senibo.financetracker.security;
+
+import com.senibo.financetracker.dtos.responses.ApiResponse;
+import com.senibo.financetracker.exceptions.GlobalExceptionHandler;
+import com.senibo.financetracker.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * One hashing thread and one queue slot, with a delegate that hashes only
+ * when the test lets it, so "busy" and "full" are exact states.
+ */
+class PooledPasswordEncoderTests {
+
+    private final GatedEncoder delegate = new GatedEncoder();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(delegate, 1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        delegate.permits.release(100);
+        encoder.close();
+    }
+
+    @Test
+    void aFullQueueRejectsStraightAwayWithServiceBusy() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+        delegate.awaitEntered();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> encoder.matches("rejected", "hash:rejected"))
+                .isInstanceOfSatisfying(ServiceBusyException.class, e -> {
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                    ResponseEntity<ApiResponse<Void>> response =
+                            new GlobalExceptionHandler(new SimpleMeterRegistry()).handleServiceBusy(e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                });
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        // Work that was accepted still completes
+        delegate.permits.release(2);
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:queued");
+    }
+
+    @Test
+    void aBatchLeavesTheQueueFreeForSignIns() throws Exception {
+        // The batch moves on to "b" only once the sign-in is through, so the two don't race for the slot
+        CountDownLatch signedIn = new CountDownLatch(1);
+        CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(
+                () -> encoder.encodeAll(waitingBefore(1, signedIn, "a", "b", "c")));
+        delegate.awaitEntered();
+
+        // One hash of the batch at a time (the pool size), so a sign-in still gets the queue slot
+        assertThat(queueSize()).isZero();
+        CompletableFuture<Boolean> signIn = CompletableFuture.supplyAsync(() -> encoder.matches("pw", "hash:pw"));
+        awaitQueued(1);
+
+        delegate.permits.release();
+        assertThat(signIn.get(5, TimeUnit.SECONDS)).isTrue();
+        signedIn.countDown();
+        delegate.permits.release(2);
+        assertThat(batch.get(5, TimeUnit.SECONDS)).containsExactly("hash:a", "hash:b", "hash:c");
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    void aRejectionPartWayThroughABatchReturnsTheHashedPrefix() throws Exception {
+        // Reading the second password waits until the test has filled the pool
+        CountDownLatch poolFull = new CountDownLatch(1);
+        CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(
+                () -> encoder.encodeAll(waitingBefore(1, poolFull, "a", "b", "c")));
+        delegate.awaitEntered();
+        delegate.permits.release();
+
+        // "a" is done; a sign-in takes the thread and another the queue slot before "b" is submitted
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+        delegate.awaitEntered();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        awaitQueued(1);
+        poolFull.countDown();
+
+        assertThat(batch.get(5, TimeUnit.SECONDS)).containsExactly("hash:a");
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        delegate.permits.release(2);
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:queued");
+    }
+
+    private double queueSize() {
+        return meterRegistry.get("auth.password.hash.queue").gauge().value();
+    }
+
+    private void awaitQueued(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueSize() < size) {
+            assertThat(System.nanoTime()).as("queue never reached %d", size).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * The passwords, except that reading the one at index blocks until gate opens.
+     * encodeAll reads each window's passwords just before submitting them.
+     */
+    private static List<String> waitingBefore(int index, CountDownLatch gate, String... values) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int i) {
+                if (i == index) {
+                    try {
+                        assertThat(gate.await(5, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return values[i];
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    /**
+     * "Hashes" to "hash:" + raw, once per permit; matches() doesn't wait
+     */
+    private static final class GatedEncoder implements PasswordEncoder {
+        final Semaphore permits = new Semaphore(0);
+        private final Semaphore entered = new Semaphore(0);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            entered.release();
+            try {
+                assertThat(permits.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("hash:" + rawPassword).equals(encodedPassword);
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertThat(entered.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
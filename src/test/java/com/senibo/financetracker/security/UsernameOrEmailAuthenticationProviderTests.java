@@ -0,0 +1,154 @@
+package com.senibo.financetracker.security;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.models.UserAuthView;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import com.senibo.financetracker.security.throttle.LoginAttemptService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Password checks are counted through the hashing pool's "matches" timer:
+ * unknown logins must cost one like real ones, blocked accounts none.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsernameOrEmailAuthenticationProviderTests {
+
+    private static final String PASSWORD = "Quiet-Harbour-Lights-7";
+
+    @Autowired
+    private UsernameOrEmailAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    @MockitoSpyBean
+    private LoginAttemptService loginAttemptService;
+
+    private String encodedPassword;
+
+    @BeforeAll
+    void encodePassword() {
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Test
+    void signsInByUsernameOrByEmail() {
+        User user = user("provider", u -> { });
+
+        for (String login : new String[]{user.getUsername(), user.getEmail()}) {
+            Authentication result = authenticate(login, PASSWORD);
+            assertThat(result.isAuthenticated()).isTrue();
+            assertThat(result.getCredentials()).isNull();
+            assertThat(result.getPrincipal()).isInstanceOfSatisfying(UserDetailsImpl.class,
+                    principal -> assertThat(principal.getId()).isEqualTo(user.getUserId()));
+            assertThat(result.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_USER");
+            // The projection comes along so sign-in needs no second lookup
+            assertThat(result.getDetails()).isInstanceOfSatisfying(UserAuthView.class,
+                    view -> assertThat(view.email()).isEqualTo(user.getEmail()));
+        }
+    }
+
+    @Test
+    void unknownLoginsCostAPasswordCheckLikeRealOnes() {
+        double checks = passwordChecks();
+
+        assertThatThrownBy(() -> authenticate("nobody-" + UUID.randomUUID(), PASSWORD))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid credentials");
+
+        assertThat(passwordChecks()).isEqualTo(checks + 1);
+        verify(loginAttemptService, never()).onFailure(any());
+    }
+
+    @Test
+    void anAccountWithoutARoleIsTreatedAsUnknown() {
+        User user = user("roleless", u -> u.setRole(null));
+        double checks = passwordChecks();
+
+        assertThatThrownBy(() -> authenticate(user.getUsername(), PASSWORD))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid credentials");
+
+        // Same answer and same cost as a login that doesn't exist
+        assertThat(passwordChecks()).isEqualTo(checks + 1);
+        verify(loginAttemptService, never()).onFailure(user.getUserId());
+    }
+
+    @Test
+    void disabledAndLockedAccountsAreRefusedBeforeThePasswordIsChecked() {
+        User unverified = user("unverified", u -> u.setEnabled(false));
+        User locked = user("locked", u -> u.setAccountNonLocked(false));
+        double checks = passwordChecks();
+
+        assertThatThrownBy(() -> authenticate(unverified.getUsername(), PASSWORD))
+                .isInstanceOf(DisabledException.class);
+        // Locked by hand (no lockedUntil): stays locked, even with the right password
+        assertThatThrownBy(() -> authenticate(locked.getEmail(), PASSWORD))
+                .isInstanceOf(LockedException.class)
+                .hasMessage("Account is locked");
+
+        assertThat(passwordChecks()).isEqualTo(checks);
+        verify(loginAttemptService, never()).unlockIfExpired(locked.getUserId());
+    }
+
+    @Test
+    void aWrongPasswordCountsAFailureAgainstTheAccount() {
+        User user = user("wrong-password", u -> { });
+
+        assertThatThrownBy(() -> authenticate(user.getEmail(), "not-" + PASSWORD))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid credentials");
+
+        verify(loginAttemptService).onFailure(user.getUserId());
+    }
+
+    private Authentication authenticate(String login, String password) {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(login, password));
+    }
+
+    private User user(String name, Consumer<User> customizer) {
+        User user = fixture.createUser(name);
+        user.setPassword(encodedPassword);
+        customizer.accept(user);
+        return userRepository.save(user);
+    }
+
+    private double passwordChecks() {
+        return meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count();
+    }
+}
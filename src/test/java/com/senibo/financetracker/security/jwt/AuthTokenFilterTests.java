@@ -0,0 +1,60 @@
+package com.senibo.financetracker.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenFilterTests {
+
+    private final JwtUtils jwtUtils = new JwtUtils(JwtUtilsTests.SECRET, 60_000, 100, new SimpleMeterRegistry());
+    private final AuthTokenFilter filter = new AuthTokenFilter(jwtUtils);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void aValidBearerTokenAuthenticatesTheRequestWithItsClaims() throws Exception {
+        MockFilterChain chain = filter(jwtUtils.generateToken(JwtUtilsTests.USER));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(TokenClaims.class, claims -> {
+            assertThat(claims.userId()).isEqualTo(42L);
+            assertThat(claims.username()).isEqualTo("janedoe");
+        });
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        assertThat(authentication.getCredentials()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void invalidOrMissingTokensLeaveTheRequestAnonymous() throws Exception {
+        MockFilterChain chain = filter("not-a-token");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Basic " + jwtUtils.generateToken(JwtUtilsTests.USER));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockFilterChain filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
@@ -0,0 +1,124 @@
+package com.senibo.financetracker.security.jwt;
+
+import com.senibo.financetracker.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTests {
+
+    static final String SECRET = "dGVzdC1vbmx5LWp3dC1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2";
+    private static final String OTHER_SECRET = "YW5vdGhlci10ZXN0LW9ubHktand0LXNlY3JldC1rZXktdGhhdC1pcy1sb25nLWVub3VnaA==";
+
+    static final UserDetailsImpl USER = new UserDetailsImpl(42L, "janedoe", "jane.doe@example.com", "Jane", "Doe",
+            "{noop}unused", false, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private final TestClock clock = new TestClock();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 100, meterRegistry, clock);
+
+    @Test
+    void issuedTokensValidateToTheirClaims() {
+        String token = jwtUtils.generateToken(USER);
+
+        TokenClaims claims = jwtUtils.validate(token).orElseThrow();
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.username()).isEqualTo("janedoe");
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+        assertThat(claims.expiresAtMillis()).isEqualTo(clock.millis() + 60_000);
+        assertThat(jwtUtils.getExpiresInSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void repeatedValidationsAreServedFromTheCache() {
+        String token = jwtUtils.generateToken(USER);
+
+        TokenClaims first = jwtUtils.validate(token).orElseThrow();
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isZero();
+
+        assertThat(jwtUtils.validate(token)).containsSame(first);
+        assertThat(jwtUtils.validate(token)).containsSame(first);
+        assertThat(cacheGets("hit")).isEqualTo(2);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void tokensStopValidatingWhenTheyExpireEvenIfCached() {
+        String token = jwtUtils.generateToken(USER);
+        assertThat(jwtUtils.validate(token)).isPresent();
+
+        clock.advance(59_999);
+        assertThat(jwtUtils.validate(token)).isPresent();
+        assertThat(cacheGets("hit")).isEqualTo(1);
+
+        // The cache entry expires with the token, and the signature check rejects it too
+        clock.advance(1_001);
+        assertThat(jwtUtils.validate(token)).isEmpty();
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(jwtUtils.validate(token)).isEmpty();
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String token = jwtUtils.generateToken(USER);
+        String[] parts = token.split("\\.");
+
+        // Signature changed
+        char flipped = parts[2].charAt(0) == 'A' ? 'B' : 'A';
+        assertThat(jwtUtils.validate(parts[0] + "." + parts[1] + "." + flipped + parts[2].substring(1))).isEmpty();
+
+        // Claims changed, signature kept
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"ROLE_USER\"", "\"ROLE_ADMIN\"");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        assertThat(jwtUtils.validate(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+
+        // Signed with another key
+        String foreign = new JwtUtils(OTHER_SECRET, 60_000, 100, new SimpleMeterRegistry(), clock).generateToken(USER);
+        assertThat(jwtUtils.validate(foreign)).isEmpty();
+
+        assertThat(jwtUtils.validate("not-a-token")).isEmpty();
+        assertThat(jwtUtils.validate(token)).isPresent();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt-tokens").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static final class TestClock extends Clock {
+        // Whole seconds, as "exp" has second precision
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.senibo.financetracker.security.services;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.EmailVerificationRequest;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.UsernameOrEmailAuthenticationProvider;
+import com.senibo.financetracker.security.throttle.LoginAttemptService;
+import com.senibo.financetracker.services.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sign-in reads accounts through the cache, and every change that sign-in
+ * checks is seen by the very next attempt.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserAuthCacheTests {
+
+    private static final String PASSWORD = "Quiet-Harbour-Lights-7";
+
+    @Autowired
+    private UsernameOrEmailAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private String encodedPassword;
+
+    @BeforeAll
+    void encodePassword() {
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Test
+    void repeatedSignInsAreServedFromTheCacheButUnknownLoginsAreNot() {
+        User user = user("cached");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        authenticate(user.getUsername(), PASSWORD);
+        authenticate(user.getUsername(), PASSWORD);
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+
+        String unknown = "nobody-" + UUID.randomUUID();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> authenticate(unknown, PASSWORD))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+        assertThat(cacheGets("miss")).isEqualTo(misses + 3);
+    }
+
+    @Test
+    void aLockoutIsSeenUnderEveryLoginTheAccountWasCachedBy() {
+        User user = user("locked-out");
+        authenticate(user.getUsername(), PASSWORD);
+        authenticate(user.getEmail(), PASSWORD);
+
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.onFailure(user.getUserId());
+        }
+
+        assertThatThrownBy(() -> authenticate(user.getUsername(), PASSWORD))
+                .isInstanceOf(LockedException.class);
+        assertThatThrownBy(() -> authenticate(user.getEmail(), PASSWORD))
+                .isInstanceOf(LockedException.class);
+    }
+
+    @Test
+    void verifyingTheEmailLetsTheNextSignInThrough() {
+        User user = fixture.createUser("unverified");
+        user.setPassword(encodedPassword);
+        user.setEnabled(false);
+        user.setEmailVerificationCode("123456");
+        user.setEmailVerificationExpiry(LocalDateTime.now().plusHours(1));
+        userRepository.save(user);
+
+        assertThatThrownBy(() -> authenticate(user.getEmail(), PASSWORD))
+                .isInstanceOf(DisabledException.class);
+
+        authService.verifyEmail(new EmailVerificationRequest(user.getEmail(), "123456"));
+
+        assertThat(authenticate(user.getEmail(), PASSWORD).isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void aNewPasswordReplacesTheCachedOne() {
+        User user = user("new-password");
+        Authentication signedIn = authenticate(user.getUsername(), PASSWORD);
+
+        String newPassword = "Loud-Valley-Echoes-9";
+        userDetailsPasswordService.updatePassword((UserDetailsImpl) signedIn.getPrincipal(),
+                passwordEncoder.encode(newPassword));
+
+        assertThatThrownBy(() -> authenticate(user.getUsername(), PASSWORD))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(authenticate(user.getUsername(), newPassword).isAuthenticated()).isTrue();
+    }
+
+    private Authentication authenticate(String login, String password) {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(login, password));
+    }
+
+    private User user(String name) {
+        User user = fixture.createUser(name);
+        user.setPassword(encodedPassword);
+        return userRepository.save(user);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "user-auth").tag("result", result)
+                .functionCounter().count();
+    }
+}
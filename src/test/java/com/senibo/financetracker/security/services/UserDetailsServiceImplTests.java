@@ -0,0 +1,77 @@
+package com.senibo.financetracker.security.services;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.UsernameOrEmailAuthenticationProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outdated hashes are replaced through updatePassword when their owner signs in.
+ */
+@SpringBootTest
+class UserDetailsServiceImplTests {
+
+    private static final String PASSWORD = "Quiet-Harbour-Lights-7";
+
+    @Autowired
+    private UsernameOrEmailAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    @Test
+    void aLowerBcryptCostIsRehashedOnSignIn() {
+        User user = userWithPassword("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+        assertThat(passwordEncoder.upgradeEncoding(user.getPassword())).isTrue();
+
+        signIn(user.getUsername());
+
+        String rehashed = storedPassword(user);
+        assertThat(rehashed).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, rehashed)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(rehashed)).isFalse();
+
+        // Up to date now: the next sign-in leaves it alone
+        signIn(user.getEmail());
+        assertThat(storedPassword(user)).isEqualTo(rehashed);
+    }
+
+    @Test
+    void aHashWithoutAnEncoderIdIsRehashedOnSignIn() {
+        User user = userWithPassword(new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+        signIn(user.getEmail());
+
+        assertThat(storedPassword(user)).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, storedPassword(user))).isTrue();
+    }
+
+    private User userWithPassword(String hash) {
+        User user = fixture.createUser("rehash");
+        user.setPassword(hash);
+        return userRepository.save(user);
+    }
+
+    private void signIn(String login) {
+        assertThat(authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(login, PASSWORD))
+                .isAuthenticated()).isTrue();
+    }
+
+    private String storedPassword(User user) {
+        return userRepository.findById(user.getUserId()).orElseThrow().getPassword();
+    }
+}
@@ -0,0 +1,153 @@
+package com.senibo.financetracker.security.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTests {
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void burstOfPermitsThenOnePerInterval() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock);
+        RateLimit threePerMinute = new RateLimit(3, Duration.ofMinutes(1));
+
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isZero();
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isZero();
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isZero();
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isEqualTo(20_000);
+        // Other keys are limited separately
+        assertThat(store.tryAcquire("ip:b", threePerMinute)).isZero();
+
+        clock.advance(19_999);
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isEqualTo(1);
+        clock.advance(1);
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isZero();
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isEqualTo(20_000);
+
+        // After a full idle period the whole burst is available again
+        clock.advance(80_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("ip:a", threePerMinute)).isZero();
+        }
+        assertThat(store.tryAcquire("ip:a", threePerMinute)).isPositive();
+    }
+
+    @Test
+    void concurrentAcquiresNeverGrantMoreThanThePermits() throws Exception {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock);
+        RateLimit limit = new RateLimit(100, Duration.ofMinutes(1));
+
+        List<Callable<Integer>> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(() -> {
+                int granted = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    if (store.tryAcquire("login:alice", limit) == 0) {
+                        granted++;
+                    }
+                }
+                return granted;
+            });
+        }
+        int granted = 0;
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (Future<Integer> result : pool.invokeAll(threads)) {
+                granted += result.get();
+            }
+        }
+        assertThat(granted).isEqualTo(100);
+    }
+
+    @Test
+    void failuresCountWithinTheWindowThenRestart() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock);
+        Duration window = Duration.ofMinutes(15);
+
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(1);
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(2);
+        assertThat(store.recordFailure("user:2", window)).isEqualTo(1);
+
+        clock.advance(window.toMillis() - 1);
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(3);
+        // The window runs from the first failure, not the latest
+        clock.advance(1);
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(1);
+
+        store.clearFailures("user:1");
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(1);
+    }
+
+    @Test
+    void failureCountSaturatesInsteadOfWrappingIntoTheWindowStart() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock);
+        Duration window = Duration.ofHours(1);
+
+        int count = 0;
+        for (int i = 0; i < 70_000; i++) {
+            count = store.recordFailure("user:1", window);
+        }
+        assertThat(count).isEqualTo(65_535);
+
+        // The window start survived: it still restarts on time
+        clock.advance(window.toMillis());
+        assertThat(store.recordFailure("user:1", window)).isEqualTo(1);
+    }
+
+    @Test
+    void whenFullIdleEntriesAreSweptBeforeActiveOnesAreDropped() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, clock);
+        RateLimit onePerSecond = new RateLimit(1, Duration.ofSeconds(1));
+
+        store.tryAcquire("ip:idle", onePerSecond);
+        clock.advance(2_000);
+        store.tryAcquire("ip:active", onePerSecond);
+
+        // Full: the idle key makes room, the active one keeps its state
+        store.tryAcquire("ip:new", onePerSecond);
+        assertThat(store.trackedKeys()).isEqualTo(2);
+        assertThat(store.tryAcquire("ip:active", onePerSecond)).isPositive();
+
+        // Full of active keys: some are dropped so the map stays bounded
+        for (int i = 0; i < 1_000; i++) {
+            store.tryAcquire("ip:flood-" + i, onePerSecond);
+        }
+        assertThat(store.trackedKeys()).isLessThanOrEqualTo(2);
+    }
+
+    private static final class TestClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.senibo.financetracker.security.throttle;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.SignInRequest;
+import com.senibo.financetracker.dtos.responses.SignInResponse;
+import com.senibo.financetracker.events.UserAuthChangedEvent;
+import com.senibo.financetracker.exceptions.TooManyAttemptsException;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.services.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LoginAttemptServiceTests {
+
+    private static final String PASSWORD = "Quiet-Harbour-Lights-7";
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void limitsAttemptsPerLoginAndPerClientIp() {
+        String login = "someone-" + UUID.randomUUID();
+        String ip = uniqueIp();
+        // 10 per minute per login, whatever its case or surrounding spaces
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.checkAllowed(ip, i % 2 == 0 ? login : " " + login.toUpperCase() + " ");
+        }
+        assertThatThrownBy(() -> loginAttemptService.checkAllowed(uniqueIp(), login))
+                .isInstanceOf(TooManyAttemptsException.class)
+                .satisfies(e -> assertThat(((TooManyAttemptsException) e).getRetryAfterSeconds()).isBetween(1L, 6L));
+
+        // 30 per minute per IP, however many logins it tries
+        String stuffer = uniqueIp();
+        for (int i = 0; i < 30; i++) {
+            loginAttemptService.checkAllowed(stuffer, "victim-" + UUID.randomUUID());
+        }
+        assertThatThrownBy(() -> loginAttemptService.checkAllowed(stuffer, "victim-" + UUID.randomUUID()))
+                .isInstanceOf(TooManyAttemptsException.class);
+    }
+
+    @Test
+    void wrongPasswordsLockTheAccountUntilTheCooldownPasses() {
+        User user = fixture.createUser("lockout");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        userRepository.save(user);
+
+        // Guesses by username and by email count against the same account
+        for (int i = 0; i < 4; i++) {
+            String login = i % 2 == 0 ? user.getUsername() : user.getEmail();
+            assertThatThrownBy(() -> signIn(login, "wrong-" + login))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid credentials");
+        }
+        assertThat(signIn(user.getUsername(), PASSWORD).user().username()).isEqualTo(user.getUsername());
+
+        // A success resets the count, so it takes five more
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> signIn(user.getEmail(), "wrong"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(userRepository.findById(user.getUserId()).orElseThrow().isAccountNonLocked()).isFalse();
+        assertThatThrownBy(() -> signIn(user.getUsername(), PASSWORD))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Account is locked");
+
+        // Once lockedUntil has passed, the next sign-in lifts the lock
+        User locked = userRepository.findById(user.getUserId()).orElseThrow();
+        locked.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        userRepository.save(locked);
+        // Written behind the services' back, so drop the copy sign-in cached
+        eventPublisher.publishEvent(new UserAuthChangedEvent(locked.getUserId(), locked.getUsername(), locked.getEmail()));
+        assertThat(signIn(user.getUsername(), PASSWORD).user().username()).isEqualTo(user.getUsername());
+        User unlocked = userRepository.findById(user.getUserId()).orElseThrow();
+        assertThat(unlocked.isAccountNonLocked()).isTrue();
+        assertThat(unlocked.getLockedUntil()).isNull();
+    }
+
+    private SignInResponse signIn(String login, String password) {
+        return authService.authenticateUser(new SignInRequest(login, password), uniqueIp());
+    }
+
+    private static String uniqueIp() {
+        return "test-" + UUID.randomUUID();
+    }
+}
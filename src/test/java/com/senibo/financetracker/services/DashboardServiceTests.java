@@ -0,0 +1,106 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.BalanceBucket;
+import com.senibo.financetracker.dtos.responses.CategoryTotal;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.models.RollupPeriod;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.rollups.RollupRebuildJob;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardServiceTests {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private RollupRebuildJob rollupRebuildJob;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    private User user;
+    private Long userId;
+
+    @BeforeAll
+    void createUser() {
+        user = fixture.createUser("dashboard");
+        userId = user.getUserId();
+    }
+
+    @BeforeEach
+    void setUp() {
+        fixture.clear(user);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        fixture.clear(user);
+    }
+
+    @Test
+    void rollupsFollowEveryLedgerChangeAndMatchARebuild() {
+        create("2500.00", "Salary", LocalDateTime.of(2025, 1, 31, 9, 0));
+        create("-40.00", "Food", LocalDateTime.of(2025, 1, 5, 12, 0));
+        TransactionResponse moved = create("-60.00", "Food", LocalDateTime.of(2025, 1, 20, 12, 0));
+        TransactionResponse deleted = create("-15.00", "Fun", LocalDateTime.of(2025, 2, 14, 20, 0));
+        create("-900.00", "Rent", LocalDateTime.of(2025, 2, 1, 8, 0));
+
+        // Moves the Food expense into February and changes its amount
+        transactionService.updateTransaction(userId, moved.id(),
+                request("-70.00", "Food", LocalDateTime.of(2025, 2, 3, 12, 0)));
+        transactionService.deleteTransaction(userId, deleted.id());
+
+        List<BalanceBucket> months = dashboardService.getBalance(userId, RollupPeriod.MONTH, FROM, TO);
+        assertThat(months).extracting(BalanceBucket::periodStart)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+        assertThat(months.get(0).net()).isEqualByComparingTo("2460.00");
+        assertThat(months.get(1).outflow()).isEqualByComparingTo("-970.00");
+        assertThat(months.get(1).count()).isEqualTo(2);
+
+        // Partial months at both ends are read from DAY buckets
+        List<CategoryTotal> categories = dashboardService.getCategoryTotals(userId,
+                LocalDate.of(2025, 1, 10), LocalDate.of(2025, 2, 2));
+        assertThat(categories).extracting(CategoryTotal::category).containsExactly("Rent", "Salary");
+
+        List<CategoryTotal> yearly = dashboardService.getCategoryTotals(userId, FROM, TO);
+        assertThat(yearly).extracting(CategoryTotal::category).containsExactly("Rent", "Food", "Salary");
+        assertThat(yearly.get(1).outflow()).isEqualByComparingTo("-110.00");
+
+        rollupRebuildJob.rebuildAll();
+
+        assertThat(dashboardService.getBalance(userId, RollupPeriod.MONTH, FROM, TO)).isEqualTo(months);
+        assertThat(dashboardService.getCategoryTotals(userId, FROM, TO)).isEqualTo(yearly);
+    }
+
+    private TransactionResponse create(String amount, String category, LocalDateTime at) {
+        return transactionService.createTransaction(userId, request(amount, category, at));
+    }
+
+    private static TransactionRequest request(String amount, String category, LocalDateTime at) {
+        return new TransactionRequest(new BigDecimal(amount), "USD", category, at, null);
+    }
+}
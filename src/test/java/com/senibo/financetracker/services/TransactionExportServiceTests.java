@@ -0,0 +1,133 @@
+package com.senibo.financetracker.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senibo.financetracker.dtos.responses.ImportProgress;
+import com.senibo.financetracker.exports.ExportFormat;
+import com.senibo.financetracker.imports.StatementFormat;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small pages, so every test also crosses page boundaries
+@SpringBootTest(properties = "app.transactions.export-page-size=2")
+class TransactionExportServiceTests {
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userId = userRepository.findByUsername("user1").orElseThrow().getUserId();
+    }
+
+    @Test
+    void exportedCsvImportsAgainAndNdjsonHasOneRowPerLine() throws IOException {
+        String csv = """
+                date,amount,category,description
+                2025-04-01,-12.30,Food,"Lunch, with ""friends""\"
+                2025-04-02T18:45:00,1000,Income,Bonus
+                """;
+        importCsv(csv);
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        long written = transactionExportService.exportTransactions(userId, ExportFormat.CSV, exported);
+        assertThat(written).isEqualTo(2);
+
+        transactionRepository.deleteAll();
+        ImportProgress reimported = importCsv(exported.toString(StandardCharsets.UTF_8));
+        assertThat(reimported.imported()).isEqualTo(2);
+        assertThat(reimported.rejected()).isZero();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(userId, ExportFormat.NDJSON, ndjson);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("description").asText()).isEqualTo("Lunch, with \"friends\"");
+        assertThat(first.get("occurredAt").asText()).isEqualTo("2025-04-01T00:00:00");
+    }
+
+    @Test
+    void pagesContinueAfterRowsWithTheSameTimestamp() throws IOException {
+        importCsv("""
+                date,amount,description
+                2025-04-01,-1,first
+                2025-04-01,-2,second
+                2025-04-01,-3,third
+                2025-04-01,-4,fourth
+                2025-03-31,-5,earlier
+                """);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long written = transactionExportService.exportTransactions(userId, ExportFormat.NDJSON, ndjson);
+        assertThat(written).isEqualTo(5);
+        List<String> descriptions = new ArrayList<>();
+        for (String line : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+            descriptions.add(objectMapper.readTree(line).get("description").asText());
+        }
+        assertThat(descriptions).containsExactly("earlier", "first", "second", "third", "fourth");
+    }
+
+    @Test
+    void fieldsThatSpreadsheetsWouldEvaluateAreExportedAsText() throws IOException {
+        String csv = """
+                date,amount,category,description
+                2025-04-01,-12.30,@Fees,"=HYPERLINK(""http://example.com"")"
+                2025-04-02,-5,Food,-refund
+                2025-04-03,-7,Food,"+1, then more"
+                """;
+        importCsv(csv);
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(userId, ExportFormat.CSV, exported);
+        String[] lines = exported.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[1]).endsWith(",USD,\"'@Fees\",\"'=HYPERLINK(\"\"http://example.com\"\")\"");
+        assertThat(lines[2]).endsWith(",USD,Food,\"'-refund\"");
+        assertThat(lines[3]).endsWith(",USD,Food,\"'+1, then more\"");
+        // Negative amounts are numbers, not text
+        assertThat(lines[2]).contains(",-5.0000,");
+
+        // The ' is only for spreadsheets: importing the export gives back the original text
+        transactionRepository.deleteAll();
+        importCsv(exported.toString(StandardCharsets.UTF_8));
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(userId, ExportFormat.NDJSON, ndjson);
+        JsonNode first = objectMapper.readTree(ndjson.toString(StandardCharsets.UTF_8).split("\n")[0]);
+        assertThat(first.get("category").asText()).isEqualTo("@Fees");
+        assertThat(first.get("description").asText()).isEqualTo("=HYPERLINK(\"http://example.com\")");
+    }
+
+    private ImportProgress importCsv(String csv) {
+        return transactionImportService.importStatement(userId,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                StatementFormat.CSV, "USD", progress -> { });
+    }
+}
@@ -0,0 +1,60 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.responses.ImportProgress;
+import com.senibo.financetracker.imports.StatementFormat;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.transactions.import-batch-size=10")
+class TransactionImportServiceTests {
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userId = userRepository.findByUsername("user1").orElseThrow().getUserId();
+    }
+
+    @Test
+    void importsInBatchesAndReportsProgress() {
+        StringBuilder csv = new StringBuilder("date,amount,description\n");
+        for (int i = 0; i < 25; i++) {
+            csv.append("2025-03-").append(String.format("%02d", i + 1)).append(",-").append(i + 1).append(".00,Row ").append(i).append('\n');
+        }
+        csv.append("2025-03-31,lots,Bad amount\n");
+        List<ImportProgress> updates = new ArrayList<>();
+
+        ImportProgress result = transactionImportService.importStatement(userId,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                StatementFormat.CSV, "USD", updates::add);
+
+        assertThat(updates).extracting(ImportProgress::imported).containsExactly(10L, 20L, 25L);
+        assertThat(result.done()).isTrue();
+        assertThat(result.rowsRead()).isEqualTo(26);
+        assertThat(result.imported()).isEqualTo(25);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().extracting(ImportProgress.RejectedRow::position).isEqualTo(27L);
+        assertThat(transactionRepository.count()).isEqualTo(25);
+    }
+}
@@ -0,0 +1,99 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.dtos.requests.TransactionRequest;
+import com.senibo.financetracker.dtos.responses.CursorPage;
+import com.senibo.financetracker.dtos.responses.TransactionResponse;
+import com.senibo.financetracker.exceptions.ResourceNotFoundException;
+import com.senibo.financetracker.repositories.TransactionRepository;
+import com.senibo.financetracker.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TransactionServiceTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        // Seeded by SecurityConfig.initData
+        userId = userRepository.findByUsername("user1").orElseThrow().getUserId();
+        otherUserId = userRepository.findByUsername("admin1").orElseThrow().getUserId();
+    }
+
+    @Test
+    void historyPagesWalkEveryRowOnceNewestFirst() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        // Three rows share a timestamp, so the id tie-breaker has to keep pages apart
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime at = i < 3 ? base : base.plusDays(i);
+            transactionService.createTransaction(userId, request("-10.00", at));
+        }
+        transactionService.createTransaction(otherUserId, request("99.00", base));
+
+        List<TransactionResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TransactionResponse> page = transactionService.getHistory(userId, cursor, 3);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(TransactionResponse::id).doesNotHaveDuplicates();
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionResponse previous = seen.get(i - 1);
+            TransactionResponse current = seen.get(i);
+            assertThat(current.occurredAt()).isBeforeOrEqualTo(previous.occurredAt());
+            if (current.occurredAt().equals(previous.occurredAt())) {
+                assertThat(current.id()).isLessThan(previous.id());
+            }
+        }
+    }
+
+    @Test
+    void otherUsersTransactionsAreNotFound() {
+        TransactionResponse mine = transactionService.createTransaction(userId, request("25.50", LocalDateTime.now()));
+
+        assertThatThrownBy(() -> transactionService.getTransaction(otherUserId, mine.id()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> transactionService.deleteTransaction(otherUserId, mine.id()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(transactionService.getTransaction(userId, mine.id()).amount())
+                .isEqualByComparingTo("25.50");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> transactionService.getHistory(userId, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TransactionRequest request(String amount, LocalDateTime at) {
+        return new TransactionRequest(new BigDecimal(amount), "USD", "Groceries", at, "test");
+    }
+}
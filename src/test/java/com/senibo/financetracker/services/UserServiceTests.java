@@ -0,0 +1,139 @@
+package com.senibo.financetracker.services;
+
+import com.senibo.financetracker.LedgerFixture;
+import com.senibo.financetracker.dtos.requests.BulkSignUpRequest;
+import com.senibo.financetracker.dtos.requests.SignUpRequest;
+import com.senibo.financetracker.dtos.responses.ApiResponse.ApiError;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse;
+import com.senibo.financetracker.dtos.responses.BulkSignUpResponse.SkippedUser;
+import com.senibo.financetracker.models.User;
+import com.senibo.financetracker.repositories.UserRepository;
+import com.senibo.financetracker.security.PooledPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk import in chunks of two. The spies stand in for what is hard to
+ * arrange for real: a user registered between the existence check and the
+ * insert, and a hashing pool that turns work away halfway through.
+ */
+@SpringBootTest(properties = "app.users.import-batch-size=2")
+class UserServiceTests {
+
+    private static final String PASSWORD = "Quiet-Harbour-Lights-7";
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private PooledPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LedgerFixture fixture;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importsChunkByChunkAndSkipsDuplicates() {
+        User existing = fixture.createUser("bulk");
+        String run = run();
+        SignUpRequest a = user(run, "a");
+        SignUpRequest b = user(run, "b");
+        SignUpRequest sameEmailAsA = new SignUpRequest(a.email(), run + "-a2", "Bulk", "Import", PASSWORD);
+        SignUpRequest sameUsernameAsExisting = new SignUpRequest(run + "-x@example.com", existing.getUsername(),
+                "Bulk", "Import", PASSWORD);
+        SignUpRequest c = user(run, "c");
+        SignUpRequest d = user(run, "d");
+
+        BulkSignUpResponse result = userService.importUsers(new BulkSignUpRequest(
+                List.of(a, b, sameEmailAsA, sameUsernameAsExisting, c, d)));
+
+        assertThat(result.requested()).isEqualTo(6);
+        assertThat(result.created()).isEqualTo(4);
+        assertThat(result.skipped()).containsExactly(
+                new SkippedUser(a.email(), sameEmailAsA.username(), ApiError.DUPLICATE_EMAIL),
+                new SkippedUser(sameUsernameAsExisting.email(), existing.getUsername(), ApiError.DUPLICATE_USERNAME));
+        assertThat(result.complete()).isTrue();
+
+        // The middle chunk had nothing left to hash; the others were hashed two at a time
+        ArgumentCaptor<List<? extends CharSequence>> hashed = ArgumentCaptor.forClass(List.class);
+        verify(passwordEncoder, times(2)).encodeAll(hashed.capture());
+        assertThat(hashed.getAllValues()).allSatisfy(passwords -> assertThat(passwords).hasSize(2));
+
+        User imported = userRepository.findByUsername(a.username()).orElseThrow();
+        assertThat(imported.isEnabled()).isTrue();
+        assertThat(passwordEncoder.matches(PASSWORD, imported.getPassword())).isTrue();
+    }
+
+    @Test
+    void aUserRegisteredDuringTheImportFailsOnlyItsOwnRow() {
+        User existing = fixture.createUser("bulk");
+        String run = run();
+        SignUpRequest a = user(run, "a");
+        SignUpRequest sameEmailAsExisting = new SignUpRequest(existing.getEmail(), run + "-x",
+                "Bulk", "Import", PASSWORD);
+        SignUpRequest b = user(run, "b");
+        // As if the existing user signed up after the existence check ran
+        doReturn(List.of()).when(userRepository).findExistingEmails(any());
+
+        BulkSignUpResponse result = userService.importUsers(new BulkSignUpRequest(List.of(a, sameEmailAsExisting, b)));
+
+        // The chunk's batch insert failed as a whole and was retried row by row
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.skipped()).containsExactly(
+                new SkippedUser(existing.getEmail(), sameEmailAsExisting.username(), ApiError.DUPLICATE_EMAIL));
+        assertThat(userRepository.findByUsername(a.username())).isPresent();
+        assertThat(userRepository.findByUsername(sameEmailAsExisting.username())).isEmpty();
+        assertThat(userRepository.findByUsername(b.username())).isPresent();
+    }
+
+    @Test
+    void aSaturatedHashingPoolStopsTheImportAndListsTheRest() {
+        String run = run();
+        List<SignUpRequest> users = List.of(user(run, "a"), user(run, "b"), user(run, "c"), user(run, "d"),
+                user(run, "e"));
+        // The second chunk gets only its first password hashed, as when the pool rejects the next one
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<String> hashes = (List<String>) invocation.callRealMethod();
+            return calls.incrementAndGet() == 2 ? hashes.subList(0, 1) : hashes;
+        }).when(passwordEncoder).encodeAll(anyList());
+
+        BulkSignUpResponse result = userService.importUsers(new BulkSignUpRequest(users));
+
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.complete()).isFalse();
+        assertThat(result.notProcessed()).extracting(SkippedUser::username)
+                .containsExactly(users.get(3).username(), users.get(4).username());
+        assertThat(result.notProcessed()).extracting(SkippedUser::code).containsOnly(ApiError.SERVICE_BUSY);
+        // Everything before the rejection was created, nothing after it
+        assertThat(userRepository.findExistingUsernames(users.stream().map(SignUpRequest::username).toList()))
+                .containsExactlyInAnyOrder(users.get(0).username(), users.get(1).username(), users.get(2).username());
+    }
+
+    private static String run() {
+        return "bulk-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static SignUpRequest user(String run, String name) {
+        return new SignUpRequest(run + "-" + name + "@example.com", run + "-" + name, "Bulk", "Import", PASSWORD);
+    }
+}
@@ -0,0 +1,81 @@
+package com.senibo.financetracker.utils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.senibo.financetracker.models.EmailOutbox;
+import com.senibo.financetracker.models.EmailOutboxStatus;
+import com.senibo.financetracker.repositories.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmailOutboxDispatcherTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedEmailsInOneRound() throws Exception {
+        queue("first@example.com", "123456");
+        queue("second@example.com", "654321");
+
+        int delivered = dispatcher.dispatchDueEmails();
+
+        assertThat(delivered).isEqualTo(2);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("Email Verification - Finance Tracker");
+        assertThat(emailOutboxRepository.findAll())
+                .extracting(EmailOutbox::getStatus)
+                .containsOnly(EmailOutboxStatus.SENT);
+    }
+
+    @Test
+    void schedulesRetryWhenSmtpIsDown() {
+        greenMail.stop();
+        queue("retry@example.com", "111111");
+
+        int delivered = dispatcher.dispatchDueEmails();
+
+        assertThat(delivered).isZero();
+        List<EmailOutbox> rows = emailOutboxRepository.findAll();
+        assertThat(rows).hasSize(1);
+        EmailOutbox row = rows.get(0);
+        assertThat(row.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getLastError()).isNotNull();
+        assertThat(row.getNextAttemptAt()).isAfter(row.getCreatedDate());
+    }
+
+    private void queue(String email, String code) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> emailService.queueVerificationEmail(email, code));
+    }
+}
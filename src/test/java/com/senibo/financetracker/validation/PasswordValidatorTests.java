@@ -0,0 +1,88 @@
+package com.senibo.financetracker.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordValidatorTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reportsEveryMissingCharacterClass() {
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class, RETURNS_DEEP_STUBS);
+        PasswordValidator validator = new PasswordValidator();
+
+        assertThat(validator.isValid("lowercaseonly", context)).isFalse();
+        verify(context).buildConstraintViolationWithTemplate(
+                "Password must contain: at least one uppercase letter, at least one number, at least one symbol");
+    }
+
+    @Test
+    void rejectsRepetitivePasswordsAsLowEntropy() {
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class, RETURNS_DEEP_STUBS);
+        PasswordValidator validator = new PasswordValidator();
+
+        assertThat(validator.isValid("Aa1!Aa1!", context)).isFalse();
+        assertThat(validator.isValid("Secur3!pw", context)).isTrue();
+    }
+
+    @Test
+    void limitsLengthInUtf8BytesNotCharacters() {
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class, RETURNS_DEEP_STUBS);
+        PasswordValidator validator = new PasswordValidator();
+
+        // 40 characters but 80 bytes: within max-length, past what BCrypt reads
+        String accented = "Aé1!" + "é".repeat(36);
+        assertThat(accented.length()).isLessThanOrEqualTo(PasswordPolicy.defaults().maxLength());
+        assertThat(accented.getBytes(StandardCharsets.UTF_8).length).isGreaterThan(PasswordValidator.BCRYPT_MAX_BYTES);
+
+        assertThat(validator.isValid(accented, context)).isFalse();
+        verify(context).buildConstraintViolationWithTemplate(
+                "Password is too long: at most 72 bytes are used, and non-ASCII characters take 2 to 4 bytes each");
+    }
+
+    @Test
+    void rejectsPasswordsFromTheBreachedCorpus() throws Exception {
+        Path hibp = tempDir.resolve("pwned.txt");
+        List<String> lines = Stream.of("P@ssw0rd!", "Summer2024!", "Welcome#123")
+                .map(PasswordValidatorTests::sha1Hex)
+                .sorted()
+                .map(hash -> hash + ":42")
+                .toList();
+        Files.write(hibp, lines);
+        Path corpus = tempDir.resolve("breached.bin");
+        assertThat(BreachedPasswordCorpusCompiler.compile(hibp, corpus)).isEqualTo(3);
+        assertThat(BreachedPasswordIndex.bloomFileFor(corpus)).exists();
+
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(corpus);
+        PasswordValidator validator = new PasswordValidator(PasswordPolicy.defaults(), index);
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class, RETURNS_DEEP_STUBS);
+
+        assertThat(validator.isValid("Summer2024!", context)).isFalse();
+        assertThat(validator.isValid("Summer2025!", context)).isTrue();
+        verify(context, times(1)).buildConstraintViolationWithTemplate(anyString());
+    }
+
+    private static String sha1Hex(String password) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().withUpperCase().formatHex(hash);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}